@@ -42,6 +42,8 @@ plugins {
     id("com.dua3.gradle.runtime") version "1.13.1-patch-1"
 
     id("org.jreleaser") version "1.13.0"
+
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -133,6 +135,10 @@ tasks {
         enabled = false
     }
 
+    named<Checkstyle>("checkstyleJmh") {
+        enabled = false
+    }
+
     assembleDist {
         dependsOn(publish, runtimeZip)
     }
@@ -202,6 +208,12 @@ checkstyle {
     toolVersion = "10.12.4"
 }
 
+jmh {
+    jmhVersion = "1.37"
+    // Benchmarks can be filtered with -Pjmh.includes=<regex>
+    providers.gradleProperty("jmh.includes").orNull?.let { includes = listOf(it) }
+}
+
 runtime {
     addOptions("--compress", "zip-6", "--strip-debug", "--no-header-files", "--no-man-pages")
     addModules("java.logging", "java.naming", "java.xml", "jdk.crypto.ec")
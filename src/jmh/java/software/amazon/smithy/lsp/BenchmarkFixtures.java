@@ -0,0 +1,160 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Generates the models benchmarks run against, so they don't depend on any
+ * files or dependencies that would need to be downloaded.
+ *
+ * <p>Every generated file has the same namespace, and its shapes are named
+ * after the file, so files can be combined into a single project. Each file
+ * references shapes in the file before it, and {@link #COMMON_SHAPE} in the
+ * first file, so there are references across the whole project.
+ */
+public final class BenchmarkFixtures {
+    /**
+     * The namespace of all generated shapes.
+     */
+    public static final String NAMESPACE = "com.example";
+
+    /**
+     * The name of a shape in the first file, referenced from every file.
+     */
+    public static final String COMMON_SHAPE = "Common";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * @param fileIndex The index of the file within its project
+     * @param shapes The number of structures to generate
+     * @return The text of a model file with {@code shapes} structures, along
+     *  with an operation for every tenth structure
+     */
+    public static String model(int fileIndex, int shapes) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("$version: \"2\"\n\n")
+                .append("namespace ").append(NAMESPACE).append("\n\n");
+
+        if (fileIndex == 0) {
+            builder.append("/// Referenced from every file\n")
+                    .append("string ").append(COMMON_SHAPE).append("\n\n");
+        }
+
+        for (int i = 0; i < shapes; i++) {
+            String name = shapeName(fileIndex, i);
+            // The first shape in each file references the previous file
+            String target = i > 0
+                    ? shapeName(fileIndex, i - 1)
+                    : fileIndex > 0 ? shapeName(fileIndex - 1, 0) : COMMON_SHAPE;
+            builder.append("/// Documentation for ").append(name).append("\n")
+                    .append("@tags([\"generated\"])\n")
+                    .append("structure ").append(name).append(" {\n")
+                    .append("    @required\n")
+                    .append("    id: String\n\n")
+                    .append("    common: ").append(COMMON_SHAPE).append("\n\n")
+                    .append("    @length(min: 1, max: 10)\n")
+                    .append("    items: StringList\n\n")
+                    .append("    previous: ").append(target).append("\n")
+                    .append("}\n\n");
+
+            if (i % 10 == 0) {
+                builder.append("operation Get").append(name).append(" {\n")
+                        .append("    input := {\n")
+                        .append("        @required\n")
+                        .append("        id: String\n")
+                        .append("    }\n")
+                        .append("    output := {\n")
+                        .append("        value: ").append(name).append("\n")
+                        .append("    }\n")
+                        .append("}\n\n");
+            }
+        }
+
+        if (fileIndex == 0) {
+            builder.append("list StringList {\n")
+                    .append("    member: String\n")
+                    .append("}\n");
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * @param fileIndex The index of the file the shape is in
+     * @param shapeIndex The index of the shape within its file
+     * @return The name of the generated shape
+     */
+    public static String shapeName(int fileIndex, int shapeIndex) {
+        return "Shape" + fileIndex + "_" + shapeIndex;
+    }
+
+    /**
+     * @param fileIndex The index of the file within its project
+     * @return The name of the generated file
+     */
+    public static String fileName(int fileIndex) {
+        return "model-" + fileIndex + ".smithy";
+    }
+
+    /**
+     * Writes a project with {@code files} model files to a new temporary
+     * directory.
+     *
+     * @param files The number of model files to generate
+     * @param shapesPerFile The number of structures in each file
+     * @return The root of the project
+     */
+    public static Path writeProject(int files, int shapesPerFile) {
+        try {
+            Path root = Files.createTempDirectory("smithy-lsp-benchmark");
+            Files.writeString(root.resolve("smithy-build.json"), """
+                    {
+                        "version": "1.0",
+                        "sources": ["model"]
+                    }
+                    """);
+            Path modelDir = Files.createDirectory(root.resolve("model"));
+            for (int i = 0; i < files; i++) {
+                Files.writeString(modelDir.resolve(fileName(i)), model(i, shapesPerFile));
+            }
+            return root;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param root The root of the project to delete
+     */
+    public static void deleteProject(Path root) {
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
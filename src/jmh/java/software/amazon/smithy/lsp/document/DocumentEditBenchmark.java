@@ -0,0 +1,95 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.document;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.smithy.lsp.protocol.LspAdapter;
+
+/**
+ * Measures the cost of applying small, keystroke-sized edits to documents of
+ * increasing size. The time per edit should stay roughly flat as
+ * {@code lines} grows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentEditBenchmark {
+    private static final int EDITS = 100;
+
+    @Param({"1000", "20000"})
+    public int lines;
+
+    private String text;
+    private Document document;
+    private int editLine;
+
+    @Setup(Level.Trial)
+    public void setupText() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("$version: \"2\"\n\nnamespace com.example\n\n");
+        int lineCount = 4;
+        int shape = 0;
+        while (lineCount < lines) {
+            builder.append("structure Shape").append(shape).append(" {\n")
+                    .append("    @required\n")
+                    .append("    foo: String\n")
+                    .append("    bar: Integer\n")
+                    .append("}\n\n");
+            lineCount += 6;
+            shape++;
+        }
+        text = builder.toString();
+        editLine = lines / 2;
+    }
+
+    @Setup(Level.Invocation)
+    public void setupDocument() {
+        document = Document.of(text);
+    }
+
+    /**
+     * Types {@link #EDITS} characters one at a time in the middle of the document,
+     * like a user would.
+     */
+    @Benchmark
+    public void typeInMiddle(Blackhole blackhole) {
+        for (int i = 0; i < EDITS; i++) {
+            document.applyEdit(LspAdapter.point(editLine, i), "a");
+        }
+        blackhole.consume(document.indexOfLine(editLine + 1));
+    }
+
+    /**
+     * Alternates between inserting and removing a newline in the middle of the
+     * document, which changes the number of lines on every edit.
+     */
+    @Benchmark
+    public void insertAndRemoveLines(Blackhole blackhole) {
+        for (int i = 0; i < EDITS; i++) {
+            document.applyEdit(LspAdapter.point(editLine, 0), "\n");
+            document.applyEdit(new Range(new Position(editLine, 0), new Position(editLine + 1, 0)), "");
+        }
+        blackhole.consume(document.lastLine());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.language;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.lsp4j.CompletionList;
+import org.eclipse.lsp4j.CompletionParams;
+import org.eclipse.lsp4j.Hover;
+import org.eclipse.lsp4j.HoverParams;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.ReferenceContext;
+import org.eclipse.lsp4j.ReferenceParams;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.lsp.BenchmarkFixtures;
+import software.amazon.smithy.lsp.ServerState;
+import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.lsp.project.IdlFile;
+import software.amazon.smithy.lsp.project.Project;
+import software.amazon.smithy.lsp.project.ProjectLoader;
+import software.amazon.smithy.lsp.protocol.LspAdapter;
+
+/**
+ * Measures the latency of completion, hover, and references requests in a
+ * file that's part of a large project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LanguageFeaturesBenchmark {
+    private static final String COMPLETION_PREFIX = "Shape";
+
+    @Param({"100", "1000"})
+    public int files;
+
+    @Param({"5"})
+    public int shapesPerFile;
+
+    private Path root;
+    private Project project;
+    private IdlFile idlFile;
+    private TextDocumentIdentifier textDocument;
+    private Position commonReference;
+    private Position completion;
+
+    @Setup(Level.Trial)
+    public void setupProject() throws Exception {
+        root = BenchmarkFixtures.writeProject(files, shapesPerFile);
+        project = ProjectLoader.load(root, new ServerState());
+
+        Path path = root.resolve("model").resolve(BenchmarkFixtures.fileName(files / 2));
+        String uri = LspAdapter.toUri(path.toString());
+        textDocument = new TextDocumentIdentifier(uri);
+        idlFile = (IdlFile) project.getProjectFile(uri);
+        Document document = idlFile.document();
+
+        // On the name of the common shape, in the first member targeting it
+        String commonMember = "common: " + BenchmarkFixtures.COMMON_SHAPE;
+        int commonIndex = document.nextIndexOf(commonMember, 0) + "common: ".length() + 1;
+        commonReference = document.positionAtIndex(commonIndex);
+
+        // At the end of a partially typed member target, in the first structure
+        int insertIndex = document.nextIndexOf("    previous: ", 0);
+        Position insertPosition = document.positionAtIndex(insertIndex);
+        document.applyEdit(LspAdapter.point(insertPosition), "    other: " + COMPLETION_PREFIX + "\n");
+        idlFile.reparse();
+        completion = new Position(insertPosition.getLine(), "    other: ".length() + COMPLETION_PREFIX.length());
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteProject() {
+        BenchmarkFixtures.deleteProject(root);
+    }
+
+    /**
+     * Completes a member target matching more shapes than are returned.
+     */
+    @Benchmark
+    public CompletionList completion() {
+        var params = new CompletionParams(textDocument, completion);
+        return new CompletionHandler(project, idlFile).handle(params, () -> {});
+    }
+
+    @Benchmark
+    public Hover hover() {
+        var params = new HoverParams(textDocument, commonReference);
+        return new HoverHandler(project, idlFile).handle(params);
+    }
+
+    /**
+     * Finds references to a shape that's referenced from every file.
+     */
+    @Benchmark
+    public List<? extends Location> references() {
+        var params = new ReferenceParams(textDocument, commonReference, new ReferenceContext(true));
+        return new ReferencesHandler(project, idlFile).handle(params);
+    }
+}
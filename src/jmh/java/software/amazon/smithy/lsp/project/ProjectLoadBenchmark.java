@@ -0,0 +1,60 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.project;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.lsp.BenchmarkFixtures;
+import software.amazon.smithy.lsp.ServerState;
+
+/**
+ * Measures loading a project from disk, like when the server starts. Each
+ * fork only loads a few times, so this is closer to a cold start than a
+ * steady state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(3)
+public class ProjectLoadBenchmark {
+    @Param({"100", "1000"})
+    public int files;
+
+    @Param({"5"})
+    public int shapesPerFile;
+
+    private Path root;
+
+    @Setup(Level.Trial)
+    public void setupProject() {
+        root = BenchmarkFixtures.writeProject(files, shapesPerFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteProject() {
+        BenchmarkFixtures.deleteProject(root);
+    }
+
+    @Benchmark
+    public Project load() throws Exception {
+        return ProjectLoader.load(root, new ServerState());
+    }
+}
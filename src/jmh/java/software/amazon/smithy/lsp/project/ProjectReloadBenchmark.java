@@ -0,0 +1,89 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.project;
+
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.lsp.BenchmarkFixtures;
+import software.amazon.smithy.lsp.ServerState;
+import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.lsp.protocol.LspAdapter;
+
+/**
+ * Measures rebuilding a large project's model after a single file in it
+ * changes, which is what happens on every change to an open file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProjectReloadBenchmark {
+    @Param({"1000"})
+    public int files;
+
+    @Param({"5"})
+    public int shapesPerFile;
+
+    private Path root;
+    private Project project;
+    private String uri;
+    private Document document;
+    private int editLine;
+
+    @Setup(Level.Trial)
+    public void setupProject() throws Exception {
+        root = BenchmarkFixtures.writeProject(files, shapesPerFile);
+        project = ProjectLoader.load(root, new ServerState());
+        Path changed = root.resolve("model").resolve(BenchmarkFixtures.fileName(files / 2));
+        uri = LspAdapter.toUri(changed.toString());
+        document = project.getProjectFile(uri).document();
+        editLine = document.lastLine();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteProject() {
+        BenchmarkFixtures.deleteProject(root);
+    }
+
+    @Setup(Level.Invocation)
+    public void editFile() {
+        document.applyEdit(LspAdapter.point(editLine, 0), "\n");
+    }
+
+    /**
+     * Rebuilds the model without validating it, like after each keystroke.
+     */
+    @Benchmark
+    public Project.Snapshot reloadWithoutValidating() {
+        project.updateChangedFiles(Set.of(uri), false);
+        return project.snapshot();
+    }
+
+    /**
+     * Rebuilds and validates the model, like after a file is saved.
+     */
+    @Benchmark
+    public Project.Snapshot reloadAndValidate() {
+        project.updateChangedFiles(Set.of(uri), true);
+        return project.snapshot();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.syntax;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.lsp.BenchmarkFixtures;
+import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.lsp.protocol.LspAdapter;
+
+/**
+ * Measures parsing small, medium, and huge IDL files, both in full and
+ * incrementally after a single edit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdlParseBenchmark {
+    @Param({"10", "1000", "20000"})
+    public int shapes;
+
+    private String text;
+    private Document document;
+    private int editLine;
+
+    private Document editedDocument;
+    private Syntax.IdlParseResult previous;
+    private Document.Change change;
+
+    @Setup(Level.Trial)
+    public void setupText() {
+        text = BenchmarkFixtures.model(0, shapes);
+        document = Document.of(text);
+        editLine = document.lastLine() / 2;
+    }
+
+    @Setup(Level.Invocation)
+    public void setupEdit() {
+        editedDocument = Document.of(text);
+        previous = Syntax.parseIdl(editedDocument);
+        int version = editedDocument.version();
+        editedDocument.applyEdit(LspAdapter.point(editLine, 0), "string Inserted\n");
+        change = editedDocument.changeSince(version);
+    }
+
+    /**
+     * Parses the whole file from scratch, like when a file is first opened.
+     */
+    @Benchmark
+    public Syntax.IdlParseResult parseFull() {
+        return Syntax.parseIdl(document);
+    }
+
+    /**
+     * Reparses the file after a statement is inserted in the middle, like
+     * when a file is being edited.
+     */
+    @Benchmark
+    public Syntax.IdlParseResult reparseAfterEdit() {
+        return Syntax.parseIdl(editedDocument, previous, change);
+    }
+}
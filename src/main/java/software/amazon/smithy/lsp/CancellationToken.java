@@ -0,0 +1,56 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
+
+/**
+ * A {@link CancelChecker} that is cancelled explicitly, for work that isn't
+ * run as a single {@link CompletableFuture} that could be cancelled instead.
+ *
+ * <p>Work that is passed a token checks it at safe points, and stops by
+ * throwing a {@link CancellationException}.
+ */
+final class CancellationToken implements CancelChecker {
+    private volatile boolean canceled;
+
+    /**
+     * Makes cancelling {@code future} also cancel this token.
+     *
+     * @param future The future doing the work this token was passed to
+     * @param <T> The type of the future's result
+     * @return {@code future}
+     */
+    <T> CompletableFuture<T> bind(CompletableFuture<T> future) {
+        future.whenComplete((unused, e) -> {
+            if (e instanceof CancellationException) {
+                cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Cancels the work this token was passed to.
+     */
+    void cancel() {
+        canceled = true;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @Override
+    public void checkCanceled() {
+        if (canceled) {
+            throw new CancellationException();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+
+/**
+ * Publishes diagnostics to the client, skipping diagnostics the client
+ * already has.
+ *
+ * <p>Diagnostics for the same file that are published within the debounce
+ * window of each other are coalesced, so only the latest ones are sent.
+ * The diagnostics last sent for each file are remembered, and sending the
+ * same diagnostics again is skipped, so the client doesn't re-render files
+ * whose diagnostics didn't actually change. Diagnostics for the same file
+ * are sent one at a time, in the order they were published.
+ */
+final class DiagnosticsPublisher {
+    private final Consumer<PublishDiagnosticsParams> client;
+    // Guarded by this
+    private final Map<String, Pending> pending = new HashMap<>();
+    private final Map<String, Published> published = new HashMap<>();
+    // Held while taking and sending a file's pending diagnostics, so newer
+    // diagnostics can't be sent before older ones
+    private final Map<String, Object> sendLocks = new ConcurrentHashMap<>();
+    private Executor executor;
+    private long debounceMillis;
+    private long requested;
+    private long coalesced;
+    private long sent;
+    private long unchanged;
+
+    /**
+     * @param client Sends diagnostics to the client
+     * @param executor The executor to publish diagnostics on
+     * @param debounceMillis The initial debounce window
+     */
+    DiagnosticsPublisher(Consumer<PublishDiagnosticsParams> client, Executor executor, long debounceMillis) {
+        this.client = client;
+        this.executor = executor;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Changes how diagnostics are published. Diagnostics that are already
+     * waiting to be published keep their previous configuration.
+     *
+     * @param executor The executor to publish diagnostics on
+     * @param debounceMillis The debounce window
+     */
+    synchronized void configure(Executor executor, long debounceMillis) {
+        this.executor = executor;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Publishes {@code diagnostics} for the file at {@code uri}, once the
+     * debounce window elapses, unless they're the same as the diagnostics
+     * last sent for it.
+     *
+     * @param uri The URI of the file the diagnostics are for
+     * @param diagnostics The file's diagnostics
+     * @return A future that completes when the latest diagnostics for
+     *  {@code uri} have been published, or skipped
+     */
+    synchronized CompletableFuture<Void> publish(String uri, List<Diagnostic> diagnostics) {
+        requested++;
+        Pending uriPending = pending.get(uri);
+        if (uriPending != null) {
+            // A publish is already scheduled, and will pick these up instead
+            coalesced++;
+            uriPending.diagnostics = diagnostics;
+            return uriPending.future.copy();
+        }
+
+        uriPending = new Pending(diagnostics);
+        pending.put(uri, uriPending);
+        if (debounceMillis > 0) {
+            CompletableFuture.delayedExecutor(debounceMillis, TimeUnit.MILLISECONDS, executor)
+                    .execute(() -> fire(uri));
+        } else {
+            executor.execute(() -> fire(uri));
+        }
+        return uriPending.future.copy();
+    }
+
+    /**
+     * Forgets the diagnostics last sent for the file at {@code uri}, so the
+     * next diagnostics for it are sent even if they're the same. Used when
+     * the client may have dropped them, i.e. when the file is re-opened.
+     *
+     * @param uri The URI of the file to forget
+     */
+    synchronized void forget(String uri) {
+        published.remove(uri);
+    }
+
+    /**
+     * @return A snapshot of the number of requested and sent publishes
+     */
+    synchronized Stats stats() {
+        return new Stats(pending.size(), requested, coalesced, sent, unchanged);
+    }
+
+    private void fire(String uri) {
+        synchronized (sendLocks.computeIfAbsent(uri, ignored -> new Object())) {
+            send(uri);
+        }
+    }
+
+    private void send(String uri) {
+        Pending uriPending;
+        Published next;
+        synchronized (this) {
+            uriPending = pending.remove(uri);
+            if (uriPending == null) {
+                return;
+            }
+
+            next = Published.of(uriPending.diagnostics);
+            if (next.equals(published.get(uri))) {
+                unchanged++;
+                next = null;
+            } else {
+                published.put(uri, next);
+                sent++;
+            }
+        }
+
+        try {
+            if (next != null) {
+                client.accept(new PublishDiagnosticsParams(uri, next.diagnostics()));
+            }
+            uriPending.future.complete(null);
+        } catch (Exception e) {
+            uriPending.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * @param pendingFiles The number of files with diagnostics waiting to be published
+     * @param requested The number of times diagnostics were published
+     * @param coalesced The number of diagnostics replaced by newer ones before being sent
+     * @param sent The number of diagnostics sent to the client
+     * @param unchanged The number of diagnostics not sent because the client already had them
+     */
+    record Stats(int pendingFiles, long requested, long coalesced, long sent, long unchanged) {
+    }
+
+    // The diagnostics last sent for a file. The hash is computed once, so
+    // comparing against it is usually enough to tell that diagnostics changed.
+    private record Published(int hash, List<Diagnostic> diagnostics) {
+        static Published of(List<Diagnostic> diagnostics) {
+            return new Published(diagnostics.hashCode(), List.copyOf(diagnostics));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Published other
+                   && hash == other.hash
+                   && diagnostics.equals(other.diagnostics);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // The latest diagnostics waiting to be published for a file. Guarded by
+    // the enclosing DiagnosticsPublisher.
+    private static final class Pending {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private List<Diagnostic> diagnostics;
+
+        private Pending(List<Diagnostic> diagnostics) {
+            this.diagnostics = diagnostics;
+        }
+    }
+}
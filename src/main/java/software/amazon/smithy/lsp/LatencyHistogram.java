@@ -0,0 +1,110 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.smithy.lsp.ext.LatencySummary;
+
+/**
+ * A fixed-size histogram of latencies that can be recorded to concurrently
+ * without locking.
+ *
+ * <p>Latencies are recorded in microseconds, into buckets that double in
+ * size every {@link #SUB_BUCKETS} buckets, like an HdrHistogram with one
+ * significant binary digit of precision. So any latency is counted in a
+ * bucket at most one eighth wider than itself, no matter how large it is,
+ * with a fixed amount of memory.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Enough to count latencies of up to 2^40 micros, or about 12 days.
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param nanos The latency to record, in nanoseconds
+     */
+    void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        counts.incrementAndGet(bucketOf(micros));
+        sum.add(micros);
+        max.accumulate(micros);
+    }
+
+    /**
+     * @return A summary of the latencies recorded so far
+     */
+    LatencySummary summary() {
+        // Copy the counts first so the percentiles are consistent with
+        // each other, even if more latencies are recorded meanwhile.
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return new LatencySummary(0, 0, 0, 0, 0, 0);
+        }
+
+        long maxMicros = max.get();
+        return new LatencySummary(
+                total,
+                sum.sum() / (double) total / MICROS_PER_MILLI,
+                percentile(snapshot, total, 0.5, maxMicros) / MICROS_PER_MILLI,
+                percentile(snapshot, total, 0.9, maxMicros) / MICROS_PER_MILLI,
+                percentile(snapshot, total, 0.99, maxMicros) / MICROS_PER_MILLI,
+                maxMicros / MICROS_PER_MILLI);
+    }
+
+    // Finds the bucket containing the given percentile, and returns the
+    // highest value that bucket could contain.
+    private static long percentile(long[] snapshot, long total, double percentile, long maxMicros) {
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    private static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            // Too high to count precisely, so count it in the last bucket
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) ((micros >>> shift) & (SUB_BUCKETS - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowest = (long) (SUB_BUCKETS + subBucket) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
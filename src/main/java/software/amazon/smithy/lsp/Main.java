@@ -19,6 +19,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.Socket;
 import org.eclipse.lsp4j.launch.LSPLauncher;
+import org.eclipse.lsp4j.services.LanguageClient;
 import software.amazon.smithy.cli.AnsiColorFormatter;
 import software.amazon.smithy.cli.CliPrinter;
 import software.amazon.smithy.cli.HelpPrinter;
@@ -57,7 +58,13 @@ public final class Main {
 
     private static void startServer(InputStream in, OutputStream out) throws Exception {
         var server = new SmithyLanguageServer();
-        var launcher = LSPLauncher.createServerLauncher(server, in, out);
+        var launcher = new LSPLauncher.Builder<LanguageClient>()
+                .setLocalService(server)
+                .setRemoteInterface(LanguageClient.class)
+                .setInput(in)
+                .setOutput(out)
+                .wrapMessages(server.getMessageMetrics()::wrap)
+                .create();
 
         var client = launcher.getRemoteProxy();
         server.connect(client);
@@ -0,0 +1,132 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+import software.amazon.smithy.lsp.ext.MethodMetrics;
+
+/**
+ * Records metrics of the JSON-RPC messages the server receives, by wrapping
+ * the message streams of the server's launcher, so every request and
+ * notification is measured without each handler having to do it.
+ *
+ * <p>Requests are timed from when they're received until their response is
+ * sent, matching up the two by request id. Notifications don't have a
+ * response, so they're timed while they're being handled.
+ */
+final class MessageMetrics {
+    private final Map<String, Method> methods = new ConcurrentHashMap<>();
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps one of the launcher's message streams, to be passed to
+     * {@link org.eclipse.lsp4j.jsonrpc.Launcher.Builder#wrapMessages}.
+     *
+     * @param consumer The consumer of either incoming or outgoing messages
+     * @return The wrapped consumer
+     */
+    MessageConsumer wrap(MessageConsumer consumer) {
+        // The launcher wraps both streams with the same function, and the
+        // consumer of incoming messages is the endpoint that dispatches them
+        if (consumer instanceof RemoteEndpoint) {
+            return wrapIncoming(consumer);
+        }
+        return wrapOutgoing(consumer);
+    }
+
+    /**
+     * @param consumer The consumer of messages received from the client
+     * @return The wrapped consumer
+     */
+    MessageConsumer wrapIncoming(MessageConsumer consumer) {
+        return message -> {
+            if (message instanceof RequestMessage request) {
+                Method method = method(request.getMethod());
+                method.inFlight.incrementAndGet();
+                pending.put(request.getId(), new Pending(method, System.nanoTime()));
+                consumer.consume(message);
+            } else if (message instanceof NotificationMessage notification) {
+                long start = System.nanoTime();
+                try {
+                    consumer.consume(message);
+                } finally {
+                    method(notification.getMethod()).latency.record(System.nanoTime() - start);
+                }
+            } else {
+                consumer.consume(message);
+            }
+        };
+    }
+
+    /**
+     * @param consumer The consumer of messages sent to the client
+     * @return The wrapped consumer
+     */
+    MessageConsumer wrapOutgoing(MessageConsumer consumer) {
+        return message -> {
+            if (message instanceof ResponseMessage response) {
+                Pending request = pending.remove(response.getId());
+                if (request != null) {
+                    request.finish(response.getError());
+                }
+            }
+            consumer.consume(message);
+        };
+    }
+
+    /**
+     * @return A snapshot of the metrics of each method received so far,
+     *  sorted by method name
+     */
+    List<MethodMetrics> snapshot() {
+        return methods.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .toList();
+    }
+
+    private Method method(String name) {
+        return methods.computeIfAbsent(name, ignored -> new Method());
+    }
+
+    private static final class Method {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder cancelled = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private MethodMetrics snapshot(String name) {
+            return new MethodMetrics(name, inFlight.get(), cancelled.sum(), failed.sum(), latency.summary());
+        }
+    }
+
+    private record Pending(Method method, long startNanos) {
+        void finish(ResponseError error) {
+            method.latency.record(System.nanoTime() - startNanos);
+            method.inFlight.decrementAndGet();
+            if (error == null) {
+                return;
+            }
+            if (error.getCode() == ResponseErrorCode.RequestCancelled.getValue()) {
+                method.cancelled.increment();
+            } else {
+                method.failed.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import software.amazon.smithy.lsp.project.Project;
+
+/**
+ * Schedules rebuilds of projects' models when their files change.
+ *
+ * <p>Rebuilds are debounced, so a project is only rebuilt once none of its
+ * files have changed for the debounce window, and every file that changed
+ * in the meantime is rebuilt together in a single update. At most one
+ * rebuild runs per project at a time.
+ *
+ * <p>A rebuild that is running when another file changes is superseded, so
+ * it is cancelled at its next safe point instead of publishing a model that
+ * is already out of date. Its files are rebuilt again together with the new
+ * change. So that continuous changes don't keep cancelling every rebuild, a
+ * rebuild with changes that have gone unpublished for longer than
+ * {@link #DEFAULT_MAX_STALENESS_MILLIS} isn't superseded, and publishes its
+ * model before the newer changes are rebuilt.
+ */
+final class ProjectRebuilds {
+    static final long DEFAULT_MAX_STALENESS_MILLIS = 1000;
+
+    private static final Logger LOGGER = Logger.getLogger(ProjectRebuilds.class.getName());
+
+    private final Map<Project, Pending> pending = new HashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private volatile Executor executor;
+    private volatile long debounceMillis;
+    private final long maxStalenessNanos;
+
+    // Guarded by this
+    private long requested;
+    private long merged;
+    private long rebuilt;
+    private long skipped;
+    private long superseded;
+
+    /**
+     * @param executor The executor to run rebuilds on
+     * @param debounceMillis The initial debounce window
+     */
+    ProjectRebuilds(Executor executor, long debounceMillis) {
+        this(executor, debounceMillis, DEFAULT_MAX_STALENESS_MILLIS);
+    }
+
+    /**
+     * @param executor The executor to run rebuilds on
+     * @param debounceMillis The initial debounce window
+     * @param maxStalenessMillis How long changes can go unpublished before
+     *  a running rebuild that includes them is no longer superseded
+     */
+    ProjectRebuilds(Executor executor, long debounceMillis, long maxStalenessMillis) {
+        this.executor = executor;
+        this.debounceMillis = debounceMillis;
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+    }
+
+    /**
+     * Changes how rebuilds are run. Rebuilds that are already scheduled keep
+     * their previous configuration.
+     *
+     * @param executor The executor to run rebuilds on
+     * @param debounceMillis The debounce window
+     */
+    void configure(Executor executor, long debounceMillis) {
+        this.executor = executor;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Schedules a rebuild of {@code project} with changes to the file at {@code uri}.
+     *
+     * @param project The project to rebuild
+     * @param uri The URI of the file that changed
+     * @param validate Whether the rebuild needs to run model validation
+     * @return A future that completes when a rebuild including the change
+     *  to {@code uri} completes. Cancelling it doesn't cancel the rebuild.
+     */
+    synchronized CompletableFuture<Void> schedule(Project project, String uri, boolean validate) {
+        Pending projectPending = pending.computeIfAbsent(project, ignored -> new Pending());
+        requested++;
+        long now = System.nanoTime();
+        if (!projectPending.uris.isEmpty()) {
+            merged++;
+        } else {
+            projectPending.changedAt = now;
+        }
+        projectPending.uris.add(uri);
+        projectPending.validate |= validate;
+        if (projectPending.running && now - projectPending.runningChangedAt < maxStalenessNanos) {
+            projectPending.supersedeRunning();
+        }
+
+        // Rather than cancelling the previous timer, newer requests bump the
+        // generation so the previous timer does nothing when it fires.
+        int generation = ++projectPending.generation;
+        CompletableFuture.delayedExecutor(debounceMillis, TimeUnit.MILLISECONDS, executor)
+                .execute(() -> fire(project, projectPending, generation));
+
+        return projectPending.future.copy();
+    }
+
+    /**
+     * Drops any pending rebuild of {@code project}, and cancels the rebuild
+     * that is running, if any.
+     *
+     * @param project The project to cancel the pending rebuild of
+     */
+    synchronized void cancel(Project project) {
+        Pending projectPending = pending.remove(project);
+        if (projectPending == null) {
+            return;
+        }
+        projectPending.supersedeRunning();
+        if (!projectPending.uris.isEmpty()) {
+            skipped++;
+            projectPending.future.cancel(false);
+        }
+    }
+
+    /**
+     * Drops the pending rebuilds of all projects.
+     */
+    synchronized void cancelAll() {
+        for (Project project : Set.copyOf(pending.keySet())) {
+            cancel(project);
+        }
+    }
+
+    /**
+     * @return A snapshot of the number of pending and completed rebuilds
+     */
+    synchronized Stats stats() {
+        int pendingFiles = 0;
+        for (Pending projectPending : pending.values()) {
+            pendingFiles += projectPending.uris.size();
+        }
+        return new Stats(pendingFiles, requested, merged, rebuilt, skipped, superseded);
+    }
+
+    /**
+     * @return The latencies of rebuilds that completed, not including the
+     *  time spent waiting for the debounce window
+     */
+    LatencyHistogram latency() {
+        return latency;
+    }
+
+    private void fire(Project project, Pending projectPending, int generation) {
+        Batch batch;
+        synchronized (this) {
+            if (projectPending.generation != generation || pending.get(project) != projectPending) {
+                return;
+            }
+            if (projectPending.running) {
+                projectPending.ready = true;
+                return;
+            }
+            batch = projectPending.take();
+            rebuilt++;
+        }
+
+        while (batch != null) {
+            try {
+                long start = System.nanoTime();
+                project.updateChangedFiles(batch.uris(), batch.validate(), batch.token());
+                latency.record(System.nanoTime() - start);
+                batch.future().complete(null);
+            } catch (CancellationException e) {
+                synchronized (this) {
+                    superseded++;
+                    if (pending.get(project) == projectPending) {
+                        projectPending.requeue(batch);
+                    } else {
+                        batch.future().cancel(false);
+                    }
+                }
+            } catch (Exception e) {
+                LOGGER.severe("Failed to rebuild project at " + project.root() + ": " + e);
+                batch.future().completeExceptionally(e);
+            }
+
+            synchronized (this) {
+                if (projectPending.ready && pending.get(project) == projectPending) {
+                    batch = projectPending.take();
+                    rebuilt++;
+                } else {
+                    batch = null;
+                    projectPending.running = false;
+                    if (projectPending.uris.isEmpty()) {
+                        pending.remove(project, projectPending);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts of the rebuilds that have been requested.
+     *
+     * @param pendingFiles The number of files waiting to be rebuilt
+     * @param requested The number of rebuilds that were requested
+     * @param merged The number of requests merged into an already pending rebuild
+     * @param rebuilt The number of rebuilds that were started
+     * @param skipped The number of pending rebuilds that were dropped
+     * @param superseded The number of running rebuilds that were cancelled by newer changes
+     */
+    record Stats(int pendingFiles, long requested, long merged, long rebuilt, long skipped, long superseded) {
+    }
+
+    private record Batch(
+            Set<String> uris,
+            boolean validate,
+            CompletableFuture<Void> future,
+            CancellationToken token,
+            long changedAt
+    ) {
+    }
+
+    // The files waiting to be rebuilt for a single project. Guarded by the
+    // enclosing ProjectRebuilds.
+    private static final class Pending {
+        private final Set<String> uris = new LinkedHashSet<>();
+        private boolean validate;
+        // When the oldest of the files changed, in nanos
+        private long changedAt;
+        private CompletableFuture<Void> future = new CompletableFuture<>();
+        private int generation;
+        // Whether a rebuild is running
+        private boolean running;
+        // Whether the debounce window elapsed while a rebuild was running
+        private boolean ready;
+        // The token of the running rebuild
+        private CancellationToken runningToken;
+        // When the oldest of the running rebuild's files changed, in nanos
+        private long runningChangedAt;
+
+        private Batch take() {
+            runningToken = new CancellationToken();
+            runningChangedAt = changedAt;
+            Batch batch = new Batch(Set.copyOf(uris), validate, future, runningToken, changedAt);
+            uris.clear();
+            validate = false;
+            future = new CompletableFuture<>();
+            running = true;
+            ready = false;
+            return batch;
+        }
+
+        private void supersedeRunning() {
+            if (running) {
+                runningToken.cancel();
+            }
+        }
+
+        // Adds a cancelled batch's files back, completing its future along
+        // with the rebuild that picks them up.
+        private void requeue(Batch batch) {
+            if (uris.isEmpty() || batch.changedAt() < changedAt) {
+                changedAt = batch.changedAt();
+            }
+            uris.addAll(batch.uris());
+            validate |= batch.validate();
+            future.whenComplete((unused, e) -> {
+                if (e == null) {
+                    batch.future().complete(null);
+                } else {
+                    batch.future().completeExceptionally(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import java.util.List;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.ReferenceParams;
+import org.eclipse.lsp4j.WorkDoneProgressBegin;
+import org.eclipse.lsp4j.WorkDoneProgressEnd;
+import org.eclipse.lsp4j.WorkDoneProgressReport;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.lsp4j.services.LanguageClient;
+import software.amazon.smithy.lsp.language.ReferencesHandler;
+
+/**
+ * Reports the progress of a references request to the client, using the
+ * request's work done token, and streams found locations using its partial
+ * result token, if the client sent them.
+ */
+final class ReferencesProgress implements ReferencesHandler.Progress {
+    private final LanguageClient client;
+    private final Either<String, Integer> workDoneToken;
+    private final Either<String, Integer> partialResultToken;
+    private int lastPercentage = -1;
+
+    private ReferencesProgress(
+            LanguageClient client,
+            Either<String, Integer> workDoneToken,
+            Either<String, Integer> partialResultToken
+    ) {
+        this.client = client;
+        this.workDoneToken = workDoneToken;
+        this.partialResultToken = partialResultToken;
+    }
+
+    static ReferencesProgress create(LanguageClient client, ReferenceParams params) {
+        return new ReferencesProgress(client, params.getWorkDoneToken(), params.getPartialResultToken());
+    }
+
+    void begin() {
+        if (workDoneToken != null) {
+            WorkDoneProgressBegin notification = new WorkDoneProgressBegin();
+            notification.setTitle("Finding references");
+            notification.setPercentage(0);
+            client.notifyProgress(new ProgressParams(workDoneToken, Either.forLeft(notification)));
+        }
+    }
+
+    void end() {
+        if (workDoneToken != null) {
+            WorkDoneProgressEnd notification = new WorkDoneProgressEnd();
+            client.notifyProgress(new ProgressParams(workDoneToken, Either.forLeft(notification)));
+        }
+    }
+
+    @Override
+    public boolean streamsResults() {
+        return partialResultToken != null;
+    }
+
+    @Override
+    public void found(List<Location> locations) {
+        client.notifyProgress(new ProgressParams(partialResultToken, Either.forRight(locations)));
+    }
+
+    @Override
+    public void searched(int searchedFiles, int totalFiles) {
+        if (workDoneToken == null) {
+            return;
+        }
+
+        // Only report when the percentage changes, so large projects don't
+        // flood the client with notifications
+        int percentage = searchedFiles * 100 / totalFiles;
+        if (percentage != lastPercentage) {
+            lastPercentage = percentage;
+            WorkDoneProgressReport notification = new WorkDoneProgressReport();
+            notification.setPercentage(percentage);
+            client.notifyProgress(new ProgressParams(workDoneToken, Either.forLeft(notification)));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The executors the server runs its work on.
+ *
+ * <p>Work is split by how latency-sensitive it is, so a long model build
+ * can't starve requests made by the client:
+ * <ul>
+ *     <li>{@link #requests()} runs read-only requests, like hover or completion.</li>
+ *     <li>{@link #builds()} runs model rebuilds and config validation.</li>
+ *     <li>{@link #diagnostics()} computes and publishes diagnostics.</li>
+ *     <li>{@link #loads()} loads the projects in a workspace.</li>
+ * </ul>
+ */
+final class ServerExecutors {
+    private final Pool requests;
+    private final Pool builds;
+    private final Pool diagnostics;
+    private final Pool loads;
+
+    private ServerExecutors(Pool requests, Pool builds, Pool diagnostics, Pool loads) {
+        this.requests = requests;
+        this.builds = builds;
+        this.diagnostics = diagnostics;
+        this.loads = loads;
+    }
+
+    /**
+     * @param options The options to size the executors with
+     * @return The executors configured by {@code options}
+     */
+    static ServerExecutors create(ServerOptions options) {
+        ExecutorService requestService;
+        if (options.getUseVirtualThreads()) {
+            requestService = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("smithy-lsp-request-", 0).factory());
+        } else {
+            requestService = fixedPool("request", options.getRequestThreads());
+        }
+        return new ServerExecutors(
+                new Pool("request", requestService),
+                new Pool("build", fixedPool("build", options.getBuildThreads())),
+                new Pool("diagnostics", fixedPool("diagnostics", options.getDiagnosticsThreads())),
+                new Pool("load", fixedPool("load", options.getLoadThreads())));
+    }
+
+    private static ExecutorService fixedPool(String name, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "smithy-lsp-" + name + "-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        // Let idle threads exit, so the pools don't hold on to threads
+        // while nothing is happening.
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * @return The executor for read-only requests
+     */
+    Executor requests() {
+        return requests;
+    }
+
+    /**
+     * @return The executor for model builds
+     */
+    Executor builds() {
+        return builds;
+    }
+
+    /**
+     * @return The executor for computing and publishing diagnostics
+     */
+    Executor diagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * @return The executor for loading projects
+     */
+    Executor loads() {
+        return loads;
+    }
+
+    /**
+     * @return A snapshot of the stats of each executor
+     */
+    List<PoolStats> stats() {
+        return List.of(requests.stats(), builds.stats(), diagnostics.stats(), loads.stats());
+    }
+
+    /**
+     * Stops accepting new work. Work that was already submitted still runs.
+     */
+    void shutdown() {
+        requests.delegate.shutdown();
+        builds.delegate.shutdown();
+        diagnostics.delegate.shutdown();
+        loads.delegate.shutdown();
+    }
+
+    /**
+     * @return Whether {@link #shutdown()} has been called
+     */
+    boolean isShutdown() {
+        return requests.delegate.isShutdown()
+               && builds.delegate.isShutdown()
+               && diagnostics.delegate.isShutdown()
+               && loads.delegate.isShutdown();
+    }
+
+    /**
+     * Stats of a single executor.
+     *
+     * @param name The name of the executor
+     * @param queued The number of tasks waiting to run
+     * @param active The number of tasks running
+     * @param completed The number of tasks that finished running
+     */
+    record PoolStats(String name, int queued, int active, long completed) {
+    }
+
+    // Wraps an executor service to keep track of its queue.
+    private static final class Pool implements Executor {
+        private final String name;
+        private final ExecutorService delegate;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+
+        private Pool(String name, ExecutorService delegate) {
+            this.name = name;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            queued.incrementAndGet();
+            try {
+                delegate.execute(() -> {
+                    queued.decrementAndGet();
+                    active.incrementAndGet();
+                    try {
+                        command.run();
+                    } finally {
+                        active.decrementAndGet();
+                        completed.incrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                queued.decrementAndGet();
+                throw e;
+            }
+        }
+
+        private PoolStats stats() {
+            return new PoolStats(name, queued.get(), active.get(), completed.get());
+        }
+    }
+}
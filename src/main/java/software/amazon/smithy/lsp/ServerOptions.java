@@ -8,16 +8,37 @@ package software.amazon.smithy.lsp;
 import com.google.gson.JsonObject;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.function.IntConsumer;
 import org.eclipse.lsp4j.InitializeParams;
 import software.amazon.smithy.model.validation.Severity;
 
 public final class ServerOptions {
     private final Severity minimumSeverity;
     private final boolean onlyReloadOnSave;
+    private final long rebuildDebounceMillis;
+    private final long diagnosticsDebounceMillis;
+    private final int requestThreads;
+    private final int buildThreads;
+    private final int diagnosticsThreads;
+    private final int loadThreads;
+    private final boolean useVirtualThreads;
+    private final long metricsLogIntervalSeconds;
+    private final boolean cacheMavenResolutions;
+    private final boolean cacheValidationEvents;
 
     private ServerOptions(Builder builder) {
         this.minimumSeverity = builder.minimumSeverity;
         this.onlyReloadOnSave = builder.onlyReloadOnSave;
+        this.rebuildDebounceMillis = builder.rebuildDebounceMillis;
+        this.diagnosticsDebounceMillis = builder.diagnosticsDebounceMillis;
+        this.requestThreads = builder.requestThreads;
+        this.buildThreads = builder.buildThreads;
+        this.diagnosticsThreads = builder.diagnosticsThreads;
+        this.loadThreads = builder.loadThreads;
+        this.useVirtualThreads = builder.useVirtualThreads;
+        this.metricsLogIntervalSeconds = builder.metricsLogIntervalSeconds;
+        this.cacheMavenResolutions = builder.cacheMavenResolutions;
+        this.cacheValidationEvents = builder.cacheValidationEvents;
     }
 
     public Severity getMinimumSeverity() {
@@ -28,6 +49,85 @@ public final class ServerOptions {
         return this.onlyReloadOnSave;
     }
 
+    /**
+     * @return How long to wait after a file changes before rebuilding its
+     *  project's model, so changes made in quick succession are rebuilt together.
+     */
+    public long getRebuildDebounceMillis() {
+        return this.rebuildDebounceMillis;
+    }
+
+    /**
+     * @return How long to wait before publishing a file's diagnostics, so
+     *  diagnostics computed in quick succession are only sent once.
+     */
+    public long getDiagnosticsDebounceMillis() {
+        return this.diagnosticsDebounceMillis;
+    }
+
+    /**
+     * @return The number of threads to handle read-only requests with
+     */
+    public int getRequestThreads() {
+        return this.requestThreads;
+    }
+
+    /**
+     * @return The number of threads to build models with
+     */
+    public int getBuildThreads() {
+        return this.buildThreads;
+    }
+
+    /**
+     * @return The number of threads to compute and publish diagnostics with
+     */
+    public int getDiagnosticsThreads() {
+        return this.diagnosticsThreads;
+    }
+
+    /**
+     * @return The number of threads to load projects with, when loading
+     *  a workspace with multiple projects
+     */
+    public int getLoadThreads() {
+        return this.loadThreads;
+    }
+
+    /**
+     * @return Whether to handle read-only requests on virtual threads, instead
+     *  of a fixed number of {@link #getRequestThreads() request threads}
+     */
+    public boolean getUseVirtualThreads() {
+        return this.useVirtualThreads;
+    }
+
+    /**
+     * @return How often to log the server's metrics, or {@code 0} to never
+     *  log them
+     */
+    public long getMetricsLogIntervalSeconds() {
+        return this.metricsLogIntervalSeconds;
+    }
+
+    /**
+     * @return Whether to store the resolved Maven dependencies of loaded
+     *  projects on disk, so they don't have to be resolved again when the
+     *  projects are next loaded
+     */
+    public boolean getCacheMavenResolutions() {
+        return this.cacheMavenResolutions;
+    }
+
+    /**
+     * @return Whether to store the validation events of loaded projects on
+     *  disk, so projects that haven't changed since they were last loaded
+     *  don't have to be validated again
+     */
+    public boolean getCacheValidationEvents() {
+        return this.cacheValidationEvents;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -61,13 +161,84 @@ public final class ServerOptions {
                 builder.setOnlyReloadOnSave(jsonObject.get("onlyReloadOnSave").getAsBoolean());
                 client.info("Configured only reload on save: " + builder.onlyReloadOnSave);
             }
+            if (jsonObject.has("rebuild.debounceMillis")) {
+                long configuredDebounce = jsonObject.get("rebuild.debounceMillis").getAsLong();
+                if (configuredDebounce >= 0) {
+                    builder.setRebuildDebounceMillis(configuredDebounce);
+                } else {
+                    client.error(String.format("""
+                            Invalid value for 'rebuild.debounceMillis': %d.
+                            Must be non-negative.""", configuredDebounce));
+                }
+            }
+            if (jsonObject.has("diagnostics.debounceMillis")) {
+                long configuredDebounce = jsonObject.get("diagnostics.debounceMillis").getAsLong();
+                if (configuredDebounce >= 0) {
+                    builder.setDiagnosticsDebounceMillis(configuredDebounce);
+                } else {
+                    client.error(String.format("""
+                            Invalid value for 'diagnostics.debounceMillis': %d.
+                            Must be non-negative.""", configuredDebounce));
+                }
+            }
+            if (jsonObject.has("metrics.logIntervalSeconds")) {
+                long configuredInterval = jsonObject.get("metrics.logIntervalSeconds").getAsLong();
+                if (configuredInterval >= 0) {
+                    builder.setMetricsLogIntervalSeconds(configuredInterval);
+                } else {
+                    client.error(String.format("""
+                            Invalid value for 'metrics.logIntervalSeconds': %d.
+                            Must be non-negative.""", configuredInterval));
+                }
+            }
+            if (jsonObject.has("cache.validationEvents")) {
+                builder.setCacheValidationEvents(jsonObject.get("cache.validationEvents").getAsBoolean());
+            }
+            readThreadCount(jsonObject, "executors.requestThreads", client, builder::setRequestThreads);
+            readThreadCount(jsonObject, "executors.buildThreads", client, builder::setBuildThreads);
+            readThreadCount(jsonObject, "executors.diagnosticsThreads", client, builder::setDiagnosticsThreads);
+            readThreadCount(jsonObject, "executors.loadThreads", client, builder::setLoadThreads);
+            if (jsonObject.has("executors.virtualThreads")) {
+                builder.setUseVirtualThreads(jsonObject.get("executors.virtualThreads").getAsBoolean());
+            }
+            if (jsonObject.has("cache.mavenResolutions")) {
+                builder.setCacheMavenResolutions(jsonObject.get("cache.mavenResolutions").getAsBoolean());
+            }
         }
         return builder.build();
     }
 
+    private static void readThreadCount(
+            JsonObject jsonObject,
+            String key,
+            SmithyLanguageClient client,
+            IntConsumer setter
+    ) {
+        if (jsonObject.has(key)) {
+            int configuredThreads = jsonObject.get(key).getAsInt();
+            if (configuredThreads > 0) {
+                setter.accept(configuredThreads);
+            } else {
+                client.error(String.format("""
+                        Invalid value for '%s': %d.
+                        Must be positive.""", key, configuredThreads));
+            }
+        }
+    }
+
     protected static final class Builder {
         private Severity minimumSeverity = Severity.WARNING;
         private boolean onlyReloadOnSave = false;
+        private long rebuildDebounceMillis = 100;
+        private long diagnosticsDebounceMillis = 50;
+        private int requestThreads = 4;
+        private int buildThreads = 2;
+        private int diagnosticsThreads = 2;
+        private int loadThreads = 4;
+        private boolean useVirtualThreads = false;
+        private long metricsLogIntervalSeconds = 0;
+        private boolean cacheMavenResolutions = false;
+        private boolean cacheValidationEvents = false;
 
         public Builder setMinimumSeverity(Severity minimumSeverity) {
             this.minimumSeverity = minimumSeverity;
@@ -79,6 +250,56 @@ public final class ServerOptions {
             return this;
         }
 
+        public Builder setRebuildDebounceMillis(long rebuildDebounceMillis) {
+            this.rebuildDebounceMillis = rebuildDebounceMillis;
+            return this;
+        }
+
+        public Builder setDiagnosticsDebounceMillis(long diagnosticsDebounceMillis) {
+            this.diagnosticsDebounceMillis = diagnosticsDebounceMillis;
+            return this;
+        }
+
+        public Builder setRequestThreads(int requestThreads) {
+            this.requestThreads = requestThreads;
+            return this;
+        }
+
+        public Builder setBuildThreads(int buildThreads) {
+            this.buildThreads = buildThreads;
+            return this;
+        }
+
+        public Builder setDiagnosticsThreads(int diagnosticsThreads) {
+            this.diagnosticsThreads = diagnosticsThreads;
+            return this;
+        }
+
+        public Builder setLoadThreads(int loadThreads) {
+            this.loadThreads = loadThreads;
+            return this;
+        }
+
+        public Builder setUseVirtualThreads(boolean useVirtualThreads) {
+            this.useVirtualThreads = useVirtualThreads;
+            return this;
+        }
+
+        public Builder setMetricsLogIntervalSeconds(long metricsLogIntervalSeconds) {
+            this.metricsLogIntervalSeconds = metricsLogIntervalSeconds;
+            return this;
+        }
+
+        public Builder setCacheMavenResolutions(boolean cacheMavenResolutions) {
+            this.cacheMavenResolutions = cacheMavenResolutions;
+            return this;
+        }
+
+        public Builder setCacheValidationEvents(boolean cacheValidationEvents) {
+            this.cacheValidationEvents = cacheValidationEvents;
+            return this;
+        }
+
         public ServerOptions build() {
             return new ServerOptions(this);
         }
@@ -11,20 +11,27 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import org.eclipse.lsp4j.FileEvent;
 import org.eclipse.lsp4j.WorkspaceFolder;
 import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.lsp.project.MavenResolutionCache;
 import software.amazon.smithy.lsp.project.Project;
 import software.amazon.smithy.lsp.project.ProjectAndFile;
 import software.amazon.smithy.lsp.project.ProjectChange;
 import software.amazon.smithy.lsp.project.ProjectFile;
 import software.amazon.smithy.lsp.project.ProjectLoader;
+import software.amazon.smithy.lsp.project.SmithyFile;
+import software.amazon.smithy.lsp.project.ValidationEventCache;
 import software.amazon.smithy.lsp.protocol.LspAdapter;
 
 /**
@@ -37,15 +44,21 @@ public final class ServerState implements ManagedFiles {
     private final Set<Path> workspacePaths;
     private final Set<String> managedUris;
     private final FileTasks lifecycleTasks;
+    private final ProjectRebuilds projectRebuilds;
+    private volatile Executor loadExecutor = Runnable::run;
+    private volatile MavenResolutionCache resolutionCache = MavenResolutionCache.NONE;
+    private volatile ValidationEventCache validationEventCache = ValidationEventCache.NONE;
 
     /**
      * Create a new, empty server state.
      */
     public ServerState() {
-        this.projects = new HashMap<>();
+        // Projects are loaded in parallel, and read by requests running on other threads
+        this.projects = new ConcurrentHashMap<>();
         this.workspacePaths = new HashSet<>();
-        this.managedUris = new HashSet<>();
+        this.managedUris = ConcurrentHashMap.newKeySet();
         this.lifecycleTasks = new FileTasks();
+        this.projectRebuilds = new ProjectRebuilds(ForkJoinPool.commonPool(), 0);
     }
 
     /**
@@ -89,6 +102,33 @@ public final class ServerState implements ManagedFiles {
         return lifecycleTasks;
     }
 
+    ProjectRebuilds projectRebuilds() {
+        return projectRebuilds;
+    }
+
+    /**
+     * @param loadExecutor The executor to read a reloaded project's files on
+     */
+    void setLoadExecutor(Executor loadExecutor) {
+        this.loadExecutor = loadExecutor;
+    }
+
+    /**
+     * @param resolutionCache The cache of resolved Maven dependencies to load
+     *  projects with
+     */
+    void setMavenResolutionCache(MavenResolutionCache resolutionCache) {
+        this.resolutionCache = resolutionCache;
+    }
+
+    /**
+     * @param validationEventCache The cache of validation events to load
+     *  projects with
+     */
+    void setValidationEventCache(ValidationEventCache validationEventCache) {
+        this.validationEventCache = validationEventCache;
+    }
+
     Project findProjectByRoot(String root) {
         return projects.get(root);
     }
@@ -116,6 +156,10 @@ public final class ServerState implements ManagedFiles {
 
         ProjectAndFile projectAndFile = findProjectAndFile(uri);
         if (projectAndFile != null) {
+            // Files in jars may be loaded lazily, so keep the opened document around until it's closed
+            if (projectAndFile.file() instanceof SmithyFile smithyFile) {
+                smithyFile.pin();
+            }
             projectAndFile.file().document().applyEdit(null, text);
         } else {
             // A newly created build file or smithy file may be opened before we receive the
@@ -140,8 +184,12 @@ public final class ServerState implements ManagedFiles {
         managedUris.remove(uri);
 
         ProjectAndFile projectAndFile = findProjectAndFile(uri);
+        if (projectAndFile != null && projectAndFile.file() instanceof SmithyFile smithyFile) {
+            smithyFile.unpin();
+        }
         if (projectAndFile != null && shouldDropOnClose(projectAndFile.project())) {
             lifecycleTasks.cancelTask(uri);
+            projectRebuilds.cancel(projectAndFile.project());
             projects.remove(uri);
         }
     }
@@ -151,19 +199,18 @@ public final class ServerState implements ManagedFiles {
     }
 
     List<Exception> tryInitProject(Path root) {
-        LOGGER.finest("Initializing project at " + root);
         lifecycleTasks.cancelAllTasks();
+        projectRebuilds.cancelAll();
+        return initProject(root, loadExecutor);
+    }
+
+    private List<Exception> initProject(Path root, Executor executor) {
+        LOGGER.finest("Initializing project at " + root);
 
         String projectName = root.toString();
         try {
-            Project updatedProject = ProjectLoader.load(root, this);
-
-            if (updatedProject.type() == Project.Type.EMPTY) {
-                removeProjectAndResolve(projectName);
-            } else {
-                resolveProjects(projects.get(projectName), updatedProject);
-                projects.put(projectName, updatedProject);
-            }
+            Project updatedProject = ProjectLoader.load(root, this, executor, resolutionCache, validationEventCache);
+            putProject(projectName, updatedProject);
 
             LOGGER.finest("Initialized project at " + root);
             return List.of();
@@ -178,17 +225,64 @@ public final class ServerState implements ManagedFiles {
         }
     }
 
-    void loadWorkspace(WorkspaceFolder workspaceFolder) {
+    // Loading is done in parallel, but adding the loaded project may move files
+    // between projects, so that part is done one project at a time.
+    private synchronized void putProject(String projectName, Project updatedProject) {
+        if (updatedProject.type() == Project.Type.EMPTY) {
+            removeProjectAndResolve(projectName);
+        } else {
+            resolveProjects(projects.get(projectName), updatedProject);
+            projects.put(projectName, updatedProject);
+        }
+    }
+
+    /**
+     * Loads all the projects in the given workspace folder. Independent projects
+     * are loaded in parallel, and each one is added as soon as it is loaded.
+     *
+     * @param workspaceFolder The workspace folder to load
+     * @param executor The executor to load projects on
+     * @param progress Notified each time a project is loaded
+     * @return A future that completes once all projects have been loaded
+     */
+    CompletableFuture<Void> loadWorkspace(WorkspaceFolder workspaceFolder, Executor executor, LoadProgress progress) {
         Path workspaceRoot = Paths.get(URI.create(workspaceFolder.getUri()));
         workspacePaths.add(workspaceRoot);
+
+        List<Path> projectRoots;
         try {
-            List<Path> projectRoots = ProjectRootVisitor.findProjectRoots(workspaceRoot);
-            for (Path root : projectRoots) {
-                tryInitProject(root);
-            }
+            projectRoots = ProjectRootVisitor.findProjectRoots(workspaceRoot);
         } catch (IOException e) {
             LOGGER.severe(e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        lifecycleTasks.cancelAllTasks();
+        projectRebuilds.cancelAll();
+
+        AtomicInteger loaded = new AtomicInteger();
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[projectRoots.size()];
+        for (int i = 0; i < loads.length; i++) {
+            Path root = projectRoots.get(i);
+            loads[i] = CompletableFuture.runAsync(() -> {
+                initProject(root, executor);
+                progress.loaded(root, loaded.incrementAndGet(), loads.length);
+            }, executor);
         }
+        return CompletableFuture.allOf(loads);
+    }
+
+    /**
+     * Receives progress updates while a workspace is loaded.
+     */
+    @FunctionalInterface
+    interface LoadProgress {
+        /**
+         * @param root The root of the project that was loaded
+         * @param loaded The number of projects that have been loaded so far
+         * @param total The total number of projects being loaded
+         */
+        void loaded(Path root, int loaded, int total);
     }
 
     void removeWorkspace(WorkspaceFolder folder) {
@@ -264,6 +358,7 @@ public final class ServerState implements ManagedFiles {
 
             Set<String> addedPaths = new HashSet<>(updatedProjectSmithyPaths);
             addedPaths.removeAll(currentProjectSmithyPaths);
+            adoptDetachedFiles(updatedProject, addedPaths);
             removeDetachedOrUnresolvedProjects(addedPaths);
 
             Set<String> removedPaths = new HashSet<>(currentProjectSmithyPaths);
@@ -279,10 +374,36 @@ public final class ServerState implements ManagedFiles {
         } else {
             // This is a new project, so there may be detached projects that are resolved by
             // this new project.
+            adoptDetachedFiles(updatedProject, updatedProject.getAllSmithyFilePaths());
             removeDetachedOrUnresolvedProjects(updatedProject.getAllSmithyFilePaths());
         }
     }
 
+    // Files can be opened before the project they belong to has been loaded, in which
+    // case they're put in a detached project in the meantime. If the file was opened
+    // or edited after the loader read it, that text is carried over.
+    private void adoptDetachedFiles(Project updatedProject, Set<String> filePaths) {
+        for (String filePath : filePaths) {
+            String uri = LspAdapter.toUri(filePath);
+            Project detached = projects.get(uri);
+            if (detached == null || detached.type() != Project.Type.DETACHED || !managedUris.contains(uri)) {
+                continue;
+            }
+
+            ProjectFile detachedFile = detached.getProjectFile(uri);
+            ProjectFile updatedFile = updatedProject.getProjectFile(uri);
+            if (detachedFile == null || updatedFile == null) {
+                continue;
+            }
+
+            String text = detachedFile.document().copyText();
+            if (!text.equals(updatedFile.document().copyText())) {
+                updatedFile.document().applyEdit(null, text);
+                projectRebuilds.schedule(updatedProject, uri, true);
+            }
+        }
+    }
+
     private void removeDetachedOrUnresolvedProjects(Set<String> filePaths) {
         for (String filePath : filePaths) {
             String uri = LspAdapter.toUri(filePath);
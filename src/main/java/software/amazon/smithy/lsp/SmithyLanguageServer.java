@@ -23,10 +23,16 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import org.eclipse.lsp4j.ClientCapabilities;
@@ -67,13 +73,19 @@ import org.eclipse.lsp4j.PrepareRenameDefaultBehavior;
 import org.eclipse.lsp4j.PrepareRenameParams;
 import org.eclipse.lsp4j.PrepareRenameResult;
 import org.eclipse.lsp4j.ProgressParams;
-import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.Registration;
 import org.eclipse.lsp4j.RegistrationParams;
 import org.eclipse.lsp4j.RenameOptions;
 import org.eclipse.lsp4j.RenameParams;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
+import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
+import org.eclipse.lsp4j.SemanticTokensServerFull;
+import org.eclipse.lsp4j.SemanticTokensWithRegistrationOptions;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.SetTraceParams;
 import org.eclipse.lsp4j.SymbolInformation;
@@ -90,10 +102,12 @@ import org.eclipse.lsp4j.UnregistrationParams;
 import org.eclipse.lsp4j.WorkDoneProgressBegin;
 import org.eclipse.lsp4j.WorkDoneProgressCancelParams;
 import org.eclipse.lsp4j.WorkDoneProgressEnd;
+import org.eclipse.lsp4j.WorkDoneProgressReport;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.WorkspaceFolder;
 import org.eclipse.lsp4j.WorkspaceFoldersOptions;
 import org.eclipse.lsp4j.WorkspaceServerCapabilities;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.jsonrpc.messages.Either3;
 import org.eclipse.lsp4j.services.LanguageClient;
@@ -104,8 +118,12 @@ import org.eclipse.lsp4j.services.WorkspaceService;
 import software.amazon.smithy.lsp.codeactions.SmithyCodeActions;
 import software.amazon.smithy.lsp.diagnostics.SmithyDiagnostics;
 import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.lsp.ext.DiagnosticsMetrics;
+import software.amazon.smithy.lsp.ext.ExecutorMetrics;
 import software.amazon.smithy.lsp.ext.OpenProject;
+import software.amazon.smithy.lsp.ext.RebuildMetrics;
 import software.amazon.smithy.lsp.ext.SelectorParams;
+import software.amazon.smithy.lsp.ext.ServerMetrics;
 import software.amazon.smithy.lsp.ext.ServerStatus;
 import software.amazon.smithy.lsp.ext.SmithyProtocolExtensions;
 import software.amazon.smithy.lsp.language.BuildCompletionHandler;
@@ -118,11 +136,14 @@ import software.amazon.smithy.lsp.language.HoverHandler;
 import software.amazon.smithy.lsp.language.InlayHintHandler;
 import software.amazon.smithy.lsp.language.ReferencesHandler;
 import software.amazon.smithy.lsp.language.RenameHandler;
+import software.amazon.smithy.lsp.language.SemanticTokensHandler;
 import software.amazon.smithy.lsp.project.BuildFile;
 import software.amazon.smithy.lsp.project.IdlFile;
+import software.amazon.smithy.lsp.project.MavenResolutionCache;
 import software.amazon.smithy.lsp.project.Project;
 import software.amazon.smithy.lsp.project.ProjectAndFile;
 import software.amazon.smithy.lsp.project.SmithyFile;
+import software.amazon.smithy.lsp.project.ValidationEventCache;
 import software.amazon.smithy.lsp.protocol.LspAdapter;
 import software.amazon.smithy.lsp.syntax.Syntax;
 import software.amazon.smithy.model.loader.IdlTokenizer;
@@ -151,6 +172,8 @@ public class SmithyLanguageServer implements
         capabilities.setInlayHintProvider(true);
         capabilities.setReferencesProvider(true);
         capabilities.setRenameProvider(new RenameOptions(true));
+        capabilities.setSemanticTokensProvider(new SemanticTokensWithRegistrationOptions(
+                SemanticTokensHandler.LEGEND, new SemanticTokensServerFull(true), true));
 
         WorkspaceFoldersOptions workspaceFoldersOptions = new WorkspaceFoldersOptions();
         workspaceFoldersOptions.setSupported(true);
@@ -163,6 +186,15 @@ public class SmithyLanguageServer implements
     private final ServerState state = new ServerState();
     private ClientCapabilities clientCapabilities;
     private ServerOptions serverOptions;
+    // Created by initialize, since they're sized by the server options
+    private ServerExecutors executors;
+    private volatile CompletableFuture<Void> workspaceLoads = completedFuture(null);
+    private final DiagnosticsPublisher diagnosticsPublisher = new DiagnosticsPublisher(
+            params -> client.publishDiagnostics(params), ForkJoinPool.commonPool(), 0);
+    private final MessageMetrics messageMetrics = new MessageMetrics();
+    // The semantic tokens last sent for each open file, which deltas are computed from
+    private final Map<String, SemanticTokensHandler.Sent> sentSemanticTokens = new ConcurrentHashMap<>();
+    private ScheduledExecutorService metricsLogger;
 
     SmithyLanguageServer() {
     }
@@ -171,6 +203,14 @@ public class SmithyLanguageServer implements
         return state;
     }
 
+    ServerExecutors getExecutors() {
+        return executors;
+    }
+
+    MessageMetrics getMessageMetrics() {
+        return messageMetrics;
+    }
+
     Severity getMinimumSeverity() {
         return this.serverOptions.getMinimumSeverity();
     }
@@ -199,8 +239,23 @@ public class SmithyLanguageServer implements
                 .ifPresent(processHandle -> processHandle.onExit().thenRun(this::exit));
 
         this.serverOptions = ServerOptions.fromInitializeParams(params, client);
+        this.executors = ServerExecutors.create(serverOptions);
+        state.setLoadExecutor(executors.loads());
+        state.projectRebuilds().configure(executors.builds(), serverOptions.getRebuildDebounceMillis());
+        diagnosticsPublisher.configure(executors.diagnostics(), serverOptions.getDiagnosticsDebounceMillis());
+        scheduleMetricsLogging(serverOptions.getMetricsLogIntervalSeconds());
+        if (serverOptions.getCacheMavenResolutions()) {
+            state.setMavenResolutionCache(MavenResolutionCache.createDefault());
+        }
+        if (serverOptions.getCacheValidationEvents()) {
+            state.setValidationEventCache(ValidationEventCache.createDefault());
+        }
         // TODO: Replace with a Gson Type Adapter if more config options are added beyond `logToFile`.
 
+        // Projects are loaded off of the message thread, and the response is sent
+        // without waiting for them. Files opened before their project has been loaded
+        // are handled like detached files until it has been.
+        CompletableFuture<Void> loaded = completedFuture(null);
         if (params.getWorkspaceFolders() != null && !params.getWorkspaceFolders().isEmpty()) {
             Either<String, Integer> workDoneProgressToken = params.getWorkDoneToken();
             if (workDoneProgressToken != null) {
@@ -209,14 +264,25 @@ public class SmithyLanguageServer implements
                 client.notifyProgress(new ProgressParams(workDoneProgressToken, Either.forLeft(notification)));
             }
 
+            ServerState.LoadProgress progress = (root, loadedCount, total) -> {
+                if (workDoneProgressToken != null) {
+                    WorkDoneProgressReport notification = new WorkDoneProgressReport();
+                    notification.setMessage("Loaded " + root);
+                    notification.setPercentage(loadedCount * 100 / total);
+                    client.notifyProgress(new ProgressParams(workDoneProgressToken, Either.forLeft(notification)));
+                }
+            };
+            List<CompletableFuture<Void>> loads = new ArrayList<>();
             for (WorkspaceFolder workspaceFolder : params.getWorkspaceFolders()) {
-                state.loadWorkspace(workspaceFolder);
+                loads.add(state.loadWorkspace(workspaceFolder, executors.loads(), progress));
             }
 
-            if (workDoneProgressToken != null) {
-                WorkDoneProgressEnd notification = new WorkDoneProgressEnd();
-                client.notifyProgress(new ProgressParams(workDoneProgressToken, Either.forLeft(notification)));
-            }
+            loaded = CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new)).whenComplete((ignored, e) -> {
+                if (workDoneProgressToken != null) {
+                    WorkDoneProgressEnd notification = new WorkDoneProgressEnd();
+                    client.notifyProgress(new ProgressParams(workDoneProgressToken, Either.forLeft(notification)));
+                }
+            });
         }
 
         this.clientCapabilities = params.getCapabilities();
@@ -226,10 +292,33 @@ public class SmithyLanguageServer implements
             CAPABILITIES.setTextDocumentSync(TextDocumentSyncKind.Incremental);
         }
 
+        this.workspaceLoads = loaded;
+
         LOGGER.finest("Done initialize");
         return completedFuture(new InitializeResult(CAPABILITIES));
     }
 
+    /**
+     * @return A future that completes once the projects in the initial workspace
+     *  folders have been loaded
+     */
+    CompletableFuture<Void> workspaceLoads() {
+        return workspaceLoads;
+    }
+
+    private void scheduleMetricsLogging(long intervalSeconds) {
+        if (metricsLogger != null) {
+            metricsLogger.shutdownNow();
+            metricsLogger = null;
+        }
+        if (intervalSeconds > 0) {
+            metricsLogger = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("smithy-lsp-metrics").daemon().factory());
+            metricsLogger.scheduleAtFixedRate(() -> LOGGER.info("Server metrics: " + metrics()),
+                    intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
     private void reportProjectLoadErrors(List<Exception> errors) {
         if (!errors.isEmpty()) {
             StringBuilder errorMessage = new StringBuilder("Failed to load Smithy projects").append(":");
@@ -336,6 +425,11 @@ public class SmithyLanguageServer implements
     @Override
     public CompletableFuture<Object> shutdown() {
         // TODO: Cancel all in-progress requests
+        scheduleMetricsLogging(0);
+        if (executors != null) {
+            // Work that's already been submitted still runs
+            executors.shutdown();
+        }
         return completedFuture(new Object());
     }
 
@@ -409,6 +503,34 @@ public class SmithyLanguageServer implements
         return completedFuture(new ServerStatus(openProjects));
     }
 
+    @Override
+    public CompletableFuture<ServerMetrics> serverMetrics() {
+        return completedFuture(metrics());
+    }
+
+    private ServerMetrics metrics() {
+        ProjectRebuilds rebuilds = state.projectRebuilds();
+        ProjectRebuilds.Stats rebuildStats = rebuilds.stats();
+        DiagnosticsPublisher.Stats diagnosticsStats = diagnosticsPublisher.stats();
+        return new ServerMetrics(
+                messageMetrics.snapshot(),
+                new RebuildMetrics(
+                        rebuildStats.requested(),
+                        rebuildStats.merged(),
+                        rebuildStats.rebuilt(),
+                        rebuildStats.skipped(),
+                        rebuildStats.superseded(),
+                        rebuilds.latency().summary()),
+                new DiagnosticsMetrics(
+                        diagnosticsStats.requested(),
+                        diagnosticsStats.coalesced(),
+                        diagnosticsStats.sent(),
+                        diagnosticsStats.unchanged()),
+                executors.stats().stream()
+                        .map(pool -> new ExecutorMetrics(pool.name(), pool.queued(), pool.active(), pool.completed()))
+                        .toList());
+    }
+
     @Override
     public void didChangeWatchedFiles(DidChangeWatchedFilesParams params) {
         LOGGER.finest("DidChangeWatchedFiles");
@@ -428,8 +550,10 @@ public class SmithyLanguageServer implements
     public void didChangeWorkspaceFolders(DidChangeWorkspaceFoldersParams params) {
         LOGGER.finest("DidChangeWorkspaceFolders");
 
+        // Notifications are handled in order, and the ones that follow may
+        // depend on the added projects, so they have to be loaded here
         for (WorkspaceFolder folder : params.getEvent().getAdded()) {
-            state.loadWorkspace(folder);
+            state.loadWorkspace(folder, executors.loads(), (root, loaded, total) -> { }).join();
         }
 
         for (WorkspaceFolder folder : params.getEvent().getRemoved()) {
@@ -485,16 +609,19 @@ public class SmithyLanguageServer implements
                 // TODO: A consequence of this is that any existing validation events are cleared, which
                 //  is kinda annoying.
                 // Report any parse/shape/trait loading errors
-                CompletableFuture<Void> future = CompletableFuture
-                        .runAsync(() -> project.updateModelWithoutValidating(uri))
-                        .thenRunAsync(() -> sendFileDiagnostics(projectAndFile));
+                // The token lets cancelling the task (i.e. on the next change) stop
+                // computing diagnostics that would be stale anyway
+                CancellationToken token = new CancellationToken();
+                CompletableFuture<Void> future = token.bind(state.projectRebuilds()
+                        .schedule(project, uri, false)
+                        .thenCompose(unused -> sendFileDiagnostics(projectAndFile, token)));
 
                 state.lifecycleTasks().putTask(uri, future);
             }
             case BuildFile ignored -> {
                 CompletableFuture<Void> future = CompletableFuture
-                        .runAsync(project::validateConfig)
-                        .thenRunAsync(() -> sendFileDiagnostics(projectAndFile));
+                        .runAsync(project::validateConfig, executors.builds())
+                        .thenCompose(unused -> sendFileDiagnostics(projectAndFile));
 
                 state.lifecycleTasks().putTask(uri, future);
             }
@@ -511,6 +638,8 @@ public class SmithyLanguageServer implements
 
         ProjectAndFile projectAndFile = state.open(uri, params.getTextDocument().getText());
 
+        // The client may have dropped the file's diagnostics when it was closed
+        diagnosticsPublisher.forget(uri);
         state.lifecycleTasks().putTask(uri, sendFileDiagnostics(projectAndFile));
     }
 
@@ -519,6 +648,7 @@ public class SmithyLanguageServer implements
         LOGGER.finest("DidClose");
 
         String uri = params.getTextDocument().getUri();
+        sentSemanticTokens.remove(uri);
         state.close(uri);
     }
 
@@ -541,13 +671,19 @@ public class SmithyLanguageServer implements
 
         Project project = projectAndFile.project();
         if (projectAndFile.file() instanceof BuildFile) {
-            reportProjectLoadErrors(state.tryInitProject(project.root()));
-            unregisterSmithyFileWatchers().thenRun(this::registerSmithyFileWatchers);
-            sendFileDiagnosticsForManagedDocuments();
+            if (project.updateBuildFiles()) {
+                // The project is loaded the same way, so only the build file's diagnostics may have changed
+                sendFileDiagnostics(projectAndFile);
+            } else {
+                reportProjectLoadErrors(state.tryInitProject(project.root()));
+                unregisterSmithyFileWatchers().thenRun(this::registerSmithyFileWatchers);
+                sendFileDiagnosticsForManagedDocuments();
+            }
         } else {
-            CompletableFuture<Void> future = CompletableFuture
-                    .runAsync(() -> project.updateAndValidateModel(uri))
-                    .thenRunAsync(() -> sendFileDiagnostics(projectAndFile));
+            CancellationToken token = new CancellationToken();
+            CompletableFuture<Void> future = token.bind(state.projectRebuilds()
+                    .schedule(project, uri, true)
+                    .thenCompose(unused -> sendFileDiagnostics(projectAndFile, token)));
             state.lifecycleTasks().putTask(uri, future);
         }
     }
@@ -567,11 +703,11 @@ public class SmithyLanguageServer implements
         return switch (projectAndFile.file()) {
             case IdlFile idlFile -> {
                 var handler = new CompletionHandler(project, idlFile);
-                yield computeAsync((cc) -> Either.forLeft(handler.handle(params, cc)));
+                yield computeAsync(executors.requests(), (cc) -> Either.forRight(handler.handle(params, cc)));
             }
             case BuildFile buildFile -> {
                 var handler = new BuildCompletionHandler(project, buildFile);
-                yield supplyAsync(() -> Either.forLeft(handler.handle(params)));
+                yield supplyAsync(() -> Either.forLeft(handler.handle(params)), executors.requests());
             }
             default -> completedFuture(Either.forLeft(List.of()));
         };
@@ -600,9 +736,7 @@ public class SmithyLanguageServer implements
             return completedFuture(List.of());
         }
 
-        List<Syntax.Statement> statements = idlFile.getParse().statements();
-        var handler = new DocumentSymbolHandler(idlFile.document(), statements);
-        return CompletableFuture.supplyAsync(handler::handle);
+        return CompletableFuture.supplyAsync(() -> DocumentSymbolHandler.handle(idlFile), executors.requests());
     }
 
     @Override
@@ -620,9 +754,7 @@ public class SmithyLanguageServer implements
             return completedFuture(List.of());
         }
 
-        List<Syntax.Statement> statements = idlFile.getParse().statements();
-        var handler = new FoldingRangeHandler(idlFile.document(), idlFile.getParse().imports(), statements);
-        return CompletableFuture.supplyAsync(handler::handle);
+        return CompletableFuture.supplyAsync(() -> FoldingRangeHandler.handle(idlFile), executors.requests());
     }
 
     @Override
@@ -642,7 +774,83 @@ public class SmithyLanguageServer implements
 
         List<Syntax.Statement> statements = idlFile.getParse().statements();
         var handler = new InlayHintHandler(idlFile.document(), statements, params.getRange());
-        return CompletableFuture.supplyAsync(handler::handle);
+        return CompletableFuture.supplyAsync(handler::handle, executors.requests());
+    }
+
+    @Override
+    public CompletableFuture<SemanticTokens> semanticTokensFull(SemanticTokensParams params) {
+        LOGGER.finest("SemanticTokensFull");
+
+        String uri = params.getTextDocument().getUri();
+        ProjectAndFile projectAndFile = state.findProjectAndFile(uri);
+        if (projectAndFile == null) {
+            client.unknownFileError(uri, "semantic tokens");
+            return completedFuture(null);
+        }
+
+        if (!(projectAndFile.file() instanceof IdlFile idlFile)) {
+            return completedFuture(new SemanticTokens(List.of()));
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            SemanticTokensHandler.Encoded tokens = SemanticTokensHandler.handle(idlFile);
+            rememberSentTokens(uri, tokens);
+            return tokens.toSemanticTokens();
+        }, executors.requests());
+    }
+
+    @Override
+    public CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>>
+    semanticTokensFullDelta(SemanticTokensDeltaParams params) {
+        LOGGER.finest("SemanticTokensFullDelta");
+
+        String uri = params.getTextDocument().getUri();
+        ProjectAndFile projectAndFile = state.findProjectAndFile(uri);
+        if (projectAndFile == null) {
+            client.unknownFileError(uri, "semantic tokens");
+            return completedFuture(null);
+        }
+
+        if (!(projectAndFile.file() instanceof IdlFile idlFile)) {
+            return completedFuture(Either.forLeft(new SemanticTokens(List.of())));
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            SemanticTokensHandler.Encoded tokens = SemanticTokensHandler.handle(idlFile);
+            // Results are never changed once sent, so the one the client has
+            // can be looked up by its id even if other requests are running
+            SemanticTokensHandler.Sent sent = sentSemanticTokens.get(uri);
+            SemanticTokensHandler.Encoded previous = sent == null ? null : sent.find(params.getPreviousResultId());
+            rememberSentTokens(uri, tokens);
+            // The client may not have any of the tokens we sent recently, like if a response was cancelled
+            if (previous == null) {
+                return Either.forLeft(tokens.toSemanticTokens());
+            }
+            return Either.forRight(SemanticTokensHandler.delta(previous, tokens));
+        }, executors.requests());
+    }
+
+    private void rememberSentTokens(String uri, SemanticTokensHandler.Encoded tokens) {
+        sentSemanticTokens.merge(uri, new SemanticTokensHandler.Sent(tokens), (sent, ignored) -> sent.with(tokens));
+    }
+
+    @Override
+    public CompletableFuture<SemanticTokens> semanticTokensRange(SemanticTokensRangeParams params) {
+        LOGGER.finest("SemanticTokensRange");
+
+        String uri = params.getTextDocument().getUri();
+        ProjectAndFile projectAndFile = state.findProjectAndFile(uri);
+        if (projectAndFile == null) {
+            client.unknownFileError(uri, "semantic tokens");
+            return completedFuture(null);
+        }
+
+        if (!(projectAndFile.file() instanceof IdlFile idlFile)) {
+            return completedFuture(new SemanticTokens(List.of()));
+        }
+
+        return CompletableFuture.supplyAsync(
+                () -> SemanticTokensHandler.handle(idlFile, params.getRange()), executors.requests());
     }
 
     @Override
@@ -663,7 +871,7 @@ public class SmithyLanguageServer implements
 
         Project project = projectAndFile.project();
         var handler = new DefinitionHandler(project, smithyFile);
-        return CompletableFuture.supplyAsync(() -> Either.forLeft(handler.handle(params)));
+        return CompletableFuture.supplyAsync(() -> Either.forLeft(handler.handle(params)), executors.requests());
     }
 
     @Override
@@ -682,11 +890,11 @@ public class SmithyLanguageServer implements
                 Project project = projectAndFile.project();
 
                 var handler = new HoverHandler(project, idlFile);
-                yield CompletableFuture.supplyAsync(() -> handler.handle(params));
+                yield CompletableFuture.supplyAsync(() -> handler.handle(params), executors.requests());
             }
             case BuildFile buildFile -> {
                 var handler = new BuildHoverHandler(buildFile);
-                yield CompletableFuture.supplyAsync(() -> handler.handle(params));
+                yield CompletableFuture.supplyAsync(() -> handler.handle(params), executors.requests());
             }
             default -> completedFuture(null);
         };
@@ -718,7 +926,7 @@ public class SmithyLanguageServer implements
 
         Document document = smithyFile.document();
 
-        IdlTokenizer tokenizer = IdlTokenizer.create(uri, document.borrowText());
+        IdlTokenizer tokenizer = IdlTokenizer.create(uri, document.snapshot());
         TokenTree tokenTree = TokenTree.of(tokenizer);
         String formatted = Formatter.format(tokenTree);
         Range range = document.fullRange();
@@ -741,7 +949,15 @@ public class SmithyLanguageServer implements
         }
 
         var handler = new ReferencesHandler(projectAndFile.project(), idlFile);
-        return supplyAsync(() -> handler.handle(params));
+        var progress = ReferencesProgress.create(client, params);
+        return computeAsync(executors.requests(), (cc) -> {
+            progress.begin();
+            try {
+                return handler.handle(params, cc, progress);
+            } finally {
+                progress.end();
+            }
+        });
     }
 
     @Override
@@ -759,7 +975,7 @@ public class SmithyLanguageServer implements
         }
 
         var handler = new RenameHandler(projectAndFile.project(), idlFile);
-        return supplyAsync(() -> handler.handle(params));
+        return computeAsync(executors.requests(), cc -> handler.handle(params, cc));
     }
 
     @Override
@@ -778,7 +994,7 @@ public class SmithyLanguageServer implements
         }
 
         var handler = new RenameHandler(projectAndFile.project(), idlFile);
-        return supplyAsync(() -> Either3.forFirst(handler.prepare(params)));
+        return supplyAsync(() -> Either3.forFirst(handler.prepare(params)), executors.requests());
     }
 
     private void sendFileDiagnosticsForManagedDocuments() {
@@ -788,11 +1004,19 @@ public class SmithyLanguageServer implements
     }
 
     private CompletableFuture<Void> sendFileDiagnostics(ProjectAndFile projectAndFile) {
-        return CompletableFuture.runAsync(() -> {
-            List<Diagnostic> diagnostics = SmithyDiagnostics.getFileDiagnostics(
-                    projectAndFile, this.serverOptions.getMinimumSeverity());
-            var publishDiagnosticsParams = new PublishDiagnosticsParams(projectAndFile.uri(), diagnostics);
-            client.publishDiagnostics(publishDiagnosticsParams);
-        });
+        CancellationToken token = new CancellationToken();
+        return token.bind(sendFileDiagnostics(projectAndFile, token));
+    }
+
+    private CompletableFuture<Void> sendFileDiagnostics(ProjectAndFile projectAndFile, CancelChecker cancelChecker) {
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    List<Diagnostic> diagnostics = SmithyDiagnostics.getFileDiagnostics(
+                            projectAndFile, this.serverOptions.getMinimumSeverity(), cancelChecker);
+                    // Don't publish diagnostics for a model that has since changed
+                    cancelChecker.checkCanceled();
+                    return diagnostics;
+                }, executors.diagnostics())
+                .thenCompose(diagnostics -> diagnosticsPublisher.publish(projectAndFile.uri(), diagnostics));
     }
 }
@@ -8,12 +8,12 @@ package software.amazon.smithy.lsp.diagnostics;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticCodeDescription;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import software.amazon.smithy.lsp.document.DocumentParser;
 import software.amazon.smithy.lsp.project.BuildFile;
 import software.amazon.smithy.lsp.project.IdlFile;
@@ -21,7 +21,6 @@ import software.amazon.smithy.lsp.project.Project;
 import software.amazon.smithy.lsp.project.ProjectAndFile;
 import software.amazon.smithy.lsp.project.SmithyFile;
 import software.amazon.smithy.lsp.protocol.LspAdapter;
-import software.amazon.smithy.lsp.syntax.StatementView;
 import software.amazon.smithy.lsp.syntax.Syntax;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidationEvent;
@@ -49,6 +48,23 @@ public final class SmithyDiagnostics {
      * @return A list of diagnostics for the given project and file
      */
     public static List<Diagnostic> getFileDiagnostics(ProjectAndFile projectAndFile, Severity minimumSeverity) {
+        return getFileDiagnostics(projectAndFile, minimumSeverity, () -> {
+        });
+    }
+
+    /**
+     * @param projectAndFile Project and file to get diagnostics for
+     * @param minimumSeverity Minimum severity of validation events to diagnose
+     * @param cancelChecker Checked while going through validation events, which
+     *  there can be many of in large projects
+     * @return A list of diagnostics for the given project and file
+     * @throws java.util.concurrent.CancellationException If cancelled
+     */
+    public static List<Diagnostic> getFileDiagnostics(
+            ProjectAndFile projectAndFile,
+            Severity minimumSeverity,
+            CancelChecker cancelChecker
+    ) {
         if (LspAdapter.isJarFile(projectAndFile.uri()) || LspAdapter.isSmithyJarFile(projectAndFile.uri())) {
             // Don't send diagnostics to jar files since they can't be edited
             // and diagnostics could be misleading.
@@ -63,11 +79,11 @@ public final class SmithyDiagnostics {
         String path = projectAndFile.file().path();
         EventToDiagnostic eventToDiagnostic = diagnose.getEventToDiagnostic();
 
-        List<Diagnostic> diagnostics = diagnose.getValidationEvents().stream()
-                .filter(event -> event.getSeverity().compareTo(minimumSeverity) >= 0
-                                 && event.getSourceLocation().getFilename().equals(path))
-                .map(eventToDiagnostic::toDiagnostic)
-                .collect(Collectors.toCollection(ArrayList::new));
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        for (ValidationEvent event : diagnose.getValidationEvents(path, minimumSeverity)) {
+            cancelChecker.checkCanceled();
+            diagnostics.add(eventToDiagnostic.toDiagnostic(event));
+        }
 
         diagnose.addExtraDiagnostics(diagnostics);
 
@@ -75,7 +91,7 @@ public final class SmithyDiagnostics {
     }
 
     private sealed interface Diagnose {
-        List<ValidationEvent> getValidationEvents();
+        List<ValidationEvent> getValidationEvents(String path, Severity minimumSeverity);
 
         EventToDiagnostic getEventToDiagnostic();
 
@@ -84,8 +100,8 @@ public final class SmithyDiagnostics {
 
     private record DiagnoseSmithy(SmithyFile smithyFile, Project project) implements Diagnose {
         @Override
-        public List<ValidationEvent> getValidationEvents() {
-            return project.modelResult().getValidationEvents();
+        public List<ValidationEvent> getValidationEvents(String path, Severity minimumSeverity) {
+            return ValidationEventIndex.of(project.snapshot()).getEvents(path, minimumSeverity);
         }
 
         @Override
@@ -95,13 +111,14 @@ public final class SmithyDiagnostics {
             }
 
             var idlParse = idlFile.getParse();
-            var view = StatementView.createAtStart(idlParse).orElse(null);
-            if (view == null) {
+            if (idlParse.statements().isEmpty()) {
                 return new Simple();
             } else {
-                var documentParser = DocumentParser.forStatements(
-                        smithyFile.document(), view.parseResult().statements());
-                return new Idl(view, documentParser);
+                // The parser is stateful, so it can't be shared between passes,
+                // but creating one is cheap. Statement lookups use the intervals
+                // computed once per parse.
+                var documentParser = DocumentParser.forStatements(smithyFile.document(), idlParse.statements());
+                return new Idl(idlParse, documentParser);
             }
         }
 
@@ -153,8 +170,12 @@ public final class SmithyDiagnostics {
 
     private record DiagnoseBuild(BuildFile buildFile, Project project) implements Diagnose {
         @Override
-        public List<ValidationEvent> getValidationEvents() {
-            return project().configEvents();
+        public List<ValidationEvent> getValidationEvents(String path, Severity minimumSeverity) {
+            // There's only ever a few of these, so they aren't indexed
+            return project().configEvents().stream()
+                    .filter(event -> event.getSeverity().compareTo(minimumSeverity) >= 0
+                                     && event.getSourceLocation().getFilename().equals(path))
+                    .toList();
         }
 
         @Override
@@ -226,7 +247,7 @@ public final class SmithyDiagnostics {
 
     private record Simple() implements EventToDiagnostic {}
 
-    private record Idl(StatementView view, DocumentParser parser) implements EventToDiagnostic {
+    private record Idl(Syntax.IdlParseResult parseResult, DocumentParser parser) implements EventToDiagnostic {
         @Override
         public Range getDiagnosticRange(ValidationEvent event) {
             Position eventStart = LspAdapter.toPosition(event.getSourceLocation());
@@ -234,7 +255,7 @@ public final class SmithyDiagnostics {
 
             if (event.getShapeId().isPresent()) {
                 int eventStartIndex = parser.getDocument().indexOfPosition(eventStart);
-                Syntax.Statement statement = view.getStatementAt(eventStartIndex).orElse(null);
+                Syntax.Statement statement = getStatementAt(eventStartIndex);
 
                 if (statement instanceof Syntax.Statement.MemberDef def
                     && event.containsId("Target")
@@ -252,5 +273,13 @@ public final class SmithyDiagnostics {
 
             return Objects.requireNonNullElse(parser.findContiguousRange(event.getSourceLocation()), defaultRange);
         }
+
+        private Syntax.Statement getStatementAt(int documentIndex) {
+            if (documentIndex < 0) {
+                return null;
+            }
+            int statementIndex = parseResult.intervals().statementIndexAt(documentIndex);
+            return statementIndex < 0 ? null : parseResult.statements().get(statementIndex);
+        }
     }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.lsp.project.Project;
+import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * An index of a model's validation events by the file they're in, so getting
+ * the diagnostics of a file doesn't go through the events of every other file.
+ *
+ * <p>Each file's events are sorted from most to least severe, so events below
+ * a minimum severity can be cut off without looking at them.
+ */
+final class ValidationEventIndex {
+    private static final Comparator<ValidationEvent> MOST_SEVERE_FIRST =
+            Comparator.comparing(ValidationEvent::getSeverity).reversed();
+
+    private final Map<String, List<ValidationEvent>> eventsByFile;
+
+    private ValidationEventIndex(Map<String, List<ValidationEvent>> eventsByFile) {
+        this.eventsByFile = eventsByFile;
+    }
+
+    /**
+     * @param snapshot The snapshot to get the index of
+     * @return The index of the snapshot's validation events, which is only
+     *  created once per snapshot
+     */
+    static ValidationEventIndex of(Project.Snapshot snapshot) {
+        return snapshot.computeIfAbsent(ValidationEventIndex.class,
+                s -> create(s.modelResult().getValidationEvents()));
+    }
+
+    /**
+     * @param events The validation events to index
+     * @return The created index
+     */
+    static ValidationEventIndex create(List<ValidationEvent> events) {
+        Map<String, List<ValidationEvent>> eventsByFile = new HashMap<>();
+        for (ValidationEvent event : events) {
+            eventsByFile.computeIfAbsent(event.getSourceLocation().getFilename(), f -> new ArrayList<>())
+                    .add(event);
+        }
+        // Sorting is stable, so events of the same severity stay in the
+        // order they were emitted in
+        for (List<ValidationEvent> fileEvents : eventsByFile.values()) {
+            fileEvents.sort(MOST_SEVERE_FIRST);
+        }
+        return new ValidationEventIndex(eventsByFile);
+    }
+
+    /**
+     * @param filename The path of the file to get validation events for
+     * @param minimumSeverity The minimum severity of events to get
+     * @return The file's validation events of at least {@code minimumSeverity},
+     *  from most to least severe
+     */
+    List<ValidationEvent> getEvents(String filename, Severity minimumSeverity) {
+        List<ValidationEvent> fileEvents = eventsByFile.get(filename);
+        if (fileEvents == null) {
+            return List.of();
+        }
+
+        int end = fileEvents.size();
+        while (end > 0 && fileEvents.get(end - 1).getSeverity().compareTo(minimumSeverity) < 0) {
+            end--;
+        }
+        return fileEvents.subList(0, end);
+    }
+}
@@ -6,8 +6,7 @@
 package software.amazon.smithy.lsp.document;
 
 import java.nio.CharBuffer;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import software.amazon.smithy.lsp.protocol.LspAdapter;
@@ -17,17 +16,54 @@ import software.amazon.smithy.lsp.syntax.Syntax;
  * In-memory representation of a text document, indexed by line, which can
  * be patched in-place.
  *
+ * <p>The text is stored in an immutable {@link Rope}, so edits don't have to
+ * move the rest of the text around, and {@link #snapshot()} can hand out the
+ * current text to be read on other threads while the document continues to
+ * be edited.
+ *
  * <p>Methods on this class will often return {@code -1} or {@code null} for
  * failure cases to reduce allocations, since these methods may be called
  * frequently.
  */
 public final class Document {
-    private final StringBuilder buffer;
-    private int[] lineIndices;
+    // Number of edits to remember for changeSince.
+    private static final int EDIT_LOG_SIZE = 32;
 
-    private Document(StringBuilder buffer, int[] lineIndices) {
-        this.buffer = buffer;
+    private Rope text;
+    // Start index of each line. Only the first lineCount entries are valid,
+    // the rest is spare capacity so edits that add lines don't always have
+    // to reallocate.
+    private int[] lineIndices;
+    private int lineCount;
+    private int version;
+    // Ring buffer of the most recent edits. Each edit takes up 4 slots: the
+    // start index, old end index, new end index, and the number of lines
+    // before the edit. Allocated on the first edit.
+    private int[] editLog;
+
+    private Document(Rope text, int[] lineIndices, int lineCount, int version) {
+        this.text = text;
         this.lineIndices = lineIndices;
+        this.lineCount = lineCount;
+        this.version = version;
+    }
+
+    /**
+     * A single span of text that changed between two versions of a document.
+     *
+     * @param start The index the change starts at, which is the same in both
+     *              versions
+     * @param oldEnd The index the change ended at in the old version
+     * @param newEnd The index the change ends at in the current version
+     * @param lineDelta The number of lines added, or removed if negative
+     */
+    public record Change(int start, int oldEnd, int newEnd, int lineDelta) {
+        /**
+         * @return The number of characters added, or removed if negative
+         */
+        public int delta() {
+            return newEnd - oldEnd;
+        }
     }
 
     /**
@@ -35,16 +71,73 @@ public final class Document {
      * @return The created document
      */
     public static Document of(String string) {
-        StringBuilder buffer = new StringBuilder(string);
-        int[] lineIndicies = computeLineIndicies(buffer);
-        return new Document(buffer, lineIndicies);
+        Document document = new Document(Rope.of(string), new int[16], 0, 0);
+        document.computeLineIndicies();
+        return document;
     }
 
     /**
      * @return A copy of this document
      */
     public Document copy() {
-        return new Document(new StringBuilder(copyText()), lineIndices.clone());
+        return new Document(text, Arrays.copyOf(lineIndices, lineCount), lineCount, version);
+    }
+
+    /**
+     * @return The version of this document, which is incremented by every edit
+     */
+    public int version() {
+        return version;
+    }
+
+    /**
+     * Computes the smallest span that contains all the edits made to this
+     * document since the given {@code version}. Only a limited number of
+     * edits are remembered.
+     *
+     * @param sinceVersion The version to compute the change since
+     * @return The change since {@code sinceVersion}, or {@code null} if the
+     *  edits made since then aren't known
+     */
+    public Change changeSince(int sinceVersion) {
+        int edits = version - sinceVersion;
+        if (edits < 0 || edits > EDIT_LOG_SIZE || (edits > 0 && editLog == null)) {
+            return null;
+        }
+        if (edits == 0) {
+            return new Change(0, 0, 0, 0);
+        }
+
+        int firstSlot = (sinceVersion % EDIT_LOG_SIZE) * 4;
+        int start = editLog[firstSlot];
+        int oldEnd = editLog[firstSlot + 1];
+        int newEnd = editLog[firstSlot + 2];
+        int linesBefore = editLog[firstSlot + 3];
+        for (int v = sinceVersion + 1; v < version; v++) {
+            int slot = (v % EDIT_LOG_SIZE) * 4;
+            int editStart = editLog[slot];
+            int editOldEnd = editLog[slot + 1];
+            int editNewEnd = editLog[slot + 2];
+            // Indices after newEnd map back to the old version by subtracting
+            // the total delta so far, so the old end only moves if this edit
+            // goes past the current change.
+            oldEnd += Math.max(0, editOldEnd - newEnd);
+            newEnd = Math.max(newEnd, editOldEnd) + (editNewEnd - editOldEnd);
+            start = Math.min(start, editStart);
+        }
+        return new Change(start, oldEnd, newEnd, lineCount - linesBefore);
+    }
+
+    private void logEdit(int start, int oldEnd, int newEnd, int linesBefore) {
+        if (editLog == null) {
+            editLog = new int[EDIT_LOG_SIZE * 4];
+        }
+        int slot = (version % EDIT_LOG_SIZE) * 4;
+        editLog[slot] = start;
+        editLog[slot + 1] = oldEnd;
+        editLog[slot + 2] = newEnd;
+        editLog[slot + 3] = linesBefore;
+        version++;
     }
 
     /**
@@ -53,24 +146,34 @@ public final class Document {
      * @param text The text of the edit to apply
      */
     public void applyEdit(Range range, String text) {
+        int linesBefore = lineCount;
         if (range == null) {
-            buffer.replace(0, buffer.length(), text);
+            int oldLength = length();
+            this.text = Rope.of(text);
+            computeLineIndicies();
+            logEdit(0, oldLength, length(), linesBefore);
+            return;
+        }
+
+        Position start = range.getStart();
+        Position end = range.getEnd();
+        int startIndex;
+        int endIndex;
+        if (start.getLine() >= lineCount) {
+            startIndex = length();
+            endIndex = startIndex;
         } else {
-            Position start = range.getStart();
-            Position end = range.getEnd();
-            if (start.getLine() >= lineIndices.length) {
-                buffer.append(text);
+            startIndex = lineIndices[start.getLine()] + start.getCharacter();
+            if (end.getLine() >= lineCount) {
+                endIndex = length();
             } else {
-                int startIndex = lineIndices[start.getLine()] + start.getCharacter();
-                if (end.getLine() >= lineIndices.length) {
-                    buffer.replace(startIndex, buffer.length(), text);
-                } else {
-                    int endIndex = lineIndices[end.getLine()] + end.getCharacter();
-                    buffer.replace(startIndex, endIndex, text);
-                }
+                endIndex = lineIndices[end.getLine()] + end.getCharacter();
             }
         }
-        this.lineIndices = computeLineIndicies(buffer);
+
+        this.text = this.text.replace(startIndex, endIndex, text);
+        updateLineIndicies(startIndex, endIndex, text);
+        logEdit(startIndex, endIndex, startIndex + text.length(), linesBefore);
     }
 
     /**
@@ -86,7 +189,7 @@ public final class Document {
      *  if the line doesn't exist
      */
     public int indexOfLine(int line) {
-        if (line >= lineIndices.length || line < 0) {
+        if (line >= lineCount || line < 0) {
             return -1;
         }
         return lineIndices[line];
@@ -149,7 +252,7 @@ public final class Document {
 
         int idx = startLineIdx + character;
         if (line == lastLine()) {
-            if (idx >= buffer.length()) {
+            if (idx >= length()) {
                 // index is oob
                 return -1;
             }
@@ -254,7 +357,7 @@ public final class Document {
      * @return The line number of the last line in this document
      */
     public int lastLine() {
-        return lineIndices.length - 1;
+        return lineCount - 1;
     }
 
     /**
@@ -271,7 +374,7 @@ public final class Document {
      *  or {@code -1} if one doesn't exist
      */
     public int nextIndexOf(String s, int after) {
-        return buffer.indexOf(s, after);
+        return text.indexOf(s, after);
     }
 
     /**
@@ -281,21 +384,36 @@ public final class Document {
      *  or {@code -1} if one doesn't exist
      */
     public int lastIndexOf(String s, int before) {
-        return buffer.lastIndexOf(s, before);
+        return text.lastIndexOf(s, before);
     }
 
     /**
      * @return A reference to the text in this document
      */
     public CharSequence borrowText() {
-        return buffer;
+        return text;
     }
 
     /**
+     * The returned text is immutable, so it can be read while this document
+     * is being edited, and will not reflect any edits made after this call.
+     * Taking a snapshot doesn't copy the text.
+     *
+     * @return A snapshot of the current text of this document
+     */
+    public CharSequence snapshot() {
+        return text;
+    }
+
+    /**
+     * The returned string is computed at most once per version of the text,
+     * so calling this multiple times without editing the document doesn't
+     * copy the text again.
+     *
      * @return A copy of the text of this document
      */
     public String copyText() {
-        return buffer.toString();
+        return text.toString();
     }
 
     /**
@@ -331,7 +449,8 @@ public final class Document {
             return null;
         }
 
-        char atIdx = buffer.charAt(idx);
+        Rope text = this.text;
+        char atIdx = text.charAt(idx);
         if (!isIdChar(atIdx)) {
             return null;
         }
@@ -339,7 +458,7 @@ public final class Document {
         boolean isMember = false;
         int startIdx = idx;
         while (startIdx >= 0) {
-            char c = buffer.charAt(startIdx);
+            char c = text.charAt(startIdx);
             if (!isIdChar(c)) {
                 break;
             }
@@ -352,8 +471,8 @@ public final class Document {
         }
 
         int endIdx = idx;
-        while (endIdx < buffer.length()) {
-            char c = buffer.charAt(endIdx);
+        while (endIdx < text.length()) {
+            char c = text.charAt(endIdx);
             if (!isIdChar(c)) {
                 break;
             }
@@ -376,7 +495,7 @@ public final class Document {
         // Not necessary for endIdx, because we want it to be one past the last
         // character.
         int startCharIdx = startIdx + 1;
-        CharBuffer wrapped = CharBuffer.wrap(buffer, startCharIdx, endIdx);
+        CharBuffer wrapped = CharBuffer.wrap(text, startCharIdx, endIdx);
         Range range = rangeBetween(startCharIdx, endIdx);
         return new DocumentId(type, wrapped, range);
     }
@@ -397,35 +516,95 @@ public final class Document {
         }
 
         // end is exclusive
-        if (end > buffer.length() || start > end) {
+        if (end > length() || start > end) {
             return null;
         }
 
-        return CharBuffer.wrap(buffer, start, end).toString();
+        return text.subSequence(start, end).toString();
     }
 
     /**
      * @return The length of the document
      */
     public int length() {
-        return buffer.length();
+        return text.length();
     }
 
     // Adapted from String::split
-    private static int[] computeLineIndicies(StringBuilder buffer) {
-        int matchCount = 0;
+    private void computeLineIndicies() {
+        String buffer = text.toString();
         int off = 0;
         int next;
-        // Have to box sadly, unless there's some IntArray I'm not aware of. Maybe IntBuffer
-        List<Integer> indicies = new ArrayList<>();
-        indicies.add(0);
+        lineCount = 0;
+        addLineIndex(0);
         // This works with \r\n line breaks by basically forgetting about the \r, since we don't actually
         // care about the content of the line
         while ((next = buffer.indexOf("\n", off)) != -1) {
-            indicies.add(next + 1);
+            addLineIndex(next + 1);
             off = next + 1;
-            ++matchCount;
         }
-        return indicies.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void addLineIndex(int index) {
+        if (lineCount == lineIndices.length) {
+            lineIndices = Arrays.copyOf(lineIndices, lineCount * 2);
+        }
+        lineIndices[lineCount++] = index;
+    }
+
+    // Patches the line indices after the text in [startIndex, endIndex) was
+    // replaced with text. Lines starting within the replaced span are removed,
+    // lines starting within the new text are spliced in, and lines after the
+    // edit are shifted by the change in length. Lines before the edit, and
+    // the rest of the text, aren't looked at.
+    private void updateLineIndicies(int startIndex, int endIndex, String text) {
+        // A line starts right after a '\n', so lines starting in (startIndex, endIndex]
+        // had their '\n' in the replaced span.
+        int firstRemoved = firstLineStartingAfter(startIndex);
+        int firstKept = firstLineStartingAfter(endIndex);
+
+        int added = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                added++;
+            }
+        }
+
+        int newLineCount = lineCount - (firstKept - firstRemoved) + added;
+        if (newLineCount > lineIndices.length) {
+            lineIndices = Arrays.copyOf(lineIndices, Math.max(newLineCount, lineIndices.length * 2));
+        }
+
+        int delta = text.length() - (endIndex - startIndex);
+        int insertEnd = firstRemoved + added;
+        System.arraycopy(lineIndices, firstKept, lineIndices, insertEnd, lineCount - firstKept);
+        for (int i = insertEnd; i < newLineCount; i++) {
+            lineIndices[i] += delta;
+        }
+
+        int line = firstRemoved;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lineIndices[line++] = startIndex + i + 1;
+            }
+        }
+
+        lineCount = newLineCount;
+    }
+
+    // Binary search for the first line whose start index is > idx, or lineCount
+    // if there isn't one.
+    private int firstLineStartingAfter(int idx) {
+        int low = 0;
+        int up = lineCount;
+        while (low < up) {
+            int mid = (low + up) >>> 1;
+            if (lineIndices[mid] <= idx) {
+                low = mid + 1;
+            } else {
+                up = mid;
+            }
+        }
+        return low;
     }
 }
@@ -0,0 +1,376 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.document;
+
+/**
+ * An immutable sequence of characters stored as a height-balanced binary tree
+ * of small chunks of text.
+ *
+ * <p>Replacing a span of text creates a new rope that shares every chunk
+ * outside the edited span with the original, so edits cost {@code O(log n)}
+ * regardless of where they happen, and any rope can be handed to another
+ * thread as a stable snapshot of the text.
+ *
+ * <p>Leaves are views into a {@link String}, so creating a rope from a string
+ * doesn't copy it, and {@link #toString()} of that rope returns the original
+ * string. {@link #toString()} of other ropes is computed once and cached.
+ */
+abstract sealed class Rope implements CharSequence {
+    // Leaves are split to at most this many chars, and adjacent leaves are
+    // merged when their combined length fits.
+    static final int MAX_LEAF = 1024;
+
+    static final Rope EMPTY = new Leaf("", 0, 0);
+
+    // Lazily computed flattened text. Racy single-check like String::hash,
+    // which is fine because String is immutable.
+    private String flattened;
+
+    /**
+     * @param string The string to create a rope of
+     * @return A rope containing the given {@code string}
+     */
+    static Rope of(String string) {
+        if (string.isEmpty()) {
+            return EMPTY;
+        }
+
+        Rope rope = build(string, 0, string.length());
+        rope.flattened = string;
+        return rope;
+    }
+
+    // Builds a balanced tree over string[start, end), with leaves viewing
+    // the string directly.
+    private static Rope build(String string, int start, int end) {
+        int length = end - start;
+        if (length <= MAX_LEAF) {
+            return new Leaf(string, start, length);
+        }
+        int leaves = (length + MAX_LEAF - 1) / MAX_LEAF;
+        int mid = start + (leaves / 2) * MAX_LEAF;
+        return new Node(build(string, start, mid), build(string, mid, end));
+    }
+
+    /**
+     * @param start The start index of the span to replace, inclusive
+     * @param end The end index of the span to replace, exclusive
+     * @param text The text to replace the span with
+     * @return A new rope with the text in {@code [start, end)} replaced by
+     *  {@code text}
+     */
+    final Rope replace(int start, int end, String text) {
+        if (start < 0 || end > length() || start > end) {
+            throw new IndexOutOfBoundsException(
+                    "Span [" + start + ", " + end + ") out of bounds for length " + length());
+        }
+        if (start == 0 && end == length()) {
+            return of(text);
+        }
+        return concat(concat(prefix(start), of(text)), suffix(end));
+    }
+
+    /**
+     * @param s The string to search for
+     * @param from The index to start searching at
+     * @return The index of the first occurrence of {@code s} at or after
+     *  {@code from}, or {@code -1} if there isn't one
+     */
+    final int indexOf(String s, int from) {
+        String cached = flattened;
+        if (cached != null) {
+            return cached.indexOf(s, from);
+        }
+
+        int max = length() - s.length();
+        if (s.isEmpty()) {
+            return Math.min(Math.max(from, 0), length());
+        }
+        char first = s.charAt(0);
+        Cursor cursor = new Cursor(this);
+        for (int i = Math.max(from, 0); i <= max; i++) {
+            if (cursor.charAt(i) == first && regionMatches(cursor, i, s)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param s The string to search for
+     * @param before The index to start searching backwards from
+     * @return The index of the last occurrence of {@code s} starting at or
+     *  before {@code before}, or {@code -1} if there isn't one
+     */
+    final int lastIndexOf(String s, int before) {
+        String cached = flattened;
+        if (cached != null) {
+            return cached.lastIndexOf(s, before);
+        }
+
+        int start = Math.min(before, length() - s.length());
+        if (s.isEmpty()) {
+            return start < 0 ? -1 : start;
+        }
+        char first = s.charAt(0);
+        Cursor cursor = new Cursor(this);
+        for (int i = start; i >= 0; i--) {
+            if (cursor.charAt(i) == first && regionMatches(cursor, i, s)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(Cursor cursor, int offset, String s) {
+        for (int j = 1; j < s.length(); j++) {
+            if (cursor.charAt(offset + j) != s.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public final CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length() || start > end) {
+            throw new IndexOutOfBoundsException(
+                    "Span [" + start + ", " + end + ") out of bounds for length " + length());
+        }
+        String cached = flattened;
+        if (cached != null) {
+            return cached.substring(start, end);
+        }
+        char[] chars = new char[end - start];
+        getChars(start, end, chars, 0);
+        return new String(chars);
+    }
+
+    @Override
+    public final String toString() {
+        String result = flattened;
+        if (result == null) {
+            char[] chars = new char[length()];
+            getChars(0, chars.length, chars, 0);
+            result = new String(chars);
+            flattened = result;
+        }
+        return result;
+    }
+
+    abstract int height();
+
+    abstract Rope prefix(int end);
+
+    abstract Rope suffix(int start);
+
+    // Copies the chars in [start, end) of this rope into dst, starting at dstBegin.
+    abstract void getChars(int start, int end, char[] dst, int dstBegin);
+
+    static Rope concat(Rope left, Rope right) {
+        if (left.length() == 0) {
+            return right;
+        }
+        if (right.length() == 0) {
+            return left;
+        }
+
+        if (left instanceof Leaf l && right instanceof Leaf r && l.length + r.length <= MAX_LEAF) {
+            String merged = l.base.substring(l.offset, l.offset + l.length)
+                    .concat(r.base.substring(r.offset, r.offset + r.length));
+            return new Leaf(merged, 0, merged.length());
+        }
+
+        int leftHeight = left.height();
+        int rightHeight = right.height();
+        if (leftHeight > rightHeight + 1) {
+            Node l = (Node) left;
+            return rebalance(l.left, concat(l.right, right));
+        } else if (rightHeight > leftHeight + 1) {
+            Node r = (Node) right;
+            return rebalance(concat(left, r.left), r.right);
+        } else {
+            return new Node(left, right);
+        }
+    }
+
+    // Creates a node from two subtrees whose heights differ by at most 2,
+    // rotating as needed to keep the heights of siblings within 1 of each other.
+    private static Rope rebalance(Rope left, Rope right) {
+        int leftHeight = left.height();
+        int rightHeight = right.height();
+        if (rightHeight > leftHeight + 1) {
+            Node r = (Node) right;
+            if (r.right.height() >= r.left.height()) {
+                return new Node(new Node(left, r.left), r.right);
+            }
+            Node rl = (Node) r.left;
+            return new Node(new Node(left, rl.left), new Node(rl.right, r.right));
+        } else if (leftHeight > rightHeight + 1) {
+            Node l = (Node) left;
+            if (l.left.height() >= l.right.height()) {
+                return new Node(l.left, new Node(l.right, right));
+            }
+            Node lr = (Node) l.right;
+            return new Node(new Node(l.left, lr.left), new Node(lr.right, right));
+        }
+        return new Node(left, right);
+    }
+
+    static final class Leaf extends Rope {
+        private final String base;
+        private final int offset;
+        private final int length;
+
+        private Leaf(String base, int offset, int length) {
+            this.base = base;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+            }
+            return base.charAt(offset + index);
+        }
+
+        @Override
+        int height() {
+            return 0;
+        }
+
+        @Override
+        Rope prefix(int end) {
+            return end == length ? this : new Leaf(base, offset, end);
+        }
+
+        @Override
+        Rope suffix(int start) {
+            return start == 0 ? this : new Leaf(base, offset + start, length - start);
+        }
+
+        @Override
+        void getChars(int start, int end, char[] dst, int dstBegin) {
+            base.getChars(offset + start, offset + end, dst, dstBegin);
+        }
+    }
+
+    static final class Node extends Rope {
+        private final Rope left;
+        private final Rope right;
+        private final int length;
+        private final int height;
+
+        // The leaf found by the last call to charAt, so sequential reads
+        // like the ones done by parsers don't have to walk the tree for
+        // every char.
+        private volatile Cursor.Hit lastHit;
+
+        private Node(Rope left, Rope right) {
+            this.left = left;
+            this.right = right;
+            this.length = left.length() + right.length();
+            this.height = Math.max(left.height(), right.height()) + 1;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            Cursor.Hit hit = lastHit;
+            if (hit == null || index < hit.start() || index >= hit.start() + hit.leaf().length) {
+                hit = Cursor.find(this, index);
+                lastHit = hit;
+            }
+            return hit.leaf().base.charAt(hit.leaf().offset + index - hit.start());
+        }
+
+        @Override
+        int height() {
+            return height;
+        }
+
+        @Override
+        Rope prefix(int end) {
+            int leftLength = left.length();
+            if (end <= leftLength) {
+                return left.prefix(end);
+            }
+            return concat(left, right.prefix(end - leftLength));
+        }
+
+        @Override
+        Rope suffix(int start) {
+            int leftLength = left.length();
+            if (start >= leftLength) {
+                return right.suffix(start - leftLength);
+            }
+            return concat(left.suffix(start), right);
+        }
+
+        @Override
+        void getChars(int start, int end, char[] dst, int dstBegin) {
+            int leftLength = left.length();
+            if (end <= leftLength) {
+                left.getChars(start, end, dst, dstBegin);
+            } else if (start >= leftLength) {
+                right.getChars(start - leftLength, end - leftLength, dst, dstBegin);
+            } else {
+                left.getChars(start, leftLength, dst, dstBegin);
+                right.getChars(0, end - leftLength, dst, dstBegin + leftLength - start);
+            }
+        }
+    }
+
+    // Reads chars from a rope, remembering the last leaf it was in.
+    private static final class Cursor {
+        private final Rope rope;
+        private Hit hit;
+
+        private Cursor(Rope rope) {
+            this.rope = rope;
+        }
+
+        private char charAt(int index) {
+            if (rope instanceof Leaf leaf) {
+                return leaf.charAt(index);
+            }
+            if (hit == null || index < hit.start() || index >= hit.start() + hit.leaf().length) {
+                hit = find(rope, index);
+            }
+            return hit.leaf().base.charAt(hit.leaf().offset + index - hit.start());
+        }
+
+        private static Hit find(Rope rope, int index) {
+            if (index < 0 || index >= rope.length()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + rope.length());
+            }
+            int start = 0;
+            while (rope instanceof Node node) {
+                int leftLength = node.left.length();
+                if (index - start < leftLength) {
+                    rope = node.left;
+                } else {
+                    start += leftLength;
+                    rope = node.right;
+                }
+            }
+            return new Hit((Leaf) rope, start);
+        }
+
+        private record Hit(Leaf leaf, int start) {}
+    }
+}
@@ -0,0 +1,16 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.ext;
+
+/**
+ * Metrics of diagnostics published to the client.
+ *
+ * @param requested The number of times diagnostics were published
+ * @param coalesced The number of diagnostics replaced by newer ones before being sent
+ * @param sent The number of diagnostics sent to the client
+ * @param unchanged The number of diagnostics not sent because the client already had them
+ */
+public record DiagnosticsMetrics(long requested, long coalesced, long sent, long unchanged) {}
@@ -0,0 +1,18 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.ext;
+
+import org.eclipse.lsp4j.jsonrpc.validation.NonNull;
+
+/**
+ * Metrics of one of the server's executors.
+ *
+ * @param name The name of the executor
+ * @param queued The number of tasks waiting to run
+ * @param active The number of tasks running
+ * @param completed The number of tasks that finished running
+ */
+public record ExecutorMetrics(@NonNull String name, int queued, int active, long completed) {}
@@ -0,0 +1,26 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.ext;
+
+/**
+ * A summary of recorded latencies. Percentiles are approximate, and at most
+ * one eighth higher than the actual value.
+ *
+ * @param count The number of recorded latencies
+ * @param meanMillis The mean latency, in milliseconds
+ * @param p50Millis The median latency, in milliseconds
+ * @param p90Millis The 90th percentile latency, in milliseconds
+ * @param p99Millis The 99th percentile latency, in milliseconds
+ * @param maxMillis The highest latency, in milliseconds
+ */
+public record LatencySummary(
+        long count,
+        double meanMillis,
+        double p50Millis,
+        double p90Millis,
+        double p99Millis,
+        double maxMillis
+) {}
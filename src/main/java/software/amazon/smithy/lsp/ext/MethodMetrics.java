@@ -0,0 +1,30 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.ext;
+
+import org.eclipse.lsp4j.jsonrpc.validation.NonNull;
+
+/**
+ * Metrics of a single JSON-RPC method, i.e. a request or notification type.
+ *
+ * <p>The latency of a request is from when it's received until its response
+ * is sent. The latency of a notification is how long it takes to handle,
+ * not including any work it starts in the background.
+ *
+ * @param method The name of the method, i.e. {@code textDocument/hover}
+ * @param inFlight The number of requests that haven't been responded to yet
+ * @param cancelled The number of requests that were cancelled
+ * @param failed The number of requests that responded with an error, other
+ *  than being cancelled
+ * @param latency The latency of finished requests or notifications
+ */
+public record MethodMetrics(
+        @NonNull String method,
+        int inFlight,
+        long cancelled,
+        long failed,
+        @NonNull LatencySummary latency
+) {}
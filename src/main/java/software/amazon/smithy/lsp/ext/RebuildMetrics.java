@@ -0,0 +1,27 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.ext;
+
+import org.eclipse.lsp4j.jsonrpc.validation.NonNull;
+
+/**
+ * Metrics of model rebuilds after files change.
+ *
+ * @param requested The number of file changes that requested a rebuild
+ * @param merged The number of changes merged into an already pending rebuild
+ * @param rebuilt The number of rebuilds that were started
+ * @param skipped The number of pending rebuilds that were dropped
+ * @param superseded The number of running rebuilds that were cancelled by newer changes
+ * @param latency How long rebuilds that finished took
+ */
+public record RebuildMetrics(
+        long requested,
+        long merged,
+        long rebuilt,
+        long skipped,
+        long superseded,
+        @NonNull LatencySummary latency
+) {}
@@ -0,0 +1,25 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.ext;
+
+import java.util.List;
+import org.eclipse.lsp4j.jsonrpc.validation.NonNull;
+
+/**
+ * A snapshot of the server's metrics since it started, useful for finding
+ * out what is slow.
+ *
+ * @param messages Metrics of each JSON-RPC method received from the client
+ * @param rebuilds Metrics of model rebuilds after files change
+ * @param diagnostics Metrics of diagnostics published to the client
+ * @param executors Metrics of each of the server's executors
+ */
+public record ServerMetrics(
+        @NonNull List<MethodMetrics> messages,
+        @NonNull RebuildMetrics rebuilds,
+        @NonNull DiagnosticsMetrics diagnostics,
+        @NonNull List<ExecutorMetrics> executors
+) {}
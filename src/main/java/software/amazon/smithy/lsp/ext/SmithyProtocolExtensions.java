@@ -41,4 +41,13 @@ public interface SmithyProtocolExtensions {
    */
   @JsonRequest
   CompletableFuture<ServerStatus> serverStatus();
+
+  /**
+   * Get the server's request latencies and rebuild and diagnostics counts
+   * accumulated since it started, useful for diagnosing slowness.
+   *
+   * @return A future containing the server's metrics
+   */
+  @JsonRequest
+  CompletableFuture<ServerMetrics> serverMetrics();
 }
@@ -12,6 +12,7 @@ import java.util.Set;
 import org.eclipse.lsp4j.CompletionContext;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
+import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.CompletionParams;
 import org.eclipse.lsp4j.CompletionTriggerKind;
 import org.eclipse.lsp4j.Position;
@@ -40,15 +41,16 @@ public final class CompletionHandler {
 
     /**
      * @param params The request params
-     * @return A list of possible completions
+     * @return A list of possible completions, which is incomplete if there
+     *  were too many matches to return them all
      */
-    public List<CompletionItem> handle(CompletionParams params, CancelChecker cc) {
+    public CompletionList handle(CompletionParams params, CancelChecker cc) {
         // TODO: This method has to check for cancellation before using shared resources,
         //  and before performing expensive operations. If we have to change this, or do
         //  the same type of thing elsewhere, it would be nice to have some type of state
         //  machine abstraction or similar to make sure cancellation is properly checked.
         if (cc.isCanceled()) {
-            return Collections.emptyList();
+            return complete(Collections.emptyList());
         }
 
         Position position = getTokenPosition(params);
@@ -56,7 +58,7 @@ public final class CompletionHandler {
         Range insertRange = getInsertRange(id, position);
 
         if (cc.isCanceled()) {
-            return Collections.emptyList();
+            return complete(Collections.emptyList());
         }
 
         Syntax.IdlParseResult parseResult = smithyFile.getParse();
@@ -66,31 +68,31 @@ public final class CompletionHandler {
                 .orElse(null);
 
         if (cc.isCanceled() || idlPosition == null) {
-            return Collections.emptyList();
+            return complete(Collections.emptyList());
         }
 
         CompleterContext context = CompleterContext.create(id, insertRange, project);
 
         return switch (idlPosition) {
-            case IdlPosition.ControlKey ignored ->
+            case IdlPosition.ControlKey ignored -> complete(
                     new SimpleCompleter(context.withLiteralKind(CompletionItemKind.Constant))
-                            .getCompletionItems(CompletionCandidates.BUILTIN_CONTROLS);
+                            .getCompletionItems(CompletionCandidates.BUILTIN_CONTROLS));
 
-            case IdlPosition.MetadataKey ignored ->
+            case IdlPosition.MetadataKey ignored -> complete(
                     new SimpleCompleter(context.withLiteralKind(CompletionItemKind.Field))
-                            .getCompletionItems(CompletionCandidates.BUILTIN_METADATA);
+                            .getCompletionItems(CompletionCandidates.BUILTIN_METADATA));
 
-            case IdlPosition.StatementKeyword ignored ->
+            case IdlPosition.StatementKeyword ignored -> complete(
                     new SimpleCompleter(context.withLiteralKind(CompletionItemKind.Keyword))
-                            .getCompletionItems(CompletionCandidates.KEYWORD);
+                            .getCompletionItems(CompletionCandidates.KEYWORD));
 
-            case IdlPosition.Namespace ignored ->
+            case IdlPosition.Namespace ignored -> complete(
                     new SimpleCompleter(context.withLiteralKind(CompletionItemKind.Module))
-                            .getCompletionItems(CompletionCandidates.Custom.PROJECT_NAMESPACES);
+                            .getCompletionItems(CompletionCandidates.Custom.PROJECT_NAMESPACES));
 
-            case IdlPosition.MetadataValue metadataValue -> metadataValueCompletions(metadataValue, context);
+            case IdlPosition.MetadataValue metadataValue -> complete(metadataValueCompletions(metadataValue, context));
 
-            case IdlPosition.MemberName memberName -> memberNameCompletions(memberName, context);
+            case IdlPosition.MemberName memberName -> complete(memberNameCompletions(memberName, context));
 
             default -> modelBasedCompletions(idlPosition, context);
         };
@@ -131,27 +133,31 @@ public final class CompletionHandler {
         return new SimpleCompleter(context.withExclude(excludeKeys)).getCompletionItems(candidates);
     }
 
-    private List<CompletionItem> modelBasedCompletions(IdlPosition idlPosition, CompleterContext context) {
-        if (project.modelResult().getResult().isEmpty()) {
-            return List.of();
-        }
+    private static CompletionList complete(List<CompletionItem> items) {
+        return new CompletionList(false, items);
+    }
 
-        Model model = project.modelResult().getResult().get();
+    private CompletionList modelBasedCompletions(IdlPosition idlPosition, CompleterContext context) {
+        ShapeCompletionIndex index = ShapeCompletionIndex.of(project.snapshot());
+        if (index == null) {
+            return complete(List.of());
+        }
 
+        Model model = index.model();
         if (idlPosition instanceof IdlPosition.ElidedMember elidedMember) {
-            return elidedMemberCompletions(elidedMember, context, model);
+            return complete(elidedMemberCompletions(elidedMember, context, model));
         } else if (idlPosition instanceof IdlPosition.TraitValue traitValue) {
-            return traitValueCompletions(traitValue, context, model);
+            return traitValueCompletions(traitValue, context, index);
         }
 
         CompletionCandidates candidates = CompletionCandidates.shapeCandidates(idlPosition);
         if (candidates instanceof CompletionCandidates.Shapes shapes) {
-            return new ShapeCompleter(idlPosition, model, context).getCompletionItems(shapes);
+            return new ShapeCompleter(idlPosition, index, context).getCompletionItems(shapes);
         } else if (candidates != CompletionCandidates.NONE) {
-            return new SimpleCompleter(context).getCompletionItems(candidates);
+            return complete(new SimpleCompleter(context).getCompletionItems(candidates));
         }
 
-        return List.of();
+        return complete(List.of());
     }
 
     private List<CompletionItem> elidedMemberCompletions(
@@ -168,21 +174,21 @@ public final class CompletionHandler {
         return new SimpleCompleter(context.withExclude(otherMembers)).getCompletionItems(candidates);
     }
 
-    private List<CompletionItem> traitValueCompletions(
+    private CompletionList traitValueCompletions(
             IdlPosition.TraitValue traitValue,
             CompleterContext context,
-            Model model
+            ShapeCompletionIndex index
     ) {
-        var result = ShapeSearch.searchTraitValue(traitValue, model);
+        var result = ShapeSearch.searchTraitValue(traitValue, index.model());
         Set<String> excludeKeys = result.getOtherPresentKeys();
         var contextWithExclude = context.withExclude(excludeKeys);
 
         CompletionCandidates candidates = CompletionCandidates.fromSearchResult(result);
         if (candidates instanceof CompletionCandidates.Shapes shapes) {
-            return new ShapeCompleter(traitValue, model, contextWithExclude).getCompletionItems(shapes);
+            return new ShapeCompleter(traitValue, index, contextWithExclude).getCompletionItems(shapes);
         }
 
-        return new SimpleCompleter(contextWithExclude).getCompletionItems(candidates);
+        return complete(new SimpleCompleter(contextWithExclude).getCompletionItems(candidates));
     }
 
     private List<CompletionItem> memberNameCompletions(IdlPosition.MemberName memberName, CompleterContext context) {
@@ -200,10 +206,9 @@ public final class CompletionHandler {
             candidates = CompletionCandidates.membersCandidates(Builtins.MODEL, shapeMembersDef);
         }
 
-        if (project.modelResult().getResult().isPresent()) {
-            CompletionCandidates elidedCandidates = getElidableMemberCandidates(
-                    memberName,
-                    project.modelResult().getResult().get());
+        Model model = project.modelResult().getResult().orElse(null);
+        if (model != null) {
+            CompletionCandidates elidedCandidates = getElidableMemberCandidates(memberName, model);
 
             if (elidedCandidates != null) {
                 candidates = candidates == null
@@ -15,6 +15,7 @@ import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.lsp.project.IdlFile;
 import software.amazon.smithy.lsp.syntax.Syntax;
 
 public record DocumentSymbolHandler(Document document, List<Syntax.Statement> statements) {
@@ -26,6 +27,18 @@ public record DocumentSymbolHandler(Document document, List<Syntax.Statement> st
             Syntax.Statement.Type.Block
     );
 
+    /**
+     * @param idlFile The file to get the symbols of
+     * @return The symbols of the latest parse of the file, which are only
+     *  computed once per parse
+     */
+    public static List<Either<SymbolInformation, DocumentSymbol>> handle(IdlFile idlFile) {
+        return idlFile.computeIfAbsent(Symbols.class, parse -> {
+            var handler = new DocumentSymbolHandler(idlFile.document(), parse.statements());
+            return new Symbols(List.copyOf(handler.handle()));
+        }).symbols();
+    }
+
     /**
      * @return A list of DocumentSymbol
      */
@@ -192,4 +205,7 @@ public record DocumentSymbolHandler(Document document, List<Syntax.Statement> st
         addMemberSymbols(listIterator, inlineSymbol);
         return inlineSymbol;
     }
+
+    private record Symbols(List<Either<SymbolInformation, DocumentSymbol>> symbols) {
+    }
 }
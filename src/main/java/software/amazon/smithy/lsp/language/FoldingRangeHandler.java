@@ -12,11 +12,24 @@ import org.eclipse.lsp4j.FoldingRange;
 import org.eclipse.lsp4j.Range;
 import software.amazon.smithy.lsp.document.Document;
 import software.amazon.smithy.lsp.document.DocumentImports;
+import software.amazon.smithy.lsp.project.IdlFile;
 import software.amazon.smithy.lsp.syntax.Syntax;
 
 
 public record FoldingRangeHandler(Document document, DocumentImports documentImports,
                                   List<Syntax.Statement> statements) {
+    /**
+     * @param idlFile The file to get the folding ranges of
+     * @return The folding ranges of the latest parse of the file, which are
+     *  only computed once per parse
+     */
+    public static List<FoldingRange> handle(IdlFile idlFile) {
+        return idlFile.computeIfAbsent(FoldingRanges.class, parse -> {
+            var handler = new FoldingRangeHandler(idlFile.document(), parse.imports(), parse.statements());
+            return new FoldingRanges(List.copyOf(handler.handle()));
+        }).ranges();
+    }
+
     /**
      * Main public handle function in the handler class.
      *
@@ -137,4 +150,7 @@ public record FoldingRangeHandler(Document document, DocumentImports documentImp
             }
         }
     }
+
+    private record FoldingRanges(List<FoldingRange> ranges) {
+    }
 }
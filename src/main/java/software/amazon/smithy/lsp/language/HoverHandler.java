@@ -5,8 +5,6 @@
 
 package software.amazon.smithy.lsp.language;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -25,11 +23,9 @@ import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
-import software.amazon.smithy.model.shapes.SmithyIdlModelSerializer;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.DocumentationTrait;
 import software.amazon.smithy.model.traits.ExternalDocumentationTrait;
-import software.amazon.smithy.model.validation.ValidatedResult;
 
 /**
  * Handles hover requests for the Smithy IDL.
@@ -127,12 +123,12 @@ public final class HoverHandler {
     }
 
     private Hover modelSensitiveHover(DocumentId id, IdlPosition idlPosition) {
-        ValidatedResult<Model> validatedModel = project.modelResult();
-        if (validatedModel.getResult().isEmpty()) {
+        HoverSerializationCache serializations = HoverSerializationCache.of(project.snapshot());
+        if (serializations == null) {
             return EMPTY;
         }
 
-        Model model = validatedModel.getResult().get();
+        Model model = serializations.model();
         Optional<? extends Shape> matchingShape = switch (idlPosition) {
             // TODO: Handle resource ids and properties. This only works for mixins right now.
             case IdlPosition.ElidedMember elidedMember ->
@@ -146,13 +142,14 @@ public final class HoverHandler {
             return EMPTY;
         }
 
-        return withShape(matchingShape.get(), model);
+        return withShape(matchingShape.get(), serializations);
     }
 
-    private Hover withShape(Shape shape, Model model) {
+    private Hover withShape(Shape shape, HoverSerializationCache serializations) {
         String serializedShape = switch (shape) {
             case MemberShape memberShape -> serializeMember(memberShape);
-            default -> serializeShape(model, shape);
+            // Serializing goes through the whole model, so it's only done once per shape
+            default -> serializations.serializedShape(shape).orElse(null);
         };
 
         if (serializedShape == null) {
@@ -273,30 +270,4 @@ public final class HoverHandler {
                 .append(System.lineSeparator());
 
     }
-
-    private static String serializeShape(Model model, Shape shape) {
-        SmithyIdlModelSerializer serializer = SmithyIdlModelSerializer.builder()
-                .metadataFilter(key -> false)
-                .shapeFilter(s -> s.getId().equals(shape.getId()))
-                // TODO: If we remove the documentation trait in the serializer,
-                //  it also gets removed from members. This causes weird behavior if
-                //  there are applied traits (such as through mixins), where you get
-                //  an empty apply because the documentation trait was removed
-                // .traitFilter(trait -> !trait.toShapeId().equals(DocumentationTrait.ID))
-                .serializePrelude()
-                .build();
-        Map<Path, String> serialized = serializer.serialize(model);
-        Path path = Paths.get(shape.getId().getNamespace() + ".smithy");
-        if (!serialized.containsKey(path)) {
-            return null;
-        }
-
-        String serializedShape = serialized.get(path)
-                .substring(15) // remove '$version: "2.0"'
-                .trim()
-                .replaceAll(Matcher.quoteReplacement(
-                        // Replace newline literals with actual newlines
-                        System.lineSeparator() + System.lineSeparator()), System.lineSeparator());
-        return serializedShape;
-    }
 }
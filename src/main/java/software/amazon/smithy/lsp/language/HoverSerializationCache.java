@@ -0,0 +1,91 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.language;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import software.amazon.smithy.lsp.project.Project;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.SmithyIdlModelSerializer;
+
+/**
+ * Caches shapes serialized for hover, so each shape is only serialized once
+ * per version of a project's model, and is shared by all hover requests for
+ * that version.
+ *
+ * <p>Serializing a shape goes through the whole model, which makes it by far
+ * the most expensive part of hover. The cache is dropped along with the
+ * {@link Project.Snapshot} it was made for.
+ */
+final class HoverSerializationCache {
+    private final Model model;
+    private final Map<ShapeId, Optional<String>> serializedShapes = new ConcurrentHashMap<>();
+
+    private HoverSerializationCache(Model model) {
+        this.model = model;
+    }
+
+    /**
+     * @param snapshot The snapshot of the project to get the cache of
+     * @return The cache of the model in {@code snapshot}, or {@code null} if
+     *  there is no model
+     */
+    static HoverSerializationCache of(Project.Snapshot snapshot) {
+        if (snapshot.modelResult().getResult().isEmpty()) {
+            return null;
+        }
+        return snapshot.computeIfAbsent(HoverSerializationCache.class,
+                s -> new HoverSerializationCache(s.modelResult().getResult().get()));
+    }
+
+    /**
+     * @return The model shapes are serialized from
+     */
+    Model model() {
+        return model;
+    }
+
+    /**
+     * @param shape The shape to serialize, which must be in {@link #model()}
+     * @return The serialized shape, or empty if it can't be serialized. The
+     *  shape is only serialized the first time it's requested.
+     */
+    Optional<String> serializedShape(Shape shape) {
+        return serializedShapes.computeIfAbsent(shape.getId(), id -> Optional.ofNullable(serialize(shape)));
+    }
+
+    private String serialize(Shape shape) {
+        SmithyIdlModelSerializer serializer = SmithyIdlModelSerializer.builder()
+                .metadataFilter(key -> false)
+                .shapeFilter(s -> s.getId().equals(shape.getId()))
+                // TODO: If we remove the documentation trait in the serializer,
+                //  it also gets removed from members. This causes weird behavior if
+                //  there are applied traits (such as through mixins), where you get
+                //  an empty apply because the documentation trait was removed
+                // .traitFilter(trait -> !trait.toShapeId().equals(DocumentationTrait.ID))
+                .serializePrelude()
+                .build();
+        Map<Path, String> serialized = serializer.serialize(model);
+        Path path = Paths.get(shape.getId().getNamespace() + ".smithy");
+        if (!serialized.containsKey(path)) {
+            return null;
+        }
+
+        String serializedShape = serialized.get(path)
+                .substring(15) // remove '$version: "2.0"'
+                .trim()
+                .replaceAll(Matcher.quoteReplacement(
+                        // Replace newline literals with actual newlines
+                        System.lineSeparator() + System.lineSeparator()), System.lineSeparator());
+        return serializedShape;
+    }
+}
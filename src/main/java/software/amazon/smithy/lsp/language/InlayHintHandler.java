@@ -13,6 +13,7 @@ import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.lsp.syntax.StatementIntervals;
 import software.amazon.smithy.lsp.syntax.Syntax;
 
 public record InlayHintHandler(Document document,
@@ -68,19 +69,42 @@ public record InlayHintHandler(Document document,
         return statement.end() >= rangeStart && statement.start() <= rangeEnd;
     }
 
+    // Inline members are within the operation that was most recently defined,
+    // if any, so this only needs to look back to the nearest shape definition.
+    private String operationNameBefore(int statementIndex) {
+        for (int i = statementIndex - 1; i >= 0; i--) {
+            if (statements.get(i) instanceof Syntax.Statement.ShapeDef shapeDef) {
+                return operationName(shapeDef);
+            }
+        }
+        return "";
+    }
+
+    private static String operationName(Syntax.Statement.ShapeDef shapeDef) {
+        if (shapeDef.shapeType().stringValue().equals(OPERATION_TYPE)) {
+            return shapeDef.shapeName().stringValue();
+        }
+        return "";
+    }
+
     private List<InlayHint> processInlayHints() {
         List<InlayHint> inlayHints = new ArrayList<>();
-        ListIterator<Syntax.Statement> iterator = statements.listIterator();
-        IOSuffix ioSuffix = getIOSuffix(iterator);
+        IOSuffix ioSuffix = getIOSuffix(statements.listIterator());
         // Convert the window range into document character index.
         int rangeStartIndex = document.indexOfPosition(hintRange.getStart());
         int rangeEndIndex = document.indexOfPosition(hintRange.getEnd());
-        String lastOperationName = "";
-        while (iterator.hasNext()) {
-            var statement = iterator.next();
-            if (statement instanceof Syntax.Statement.ShapeDef shapeDef
-                    && shapeDef.shapeType().stringValue().equals(OPERATION_TYPE)) {
-                lastOperationName = shapeDef.shapeName().stringValue();
+        // Clients usually only request hints for the visible part of the document,
+        // so skip straight to the statements in the range.
+        int firstIndex = StatementIntervals.firstStatementIndexFrom(statements, rangeStartIndex);
+        String lastOperationName = operationNameBefore(firstIndex);
+        for (int i = firstIndex; i < statements.size(); i++) {
+            var statement = statements.get(i);
+            if (statement.start() > rangeEndIndex) {
+                // Statements are in order, so the rest are after the range too
+                break;
+            }
+            if (statement instanceof Syntax.Statement.ShapeDef shapeDef) {
+                lastOperationName = operationName(shapeDef);
                 continue;
             }
             if (statement instanceof Syntax.Statement.InlineMemberDef inlineMemberDef) {
@@ -8,10 +8,12 @@ package software.amazon.smithy.lsp.language;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import software.amazon.smithy.lsp.project.IdlFile;
 import software.amazon.smithy.lsp.project.Project;
 import software.amazon.smithy.lsp.project.SmithyFile;
 import software.amazon.smithy.lsp.protocol.LspAdapter;
+import software.amazon.smithy.lsp.syntax.ReferenceIndex;
 import software.amazon.smithy.lsp.syntax.StatementView;
 import software.amazon.smithy.lsp.syntax.Syntax;
 import software.amazon.smithy.model.Model;
@@ -61,16 +63,55 @@ final class References {
     record DefinitionReference(IdlFile idlFile, Syntax.Node.Str ref) {}
 
     /**
-     * Finds all references to {@code shape} across all files in the given {@code project}.
+     * Receives the references found in each file as soon as the file has
+     * been searched.
+     */
+    @FunctionalInterface
+    interface Listener {
+        Listener NONE = (fileReferences, searchedFiles, totalFiles) -> {
+        };
+
+        /**
+         * @param fileReferences The references in the file that was just
+         *                       searched, or {@code null} if there weren't any
+         * @param searchedFiles The number of files searched so far
+         * @param totalFiles The total number of files to search
+         */
+        void fileSearched(FileReferences fileReferences, int searchedFiles, int totalFiles);
+    }
+
+    /**
+     * Finds all references to {@code shape} across all files in the given {@code snapshot}.
+     *
+     * @param model The model the shape is in
+     * @param shape The shape to find references to
+     * @param snapshot The snapshot of the project to find references in
+     * @return All found references, including the shape's definition
+     */
+    static References findReferences(Model model, Shape shape, Project.Snapshot snapshot) {
+        return findReferences(model, shape, snapshot, () -> {}, Listener.NONE);
+    }
+
+    /**
+     * Finds all references to {@code shape} across all files in the given
+     * {@code snapshot}, notifying {@code listener} after each file is searched.
      *
      * @param model The model the shape is in
      * @param shape The shape to find references to
-     * @param project The project to find references in
+     * @param snapshot The snapshot of the project to find references in
+     * @param cc Checked for cancellation before each file is searched
+     * @param listener The listener to notify of each file's references
      * @return All found references, including the shape's definition
      */
-    static References findReferences(Model model, Shape shape, Project project) {
+    static References findReferences(
+            Model model,
+            Shape shape,
+            Project.Snapshot snapshot,
+            CancelChecker cc,
+            Listener listener
+    ) {
         var references = new References(model, shape);
-        references.findReferences(project);
+        references.findReferences(snapshot, cc, listener);
         return references;
     }
 
@@ -119,26 +160,37 @@ final class References {
         }
     }
 
-    private void findReferences(Project project) {
-        for (SmithyFile smithyFile : project.getAllSmithyFiles()) {
-            if (!(smithyFile instanceof IdlFile idlFile)) {
-                continue;
+    private void findReferences(Project.Snapshot snapshot, CancelChecker cc, Listener listener) {
+        List<IdlFile> idlFiles = new ArrayList<>();
+        for (SmithyFile smithyFile : snapshot.getAllSmithyFiles()) {
+            if (smithyFile instanceof IdlFile idlFile) {
+                idlFiles.add(idlFile);
             }
+        }
+
+        for (int i = 0; i < idlFiles.size(); i++) {
+            cc.checkCanceled();
 
-            findReferences(idlFile);
+            int found = fileReferences.size();
+            findReferences(idlFiles.get(i));
+            FileReferences newReferences = fileReferences.size() > found ? fileReferences.getLast() : null;
+            listener.fileSearched(newReferences, i + 1, idlFiles.size());
         }
 
         // Include the shape's definition, which won't be collected otherwise.
         // Note: This doesn't add the definition of an inline shape, because it
         //  doesn't have an identifier to ref.
-        addDefinitionReference(project);
+        addDefinitionReference(snapshot);
     }
 
     private void findReferences(IdlFile idlFile) {
+        // Only statements that mention the shape's name can reference it, so
+        // the rest of the file doesn't need to be searched.
+        ReferenceIndex referenceIndex = idlFile.getReferenceIndex();
         currentFile = idlFile;
-        currentParseResult = idlFile.getParse();
+        currentParseResult = referenceIndex.parseResult();
 
-        for (Syntax.Statement statement : currentParseResult.statements()) {
+        for (Syntax.Statement statement : referenceIndex.candidates(shape.getId().getName())) {
             collect(statement);
         }
 
@@ -215,10 +267,9 @@ final class References {
         return StatementView.createAt(currentParseResult, statement);
     }
 
-    private void addDefinitionReference(Project project) {
+    private void addDefinitionReference(Project.Snapshot snapshot) {
         var sourceLocation = shape.getSourceLocation();
-        var projectFile = project.getProjectFile(LspAdapter.toUri(sourceLocation.getFilename()));
-        if (!(projectFile instanceof IdlFile idl)) {
+        if (!(snapshot.getDefinitionFile(shape) instanceof IdlFile idl)) {
             return;
         }
 
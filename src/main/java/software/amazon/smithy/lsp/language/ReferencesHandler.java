@@ -11,6 +11,7 @@ import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.ReferenceParams;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
@@ -23,18 +24,80 @@ import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 
 public record ReferencesHandler(Project project, IdlFile idlFile) {
+    /**
+     * Receives progress updates while references are being found.
+     */
+    public interface Progress {
+        Progress NONE = new Progress() {
+        };
+
+        /**
+         * @return Whether found locations should be reported through
+         *  {@link #found(List)} as they're found, rather than returned all at once
+         */
+        default boolean streamsResults() {
+            return false;
+        }
+
+        /**
+         * Called with each batch of found locations, if {@link #streamsResults()}.
+         *
+         * @param locations The locations that were found
+         */
+        default void found(List<Location> locations) {
+        }
+
+        /**
+         * @param searchedFiles The number of files searched so far
+         * @param totalFiles The total number of files to search
+         */
+        default void searched(int searchedFiles, int totalFiles) {
+        }
+    }
+
     /**
      * @param params The request params
      * @return A list of locations of the found refs
      */
     public List<? extends Location> handle(ReferenceParams params) {
+        return handle(params, () -> {}, Progress.NONE);
+    }
+
+    /**
+     * @param params The request params
+     * @param cc Checked for cancellation between files
+     * @param progress The progress to report to
+     * @return A list of locations of the found refs, or an empty list if they
+     *  were streamed to {@code progress}
+     */
+    public List<? extends Location> handle(ReferenceParams params, CancelChecker cc, Progress progress) {
         var config = Config.create(project, idlFile, params.getPosition());
-        var references = References.findReferences(config.model(), config.shape(), project);
-        return toLocations(references);
+        References.Listener listener = (fileReferences, searchedFiles, totalFiles) -> {
+            if (fileReferences != null && progress.streamsResults()) {
+                List<Location> locations = new ArrayList<>();
+                addLocations(locations, fileReferences);
+                progress.found(locations);
+            }
+            progress.searched(searchedFiles, totalFiles);
+        };
+        var references = References.findReferences(config.model(), config.shape(), config.snapshot(), cc, listener);
+        if (!progress.streamsResults()) {
+            return toLocations(references);
+        }
+
+        // Everything else was already streamed
+        List<Location> definitionLocations = new ArrayList<>();
+        addDefinitionLocations(definitionLocations, references);
+        if (!definitionLocations.isEmpty()) {
+            progress.found(definitionLocations);
+        }
+        return List.of();
     }
 
-    record Config(DocumentId id, Shape shape, Model model, IdlFile definitionFile) {
+    record Config(DocumentId id, Shape shape, Model model, IdlFile definitionFile, Project.Snapshot snapshot) {
         static Config create(Project project, IdlFile idlFile, Position position) {
+            // Everything is read from one snapshot, so the model and files agree
+            var snapshot = project.snapshot();
             DocumentId id = idlFile.document().copyDocumentId(position);
             if (id == null || id.idSlice().isEmpty()) {
                 throw notSupported();
@@ -49,7 +112,7 @@ public record ReferencesHandler(Project project, IdlFile idlFile) {
                 throw notSupported();
             }
 
-            var model = project.modelResult().getResult().orElse(null);
+            var model = snapshot.modelResult().getResult().orElse(null);
             if (model == null) {
                 throw noModel();
             }
@@ -60,14 +123,14 @@ public record ReferencesHandler(Project project, IdlFile idlFile) {
             }
 
             var shape = shapeReference.get();
-            var definitionFile = project.getDefinitionFile(shape);
+            var definitionFile = snapshot.getDefinitionFile(shape);
 
             IdlFile idlDefinitionFile = null;
             if (definitionFile instanceof IdlFile idl) {
                 idlDefinitionFile = idl;
             }
 
-            return new Config(id, shape, model, idlDefinitionFile);
+            return new Config(id, shape, model, idlDefinitionFile, snapshot);
         }
 
         private static ResponseErrorException notSupported() {
@@ -88,23 +151,29 @@ public record ReferencesHandler(Project project, IdlFile idlFile) {
     private List<Location> toLocations(References references) {
         List<Location> locations = new ArrayList<>();
         for (var fileReferences : references.fileReferences()) {
-            String uri = LspAdapter.toUri(fileReferences.idlFile().path());
+            addLocations(locations, fileReferences);
+        }
+        addDefinitionLocations(locations, references);
+        return locations;
+    }
 
-            for (var ref : fileReferences.refs()) {
-                addLocation(locations, uri, fileReferences.idlFile().document().rangeOfValue(ref));
-            }
+    private void addLocations(List<Location> locations, References.FileReferences fileReferences) {
+        String uri = LspAdapter.toUri(fileReferences.idlFile().path());
 
-            for (var use : fileReferences.useRefs()) {
-                addLocation(locations, uri, fileReferences.idlFile().document().rangeOfValue(use.use()));
-            }
+        for (var ref : fileReferences.refs()) {
+            addLocation(locations, uri, fileReferences.idlFile().document().rangeOfValue(ref));
         }
 
+        for (var use : fileReferences.useRefs()) {
+            addLocation(locations, uri, fileReferences.idlFile().document().rangeOfValue(use.use()));
+        }
+    }
+
+    private void addDefinitionLocations(List<Location> locations, References references) {
         for (var definitionRef : references.definitionReferences()) {
             String uri = LspAdapter.toUri(definitionRef.idlFile().path());
             addLocation(locations, uri, definitionRef.idlFile().document().rangeOfValue(definitionRef.ref()));
         }
-
-        return locations;
     }
 
     private void addLocation(List<Location> locations, String uri, Range range) {
@@ -14,6 +14,7 @@ import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.RenameParams;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.WorkspaceEdit;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
@@ -39,12 +40,21 @@ public record RenameHandler(Project project, IdlFile idlFile) {
      * @return A workspace edit that applies the rename
      */
     public WorkspaceEdit handle(RenameParams params) {
+        return handle(params, () -> {});
+    }
+
+    /**
+     * @param params The request params
+     * @param cc Checked for cancellation while finding references to rename
+     * @return A workspace edit that applies the rename
+     */
+    public WorkspaceEdit handle(RenameParams params, CancelChecker cc) {
         var config = ReferencesHandler.Config.create(project, idlFile, params.getPosition());
-        var edits = getEdits(config, params.getNewName());
+        var edits = getEdits(config, params.getNewName(), cc);
         return new WorkspaceEdit(edits);
     }
 
-    private Map<String, List<TextEdit>> getEdits(ReferencesHandler.Config config, String newName) {
+    private Map<String, List<TextEdit>> getEdits(ReferencesHandler.Config config, String newName, CancelChecker cc) {
         String namespace = config.shape().getId().getNamespace();
 
         ShapeId renamedId;
@@ -54,8 +64,8 @@ public record RenameHandler(Project project, IdlFile idlFile) {
             throw invalidShapeId(e);
         }
 
-        var projectEdits = new ProjectEdits(config, newName, renamedId, new HashMap<>());
-        projectEdits.collect(project);
+        var projectEdits = new ProjectEdits(config, newName, renamedId, cc, new HashMap<>());
+        projectEdits.collect();
 
         return projectEdits.edits;
     }
@@ -64,6 +74,7 @@ public record RenameHandler(Project project, IdlFile idlFile) {
             ReferencesHandler.Config config,
             String newName,
             ShapeId renamedShapeId,
+            CancelChecker cc,
             Map<String, List<TextEdit>> edits
     ) {
         private enum FileEditType {
@@ -71,8 +82,9 @@ public record RenameHandler(Project project, IdlFile idlFile) {
             SIMPLE
         }
 
-        private void collect(Project project) {
-            var references = References.findReferences(config.model(), config.shape(), project);
+        private void collect() {
+            var references = References.findReferences(
+                    config.model(), config.shape(), config.snapshot(), cc, References.Listener.NONE);
 
             addEdits(references);
             deconflictDefinition();
@@ -248,12 +260,6 @@ public record RenameHandler(Project project, IdlFile idlFile) {
     }
 
     private static String getConflictingImport(IdlFile idlFile, String newName) {
-        String matcher = "#" + newName;
-        for (String imported : idlFile.getParse().imports().imports()) {
-            if (imported.endsWith(matcher)) {
-                return imported;
-            }
-        }
-        return null;
+        return idlFile.getParse().shapeIds().importedId(newName);
     }
 }
@@ -0,0 +1,436 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.language;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SemanticTokenModifiers;
+import org.eclipse.lsp4j.SemanticTokenTypes;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.eclipse.lsp4j.SemanticTokensLegend;
+import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.lsp.project.IdlFile;
+import software.amazon.smithy.lsp.syntax.StatementIntervals;
+import software.amazon.smithy.lsp.syntax.Syntax;
+
+/**
+ * Computes semantic tokens straight from the statements of an IDL parse.
+ *
+ * <p>Tokens are encoded into a flat int array in the relative format the
+ * protocol uses, five ints per token. The tokens of the whole document are
+ * computed once per parse, and since tokens are relative to the one before
+ * them, the tokens before and after an edit stay the same, so deltas only
+ * contain the tokens that were actually affected.
+ */
+public record SemanticTokensHandler(Document document, List<Syntax.Statement> statements) {
+    private static final List<String> TOKEN_TYPES = List.of(
+            SemanticTokenTypes.Keyword,
+            SemanticTokenTypes.Namespace,
+            SemanticTokenTypes.Type,
+            SemanticTokenTypes.Property,
+            SemanticTokenTypes.EnumMember,
+            SemanticTokenTypes.Decorator,
+            SemanticTokenTypes.String,
+            SemanticTokenTypes.Number
+    );
+    private static final int KEYWORD = 0;
+    private static final int NAMESPACE = 1;
+    private static final int TYPE = 2;
+    private static final int PROPERTY = 3;
+    private static final int ENUM_MEMBER = 4;
+    private static final int DECORATOR = 5;
+    private static final int STRING = 6;
+    private static final int NUMBER = 7;
+
+    private static final List<String> TOKEN_MODIFIERS = List.of(SemanticTokenModifiers.Declaration);
+    private static final int NO_MODIFIERS = 0;
+    private static final int DECLARATION = 1;
+
+    private static final int INTS_PER_TOKEN = 5;
+    private static final AtomicLong RESULT_IDS = new AtomicLong();
+
+    /**
+     * The token types and modifiers the encoded tokens refer to.
+     */
+    public static final SemanticTokensLegend LEGEND = new SemanticTokensLegend(TOKEN_TYPES, TOKEN_MODIFIERS);
+
+    /**
+     * The encoded semantic tokens of a whole document.
+     *
+     * @param resultId Identifies this version of the tokens in delta requests
+     * @param data The tokens, encoded in the protocol's relative format
+     */
+    public record Encoded(String resultId, int[] data) {
+        /**
+         * @return These tokens as a full response
+         */
+        public SemanticTokens toSemanticTokens() {
+            return new SemanticTokens(resultId, asList(data));
+        }
+    }
+
+    /**
+     * The last two results sent for a document. Deltas are computed from the
+     * result the client says it has, which isn't always the latest one when
+     * requests overlap.
+     *
+     * @param latest The result that was sent last
+     * @param previous The result that was sent before it, if any
+     */
+    public record Sent(Encoded latest, Encoded previous) {
+        /**
+         * @param tokens The first result sent for a document
+         */
+        public Sent(Encoded tokens) {
+            this(tokens, null);
+        }
+
+        /**
+         * @param tokens The result that was just sent
+         * @return The results with {@code tokens} as the latest
+         */
+        public Sent with(Encoded tokens) {
+            if (tokens.resultId().equals(latest.resultId())) {
+                return this;
+            }
+            return new Sent(tokens, latest);
+        }
+
+        /**
+         * @param resultId The id of the result to find
+         * @return The sent result with the given id, or {@code null} if it
+         *  isn't one of the last two
+         */
+        public Encoded find(String resultId) {
+            if (latest.resultId().equals(resultId)) {
+                return latest;
+            } else if (previous != null && previous.resultId().equals(resultId)) {
+                return previous;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @param idlFile The file to get the semantic tokens of
+     * @return The semantic tokens of the latest parse of the file, which are
+     *  only computed once per parse
+     */
+    public static Encoded handle(IdlFile idlFile) {
+        return idlFile.computeIfAbsent(Encoded.class, parse -> {
+            var handler = new SemanticTokensHandler(idlFile.document(), parse.statements());
+            int[] data = handler.encode(0, Integer.MAX_VALUE);
+            return new Encoded(String.valueOf(RESULT_IDS.incrementAndGet()), data);
+        });
+    }
+
+    /**
+     * @param idlFile The file to get the semantic tokens of
+     * @param range The range to get the tokens in
+     * @return The semantic tokens of the statements in the given range
+     */
+    public static SemanticTokens handle(IdlFile idlFile, Range range) {
+        Document document = idlFile.document();
+        int start = document.indexOfPosition(range.getStart());
+        int end = document.indexOfPosition(range.getEnd());
+        if (start < 0) {
+            start = 0;
+        }
+        if (end < 0) {
+            end = Integer.MAX_VALUE;
+        }
+
+        var handler = new SemanticTokensHandler(document, idlFile.getParse().statements());
+        return new SemanticTokens(asList(handler.encode(start, end)));
+    }
+
+    /**
+     * Computes the edit that turns {@code previous} into {@code current}.
+     *
+     * <p>The ints the tokens have in common at the start and end are left
+     * out, so the edit only covers the tokens that changed.
+     *
+     * @param previous The tokens the client has
+     * @param current The latest tokens
+     * @return The delta between the tokens
+     */
+    public static SemanticTokensDelta delta(Encoded previous, Encoded current) {
+        int[] before = previous.data();
+        int[] after = current.data();
+        int shorter = Math.min(before.length, after.length);
+
+        int prefix = 0;
+        while (prefix < shorter && before[prefix] == after[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < shorter - prefix
+               && before[before.length - 1 - suffix] == after[after.length - 1 - suffix]) {
+            suffix++;
+        }
+        // Keep edits on token boundaries, which some clients expect
+        prefix -= prefix % INTS_PER_TOKEN;
+        suffix -= suffix % INTS_PER_TOKEN;
+
+        if (prefix == before.length && prefix == after.length) {
+            return new SemanticTokensDelta(List.of(), current.resultId());
+        }
+
+        int deleteCount = before.length - prefix - suffix;
+        int[] inserted = Arrays.copyOfRange(after, prefix, after.length - suffix);
+        SemanticTokensEdit edit = new SemanticTokensEdit(prefix, deleteCount, asList(inserted));
+        return new SemanticTokensDelta(List.of(edit), current.resultId());
+    }
+
+    /**
+     * @param start The index in the document to start at
+     * @param end The index in the document to stop at
+     * @return The encoded tokens of the statements between the given indices
+     */
+    int[] encode(int start, int end) {
+        Encoder encoder = new Encoder(document.snapshot());
+        int first = start == 0 ? 0 : StatementIntervals.firstStatementIndexFrom(statements, start);
+        for (int i = first; i < statements.size(); i++) {
+            Syntax.Statement statement = statements.get(i);
+            if (statement.start() > end) {
+                // Statements are in order, so the rest are after the range too
+                break;
+            }
+            addStatement(encoder, statement);
+        }
+        return encoder.build();
+    }
+
+    private static void addStatement(Encoder encoder, Syntax.Statement statement) {
+        switch (statement) {
+            case Syntax.Statement.Control control -> {
+                // Include the '$' in the key
+                encoder.add(control.start(), control.key().end(), KEYWORD, NO_MODIFIERS);
+                addNode(encoder, control.value());
+            }
+            case Syntax.Statement.Metadata metadata -> {
+                addKeyword(encoder, metadata, "metadata");
+                encoder.add(metadata.key(), PROPERTY, NO_MODIFIERS);
+                addNode(encoder, metadata.value());
+            }
+            case Syntax.Statement.Namespace namespace -> {
+                addKeyword(encoder, namespace, "namespace");
+                encoder.add(namespace.namespace(), NAMESPACE, NO_MODIFIERS);
+            }
+            case Syntax.Statement.Use use -> {
+                addKeyword(encoder, use, "use");
+                encoder.add(use.use(), TYPE, NO_MODIFIERS);
+            }
+            case Syntax.Statement.Apply apply -> {
+                addKeyword(encoder, apply, "apply");
+                encoder.add(apply.id(), TYPE, NO_MODIFIERS);
+            }
+            case Syntax.Statement.ShapeDef shapeDef -> {
+                encoder.add(shapeDef.shapeType(), KEYWORD, NO_MODIFIERS);
+                encoder.add(shapeDef.shapeName(), TYPE, DECLARATION);
+            }
+            case Syntax.Statement.ForResource forResource -> {
+                addKeyword(encoder, forResource, "for");
+                encoder.add(forResource.resource(), TYPE, NO_MODIFIERS);
+            }
+            case Syntax.Statement.Mixins mixins -> {
+                addKeyword(encoder, mixins, "with");
+                for (Syntax.Ident mixin : mixins.mixins()) {
+                    encoder.add(mixin, TYPE, NO_MODIFIERS);
+                }
+            }
+            case Syntax.Statement.TraitApplication trait -> {
+                // Include the '@' in the trait id
+                encoder.add(trait.start(), trait.id().end(), DECORATOR, NO_MODIFIERS);
+                addNode(encoder, trait.value());
+            }
+            case Syntax.Statement.MemberDef memberDef -> {
+                encoder.add(memberDef.name(), PROPERTY, DECLARATION);
+                encoder.add(memberDef.target(), TYPE, NO_MODIFIERS);
+            }
+            case Syntax.Statement.EnumMemberDef enumMemberDef -> {
+                encoder.add(enumMemberDef.name(), ENUM_MEMBER, DECLARATION);
+                addNode(encoder, enumMemberDef.value());
+            }
+            case Syntax.Statement.ElidedMemberDef elidedMemberDef ->
+                    // Include the '$' in the member name
+                    encoder.add(elidedMemberDef.start(), elidedMemberDef.name().end(), PROPERTY, DECLARATION);
+            case Syntax.Statement.InlineMemberDef inlineMemberDef ->
+                    encoder.add(inlineMemberDef.name(), PROPERTY, DECLARATION);
+            case Syntax.Statement.NodeMemberDef nodeMemberDef -> {
+                encoder.add(nodeMemberDef.name(), PROPERTY, NO_MODIFIERS);
+                addNode(encoder, nodeMemberDef.value());
+            }
+            // Blocks only contain other statements, and the rest don't have
+            // anything to highlight
+            default -> {
+            }
+        }
+    }
+
+    private static void addKeyword(Encoder encoder, Syntax.Statement statement, String keyword) {
+        encoder.add(statement.start(), statement.start() + keyword.length(), KEYWORD, NO_MODIFIERS);
+    }
+
+    private static void addNode(Encoder encoder, Syntax.Node node) {
+        switch (node) {
+            case Syntax.Node.Obj obj -> addNode(encoder, obj.kvps());
+            case Syntax.Node.Kvps kvps -> {
+                for (Syntax.Node.Kvp kvp : kvps.kvps()) {
+                    addNode(encoder, kvp);
+                }
+            }
+            case Syntax.Node.Kvp kvp -> {
+                encoder.add(kvp.key(), PROPERTY, NO_MODIFIERS);
+                addNode(encoder, kvp.value());
+            }
+            case Syntax.Node.Arr arr -> {
+                for (Syntax.Node element : arr.elements()) {
+                    addNode(encoder, element);
+                }
+            }
+            case Syntax.Ident ident -> {
+                String value = ident.stringValue();
+                // Other identifiers in nodes are shape ids
+                int type = value.equals("true") || value.equals("false") || value.equals("null") ? KEYWORD : TYPE;
+                encoder.addValue(ident, type);
+            }
+            case Syntax.Node.Str str -> encoder.addValue(str, STRING);
+            case Syntax.Node.Num num -> encoder.addValue(num, NUMBER);
+            case null, default -> {
+            }
+        }
+    }
+
+    // Wraps the encoded tokens so they're only boxed as they're serialized
+    private static List<Integer> asList(int[] data) {
+        return new AbstractList<>() {
+            @Override
+            public Integer get(int index) {
+                return data[index];
+            }
+
+            @Override
+            public int size() {
+                return data.length;
+            }
+        };
+    }
+
+    /**
+     * Encodes tokens, which must be added in the order they appear in the
+     * document, into the protocol's relative format.
+     */
+    private static final class Encoder {
+        // Line starts are found in the same text tokens are, rather than
+        // asking the document, which may have been edited since
+        private final CharSequence text;
+        private int[] data = new int[INTS_PER_TOKEN * 64];
+        private int size;
+        private int previousLine;
+        private int previousChar;
+        private int previousEnd;
+        // The line tokens are currently being added on, and where it and the next line start
+        private int line;
+        private int lineStart;
+        private int nextLineStart;
+
+        private Encoder(CharSequence text) {
+            this.text = text;
+            this.nextLineStart = nextLineStartOrEnd(0);
+        }
+
+        private void add(Syntax.Item item, int type, int modifiers) {
+            if (item != null) {
+                add(item.start(), item.end(), type, modifiers);
+            }
+        }
+
+        // The value of a trait application spans its parentheses, so they're
+        // trimmed off when the value is a single token
+        private void addValue(Syntax.Node node, int type) {
+            int start = node.start();
+            int end = Math.min(node.end(), text.length());
+            while (start < end && (text.charAt(start) == '(' || Character.isWhitespace(text.charAt(start)))) {
+                start++;
+            }
+            while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+                end--;
+            }
+            add(start, end, type, NO_MODIFIERS);
+        }
+
+        private void add(int start, int end, int type, int modifiers) {
+            if (start < previousEnd) {
+                // Overlaps the previous token, which clients don't support
+                return;
+            }
+            end = Math.min(end, text.length());
+
+            // Tokens can't span multiple lines, so split them up by line
+            while (start < end) {
+                moveToLineOf(start);
+                int segmentEnd = Math.min(end, nextLineStart);
+                while (segmentEnd > start && isLineBreak(text.charAt(segmentEnd - 1))) {
+                    segmentEnd--;
+                }
+                if (segmentEnd > start) {
+                    append(start - lineStart, segmentEnd - start, type, modifiers);
+                }
+                start = nextLineStart;
+            }
+            previousEnd = Math.max(previousEnd, end);
+        }
+
+        private void moveToLineOf(int index) {
+            if (index < nextLineStart) {
+                return;
+            }
+            // Tokens are usually on the same or the next few lines
+            while (index >= nextLineStart && nextLineStart < text.length()) {
+                line++;
+                lineStart = nextLineStart;
+                nextLineStart = nextLineStartOrEnd(lineStart);
+            }
+        }
+
+        private int nextLineStartOrEnd(int from) {
+            for (int i = from; i < text.length(); i++) {
+                if (text.charAt(i) == '\n') {
+                    return i + 1;
+                }
+            }
+            return text.length();
+        }
+
+        private void append(int character, int length, int type, int modifiers) {
+            if (size + INTS_PER_TOKEN > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            int deltaLine = line - previousLine;
+            data[size++] = deltaLine;
+            data[size++] = deltaLine == 0 ? character - previousChar : character;
+            data[size++] = length;
+            data[size++] = type;
+            data[size++] = modifiers;
+            previousLine = line;
+            previousChar = character;
+        }
+
+        private int[] build() {
+            return Arrays.copyOf(data, size);
+        }
+
+        private static boolean isLineBreak(char c) {
+            return c == '\n' || c == '\r';
+        }
+    }
+}
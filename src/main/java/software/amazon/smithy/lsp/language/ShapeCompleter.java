@@ -8,14 +8,13 @@ package software.amazon.smithy.lsp.language;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
-import java.util.stream.Stream;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionItemKind;
 import org.eclipse.lsp4j.CompletionItemLabelDetails;
+import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextEdit;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
-import software.amazon.smithy.lsp.document.DocumentNamespace;
 import software.amazon.smithy.lsp.protocol.LspAdapter;
 import software.amazon.smithy.lsp.syntax.Syntax;
 import software.amazon.smithy.model.Model;
@@ -25,21 +24,26 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ShapeVisitor;
 import software.amazon.smithy.model.shapes.StructureShape;
-import software.amazon.smithy.model.traits.ErrorTrait;
-import software.amazon.smithy.model.traits.MixinTrait;
 import software.amazon.smithy.model.traits.PrivateTrait;
 import software.amazon.smithy.model.traits.RequiredTrait;
-import software.amazon.smithy.model.traits.TraitDefinition;
 
 /**
  * Maps {@link CompletionCandidates.Shapes} to {@link CompletionItem}s.
  *
  * @param idlPosition The position of the cursor in the IDL file.
- * @param model The model to get shape completions from.
+ * @param index The index of the model to get shape completions from.
  * @param context The context for creating completions.
  */
-record ShapeCompleter(IdlPosition idlPosition, Model model, CompleterContext context) {
-    List<CompletionItem> getCompletionItems(CompletionCandidates.Shapes candidates) {
+record ShapeCompleter(IdlPosition idlPosition, ShapeCompletionIndex index, CompleterContext context) {
+    /**
+     * The maximum number of shapes to complete. If there are more matches, the
+     * completion list is marked incomplete, so the client asks again as more
+     * of the token is typed.
+     */
+    static final int MAX_SHAPE_COMPLETIONS = 1000;
+
+    CompletionList getCompletionItems(CompletionCandidates.Shapes candidates) {
+        Model model = index.model();
         AddItems addItems;
         if (idlPosition instanceof IdlPosition.TraitId) {
             addItems = new AddDeepTraitBodyItem(model);
@@ -60,51 +64,35 @@ record ShapeCompleter(IdlPosition idlPosition, Model model, CompleterContext con
             modifyItems = new AddImportTextEdits(idlPosition.view().parseResult());
         }
 
-        Matcher matcher = new Matcher(context.matchToken(), toLabel, idlPosition.view().parseResult().namespace());
+        Matcher matcher = new Matcher(candidates, idlPosition.view().parseResult());
         Mapper mapper = new Mapper(context.insertRange(), toLabel, addItems, modifyItems);
-        return streamCandidates(candidates)
-                .filter(matcher::test)
-                .mapMulti(mapper::accept)
+        var matches = index.search(
+                candidates, shouldMatchFullId, context.matchToken(), matcher::test, MAX_SHAPE_COMPLETIONS);
+        List<CompletionItem> items = matches.shapes().stream()
+                .<CompletionItem>mapMulti(mapper::accept)
                 .toList();
-    }
-
-    private Stream<? extends Shape> streamCandidates(CompletionCandidates.Shapes candidates) {
-        return switch (candidates) {
-            case ANY_SHAPE -> model.shapes();
-            case STRING_SHAPES -> model.getStringShapes().stream();
-            case RESOURCE_SHAPES -> model.getResourceShapes().stream();
-            case OPERATION_SHAPES -> model.getOperationShapes().stream();
-            case ERROR_SHAPES -> model.getShapesWithTrait(ErrorTrait.class).stream();
-            case TRAITS -> model.getShapesWithTrait(TraitDefinition.class).stream();
-            case MIXINS -> model.getShapesWithTrait(MixinTrait.class).stream();
-            case MEMBER_TARGETABLE -> model.shapes()
-                    .filter(shape -> !shape.isMemberShape()
-                                     && !shape.hasTrait(TraitDefinition.ID)
-                                     && !shape.hasTrait(MixinTrait.ID));
-            case USE_TARGET -> model.shapes().filter(this::shouldImport);
-        };
-    }
-
-    private boolean shouldImport(Shape shape) {
-        return !shape.isMemberShape()
-               && !shape.getId().getNamespace().equals(idlPosition.view().parseResult().namespace().namespace())
-               && !idlPosition.view().parseResult().imports().imports().contains(shape.getId().toString())
-               && !shape.hasTrait(PrivateTrait.ID);
+        return new CompletionList(matches.isIncomplete(), items);
     }
 
     /**
-     * Filters shape candidates based on whether they are accessible and match
-     * the match token.
+     * Filters shape candidates that match the token being typed based on
+     * whether they are accessible from the current Smithy file.
      *
-     * @param matchToken The token to match shapes against, i.e. the token
-     *                   being typed.
-     * @param toLabel The way to get the label to match against from a shape.
-     * @param namespace The namespace of the current Smithy file.
+     * @param candidates The kind of shapes being completed.
+     * @param syntaxInfo Syntax info of the current Smithy file.
      */
-    private record Matcher(String matchToken, ToLabel toLabel, DocumentNamespace namespace) {
+    private record Matcher(CompletionCandidates.Shapes candidates, Syntax.IdlParseResult syntaxInfo) {
         boolean test(Shape shape) {
-            return toLabel.toLabel(shape).toLowerCase().startsWith(matchToken)
-                   && (shape.getId().getNamespace().equals(namespace.namespace()) || !shape.hasTrait(PrivateTrait.ID));
+            if (candidates == CompletionCandidates.Shapes.USE_TARGET && !shouldImport(shape)) {
+                return false;
+            }
+            return shape.getId().getNamespace().equals(syntaxInfo.namespace().namespace())
+                   || !shape.hasTrait(PrivateTrait.ID);
+        }
+
+        private boolean shouldImport(Shape shape) {
+            return !shape.getId().getNamespace().equals(syntaxInfo.namespace().namespace())
+                   && !syntaxInfo.imports().imports().contains(shape.getId().toString());
         }
     }
 
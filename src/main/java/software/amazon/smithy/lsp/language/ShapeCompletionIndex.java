@@ -0,0 +1,151 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.language;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import software.amazon.smithy.lsp.project.Project;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.traits.ErrorTrait;
+import software.amazon.smithy.model.traits.MixinTrait;
+import software.amazon.smithy.model.traits.PrivateTrait;
+import software.amazon.smithy.model.traits.TraitDefinition;
+
+/**
+ * An index of the shapes in a model that can be completed, by each kind of
+ * {@link CompletionCandidates.Shapes}, sorted by their name or their id so
+ * they can be searched for by prefix.
+ *
+ * <p>Each kind of candidate is only indexed the first time it's needed, and
+ * the index is shared by all completion requests for the same version of a
+ * project. Searches take time proportional to the number of matches, rather
+ * than the number of shapes in the model.
+ */
+final class ShapeCompletionIndex {
+    private final Model model;
+    private final Map<Key, Entry[]> entries = new ConcurrentHashMap<>();
+
+    private ShapeCompletionIndex(Model model) {
+        this.model = model;
+    }
+
+    /**
+     * @param snapshot The snapshot of the project to get the index of
+     * @return The index of the model in {@code snapshot}, or {@code null} if
+     *  there is no model
+     */
+    static ShapeCompletionIndex of(Project.Snapshot snapshot) {
+        if (snapshot.modelResult().getResult().isEmpty()) {
+            return null;
+        }
+        return snapshot.computeIfAbsent(ShapeCompletionIndex.class,
+                s -> new ShapeCompletionIndex(s.modelResult().getResult().get()));
+    }
+
+    /**
+     * @return The model this is an index of
+     */
+    Model model() {
+        return model;
+    }
+
+    /**
+     * Searches for shapes whose name or id starts with {@code prefix}.
+     *
+     * <p>Matches are returned in order of their lowercased label, so exact
+     * matches come first, followed by shorter matches.
+     *
+     * @param candidates The kind of shapes to search
+     * @param matchFullId Whether to match against the shape's full id rather
+     *                    than just its name
+     * @param prefix The lowercase prefix to match
+     * @param filter Additional filter that matching shapes must pass
+     * @param limit The maximum number of matches to return
+     * @return The matching shapes
+     */
+    Matches search(
+            CompletionCandidates.Shapes candidates,
+            boolean matchFullId,
+            String prefix,
+            Predicate<Shape> filter,
+            int limit
+    ) {
+        Entry[] sorted = entries.computeIfAbsent(new Key(candidates, matchFullId), this::index);
+
+        List<Shape> shapes = new ArrayList<>();
+        for (int i = lowerBound(sorted, prefix); i < sorted.length && sorted[i].label.startsWith(prefix); i++) {
+            Shape shape = sorted[i].shape;
+            if (!filter.test(shape)) {
+                continue;
+            }
+            if (shapes.size() == limit) {
+                return new Matches(shapes, true);
+            }
+            shapes.add(shape);
+        }
+        return new Matches(shapes, false);
+    }
+
+    /**
+     * @param shapes The matching shapes
+     * @param isIncomplete Whether there were more matches than were returned
+     */
+    record Matches(List<Shape> shapes, boolean isIncomplete) {}
+
+    private record Key(CompletionCandidates.Shapes candidates, boolean matchFullId) {}
+
+    private record Entry(String label, Shape shape) {}
+
+    private Entry[] index(Key key) {
+        Function<Shape, String> toLabel = key.matchFullId
+                ? shape -> shape.getId().toString()
+                : shape -> shape.getId().getName();
+        return streamCandidates(key.candidates)
+                .map(shape -> new Entry(toLabel.apply(shape).toLowerCase(), shape))
+                .sorted(Comparator.comparing(Entry::label).thenComparing(entry -> entry.shape.getId()))
+                .toArray(Entry[]::new);
+    }
+
+    private Stream<? extends Shape> streamCandidates(CompletionCandidates.Shapes candidates) {
+        return switch (candidates) {
+            case ANY_SHAPE -> model.shapes();
+            case STRING_SHAPES -> model.getStringShapes().stream();
+            case RESOURCE_SHAPES -> model.getResourceShapes().stream();
+            case OPERATION_SHAPES -> model.getOperationShapes().stream();
+            case ERROR_SHAPES -> model.getShapesWithTrait(ErrorTrait.class).stream();
+            case TRAITS -> model.getShapesWithTrait(TraitDefinition.class).stream();
+            case MIXINS -> model.getShapesWithTrait(MixinTrait.class).stream();
+            case MEMBER_TARGETABLE -> model.shapes()
+                    .filter(shape -> !shape.isMemberShape()
+                                     && !shape.hasTrait(TraitDefinition.ID)
+                                     && !shape.hasTrait(MixinTrait.ID));
+            // Whether a shape needs to be imported depends on the file, so that's checked when searching
+            case USE_TARGET -> model.shapes()
+                    .filter(shape -> !shape.isMemberShape() && !shape.hasTrait(PrivateTrait.ID));
+        };
+    }
+
+    private static int lowerBound(Entry[] sorted, String prefix) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].label.compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -9,18 +9,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import software.amazon.smithy.lsp.document.DocumentId;
-import software.amazon.smithy.lsp.document.DocumentImports;
 import software.amazon.smithy.lsp.project.SmithyFile;
 import software.amazon.smithy.lsp.syntax.NodeCursor;
 import software.amazon.smithy.lsp.syntax.StatementView;
 import software.amazon.smithy.lsp.syntax.Syntax;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.shapes.MapShape;
 import software.amazon.smithy.model.shapes.ResourceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
-import software.amazon.smithy.model.shapes.ShapeIdSyntaxException;
 import software.amazon.smithy.model.traits.IdRefTrait;
 
 /**
@@ -45,74 +42,19 @@ final class ShapeSearch {
      * @return The shape, if found.
      */
     static Optional<Shape> findShape(Syntax.IdlParseResult parseResult, String nameOrId, Model model) {
-        return switch (nameOrId) {
-            case null -> Optional.empty();
-
-            case String s when s.isEmpty() -> Optional.empty();
-
-            case String s when s.contains("#") -> tryFrom(s, model);
-
-            default -> fromImports(parseResult.imports(), nameOrId, model)
-                    .or(() -> tryFromRelative(parseResult.namespace().namespace(), nameOrId, model))
-                    .or(() -> tryFromRelative(Prelude.NAMESPACE, nameOrId, model));
-        };
-    }
-
-    private static Optional<Shape> fromImports(DocumentImports imports, String nameOrId, Model model) {
-        if (imports.imports().isEmpty()) {
+        if (nameOrId == null) {
             return Optional.empty();
         }
 
-        if (nameOrId.contains("$")) {
-            // Relative member id, so it could be a member of an imported shape
-            String[] split = nameOrId.split("\\$");
-            String containerName = split[0];
-            String memberName = split[1];
-            String matchString = "#" + containerName;
-            for (String fileImport : imports.imports()) {
-                if (fileImport.endsWith(matchString)) {
-                    return tryWithMember(fileImport, memberName, model);
-                }
-            }
-        } else {
-            String matchString = "#" + nameOrId;
-            for (String fileImport : imports.imports()) {
-                if (fileImport.endsWith(matchString)) {
-                    return tryFrom(fileImport, model);
-                }
+        for (ShapeId candidate : parseResult.shapeIds().candidates(nameOrId)) {
+            Optional<Shape> shape = model.getShape(candidate);
+            if (shape.isPresent()) {
+                return shape;
             }
         }
-
         return Optional.empty();
     }
 
-    private static Optional<Shape> tryFrom(String id, Model model) {
-        try {
-            ShapeId shapeId = ShapeId.from(id);
-            return model.getShape(shapeId);
-        } catch (ShapeIdSyntaxException e) {
-            return Optional.empty();
-        }
-    }
-
-    private static Optional<Shape> tryWithMember(String rootId, String memberName, Model model) {
-        try {
-            ShapeId shapeId = ShapeId.from(rootId).withMember(memberName);
-            return model.getShape(shapeId);
-        } catch (ShapeIdSyntaxException e) {
-            return Optional.empty();
-        }
-    }
-
-    private static Optional<Shape> tryFromRelative(String namespace, String name, Model model) {
-        try {
-            ShapeId shapeId = ShapeId.fromRelative(namespace, name);
-            return model.getShape(shapeId);
-        } catch (ShapeIdSyntaxException e) {
-            return Optional.empty();
-        }
-    }
-
     /**
      * Attempts to find the shape referenced by {@code id} at {@code idlPosition} in {@code model}.
      *
@@ -0,0 +1,48 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.project;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A fast, non-cryptographic hash of a file's text, used to tell whether the
+ * file changed since it was last loaded without keeping a copy of the text
+ * that was loaded.
+ */
+final class ContentHash {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ContentHash() {
+    }
+
+    /**
+     * @param text The text to hash
+     * @return The 64-bit FNV-1a hash of {@code text}'s chars
+     */
+    static long of(CharSequence text) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * @param buildFiles The build files to hash
+     * @return The hash of each build file's current text, by path
+     */
+    static Map<String, Long> of(BuildFiles buildFiles) {
+        Map<String, Long> hashes = new HashMap<>();
+        for (BuildFile buildFile : buildFiles) {
+            hashes.put(buildFile.path(), of(buildFile.document().borrowText()));
+        }
+        return hashes;
+    }
+}
@@ -5,26 +5,107 @@
 
 package software.amazon.smithy.lsp.project;
 
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.lsp.syntax.ReferenceIndex;
 import software.amazon.smithy.lsp.syntax.Syntax;
 
 public final class IdlFile extends SmithyFile {
     private final ReentrantLock idlParseLock = new ReentrantLock();
+    // Held for the whole of a reparse, so only one reparse builds on the
+    // latest parse at a time
+    private final ReentrantLock reparseLock = new ReentrantLock();
     private Syntax.IdlParseResult parseResult;
+    // The version of the document that parseResult was computed from
+    private int parsedVersion;
+    // Used instead of parseResult and referenceIndex for lazy files, so they
+    // can be dropped along with the document they were computed from
+    private SoftReference<LazyParse> lazyParse;
+    // Keeps lazyParse from being dropped while the file is pinned
+    private LazyParse pinnedParse;
+    // Computed on demand from the latest parse
+    private ReferenceIndex referenceIndex;
+    // Values derived from derivedParse, dropped when the file is reparsed
+    private Syntax.IdlParseResult derivedParse;
+    private final Map<Class<?>, Object> derived = new HashMap<>();
 
     IdlFile(String path, Document document, Syntax.IdlParseResult parseResult) {
         super(path, document);
         this.parseResult = parseResult;
+        this.parsedVersion = document.version();
     }
 
+    IdlFile(String path, Supplier<String> loader) {
+        super(path, loader);
+        this.lazyParse = new SoftReference<>(null);
+    }
+
+    /**
+     * Reparses the underlying {@link #document()}, only reparsing the parts
+     * of the document that changed since the last parse if possible.
+     */
     @Override
     public void reparse() {
-        Syntax.IdlParseResult parse = Syntax.parseIdl(document());
+        if (isLazy()) {
+            // Lazy files are parsed in full the next time the parse is needed
+            idlParseLock.lock();
+            try {
+                this.lazyParse = new SoftReference<>(null);
+                this.pinnedParse = null;
+            } finally {
+                idlParseLock.unlock();
+            }
+            return;
+        }
+
+        reparseLock.lock();
+        try {
+            Document document = document();
+            int version = document.version();
+
+            Syntax.IdlParseResult previous;
+            Document.Change change;
+            idlParseLock.lock();
+            try {
+                previous = parseResult;
+                change = document.changeSince(parsedVersion);
+            } finally {
+                idlParseLock.unlock();
+            }
+
+            // Parsing happens outside of idlParseLock so readers of the latest
+            // parse aren't blocked by it
+            Syntax.IdlParseResult parse;
+            if (change == null) {
+                parse = Syntax.parseIdl(document);
+            } else {
+                parse = Syntax.parseIdl(document, previous, change);
+            }
 
+            idlParseLock.lock();
+            try {
+                this.parseResult = parse;
+                this.parsedVersion = version;
+            } finally {
+                idlParseLock.unlock();
+            }
+        } finally {
+            reparseLock.unlock();
+        }
+    }
+
+    @Override
+    public void unpin() {
+        super.unpin();
         idlParseLock.lock();
         try {
-            this.parseResult = parse;
+            this.pinnedParse = null;
         } finally {
             idlParseLock.unlock();
         }
@@ -36,6 +117,10 @@ public final class IdlFile extends SmithyFile {
      * immutable so just call this once and use the returned value.
      */
     public Syntax.IdlParseResult getParse() {
+        if (isLazy()) {
+            return getLazyParse().parse();
+        }
+
         idlParseLock.lock();
         try {
             return parseResult;
@@ -43,4 +128,143 @@ public final class IdlFile extends SmithyFile {
             idlParseLock.unlock();
         }
     }
+
+    /**
+     * @return The {@link ReferenceIndex} of the latest computed parse of this
+     *  Smithy file, computed on demand if the file was reparsed since the last
+     *  call
+     */
+    public ReferenceIndex getReferenceIndex() {
+        if (isLazy()) {
+            return getLazyParse().referenceIndex();
+        }
+
+        Syntax.IdlParseResult parse = getParse();
+        idlParseLock.lock();
+        try {
+            if (referenceIndex == null || referenceIndex.parseResult() != parse) {
+                referenceIndex = ReferenceIndex.of(parse);
+            }
+            return referenceIndex;
+        } finally {
+            idlParseLock.unlock();
+        }
+    }
+
+    /**
+     * Gets a value derived from the latest computed parse of this Smithy file,
+     * like its folding ranges, computing it the first time it's requested for
+     * that parse.
+     *
+     * <p>For lazy files, derived values are kept along with the parse, so
+     * they're dropped together.
+     *
+     * @param type The type of the value, which identifies it
+     * @param compute The function to compute the value from the parse
+     * @param <T> The type of the value
+     * @return The derived value
+     */
+    public <T> T computeIfAbsent(Class<T> type, Function<Syntax.IdlParseResult, ? extends T> compute) {
+        if (isLazy()) {
+            return getLazyParse().computeIfAbsent(type, compute);
+        }
+
+        Syntax.IdlParseResult parse = getParse();
+
+        idlParseLock.lock();
+        try {
+            if (derivedParse == parse) {
+                Object value = derived.get(type);
+                if (value != null) {
+                    return type.cast(value);
+                }
+            }
+        } finally {
+            idlParseLock.unlock();
+        }
+
+        // Computed outside the lock so it doesn't block getting the parse.
+        // Concurrent requests may compute the same value, but only the first
+        // one stored is kept.
+        T computed = compute.apply(parse);
+
+        idlParseLock.lock();
+        try {
+            if (derivedParse != parse) {
+                if (parseResult != parse) {
+                    // The file was reparsed in the meantime, so the value is stale
+                    return computed;
+                }
+                derived.clear();
+                derivedParse = parse;
+            }
+            Object value = derived.putIfAbsent(type, computed);
+            return value == null ? computed : type.cast(value);
+        } finally {
+            idlParseLock.unlock();
+        }
+    }
+
+    private LazyParse getLazyParse() {
+        Document document = document();
+        boolean pinned = isPinned();
+        idlParseLock.lock();
+        try {
+            LazyParse cached = lazyParse.get();
+            // The document may have been dropped and loaded again since the last parse
+            if (cached == null || cached.document() != document) {
+                cached = new LazyParse(document, Syntax.parseIdl(document));
+                lazyParse = new SoftReference<>(cached);
+            }
+            pinnedParse = pinned ? cached : null;
+            return cached;
+        } finally {
+            idlParseLock.unlock();
+        }
+    }
+
+    private static final class LazyParse {
+        private final Document document;
+        private final Syntax.IdlParseResult parse;
+        private volatile ReferenceIndex referenceIndex;
+        private final Map<Class<?>, Object> derived = new ConcurrentHashMap<>();
+
+        private LazyParse(Document document, Syntax.IdlParseResult parse) {
+            this.document = document;
+            this.parse = parse;
+        }
+
+        private Document document() {
+            return document;
+        }
+
+        private Syntax.IdlParseResult parse() {
+            return parse;
+        }
+
+        private ReferenceIndex referenceIndex() {
+            ReferenceIndex index = referenceIndex;
+            if (index == null) {
+                // May be computed more than once if there are concurrent
+                // requests, but the result is the same
+                index = ReferenceIndex.of(parse);
+                referenceIndex = index;
+            }
+            return index;
+        }
+
+        private <T> T computeIfAbsent(Class<T> type, Function<Syntax.IdlParseResult, ? extends T> compute) {
+            Object value = derived.get(type);
+            if (value == null) {
+                // Computed outside of the map so it doesn't block other values
+                // from being computed. Only the first one stored is kept.
+                T computed = compute.apply(parse);
+                value = derived.putIfAbsent(type, computed);
+                if (value == null) {
+                    return computed;
+                }
+            }
+            return type.cast(value);
+        }
+    }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.project;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+import software.amazon.smithy.build.model.MavenRepository;
+
+/**
+ * A persistent cache of the artifacts resolved for a set of Maven repositories
+ * and dependencies, so they don't have to be resolved again every time a
+ * project is loaded.
+ *
+ * <p>Each entry is stored in its own file, named by a hash of the repositories
+ * and dependencies that were resolved, which contains the paths of the resolved
+ * artifacts. An entry is only used if all of its paths still exist.
+ *
+ * <p>Only resolutions of fixed versions are cached. Version ranges and
+ * snapshots can resolve to different artifacts over time, so they're
+ * resolved every time.
+ */
+public final class MavenResolutionCache {
+    /**
+     * A cache that doesn't store anything.
+     */
+    public static final MavenResolutionCache NONE = new MavenResolutionCache(null);
+
+    private static final Logger LOGGER = Logger.getLogger(MavenResolutionCache.class.getName());
+
+    private final Path directory;
+
+    /**
+     * @param directory The directory to store entries in, or {@code null} to
+     *                  not store anything
+     */
+    MavenResolutionCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return The cache stored in the user's home directory
+     */
+    public static MavenResolutionCache createDefault() {
+        return new MavenResolutionCache(Path.of(System.getProperty("user.home"), ".smithy", "lsp", "maven"));
+    }
+
+    /**
+     * @param repositories The repositories dependencies are resolved from
+     * @param dependencies The coordinates of the dependencies to resolve
+     * @return The key of the cache entry for resolving {@code dependencies}
+     *  from {@code repositories}, or {@code null} if the resolution can't be
+     *  cached because some dependency doesn't have a fixed version
+     */
+    static String key(Collection<MavenRepository> repositories, Collection<String> dependencies) {
+        for (String dependency : dependencies) {
+            if (!isFixedVersion(dependency)) {
+                return null;
+            }
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (MavenRepository repository : repositories) {
+            builder.append("repository:").append(repository.getUrl())
+                    .append(' ').append(repository.getHttpCredentials().orElse(""))
+                    .append('\n');
+        }
+        for (String dependency : dependencies) {
+            builder.append("dependency:").append(dependency).append('\n');
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(builder.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The version is the last part of the coordinates, which are
+    // group:artifact[:extension[:classifier]]:version
+    private static boolean isFixedVersion(String coordinates) {
+        String version = coordinates.substring(coordinates.lastIndexOf(':') + 1);
+        if (version.isEmpty()
+            || version.endsWith("-SNAPSHOT")
+            || version.equals("LATEST")
+            || version.equals("RELEASE")) {
+            return false;
+        }
+        for (int i = 0; i < version.length(); i++) {
+            switch (version.charAt(i)) {
+                case '[', ']', '(', ')', ',', '+', '*' -> {
+                    return false;
+                }
+                default -> {
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param key The key of the entry to get, possibly {@code null}
+     * @return The cached artifact paths, or {@code null} if there's no entry
+     *  for {@code key}, or any of its artifacts no longer exist
+     */
+    Set<Path> get(String key) {
+        if (directory == null || key == null) {
+            return null;
+        }
+
+        Path entry = directory.resolve(key);
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(entry, StandardCharsets.UTF_8);
+            Set<Path> paths = new HashSet<>(lines.size());
+            for (String line : lines) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                Path path = Path.of(line);
+                if (!Files.exists(path)) {
+                    return null;
+                }
+                paths.add(path);
+            }
+            return paths;
+        } catch (IOException | InvalidPathException e) {
+            LOGGER.warning("Failed to read Maven resolution cache entry " + entry + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the resolved artifact paths for {@code key}, replacing any
+     * existing entry. Failing to write the entry isn't an error, it just
+     * means dependencies will be resolved again next time.
+     *
+     * @param key The key of the entry to store, or {@code null} to not store it
+     * @param paths The resolved artifact paths
+     */
+    void put(String key, Set<Path> paths) {
+        if (directory == null || key == null) {
+            return;
+        }
+
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            // Write to a separate file first, so concurrent readers never see a partial entry
+            temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, paths.stream().map(Path::toString).toList(), StandardCharsets.UTF_8);
+            Files.move(temp, directory.resolve(key),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warning("Failed to write Maven resolution cache entry " + key + ": " + e);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Nothing else to do
+                }
+            }
+        }
+    }
+}
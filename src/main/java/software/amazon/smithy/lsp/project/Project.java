@@ -14,9 +14,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import org.eclipse.lsp4j.jsonrpc.CancelChecker;
 import software.amazon.smithy.lsp.document.Document;
 import software.amazon.smithy.lsp.protocol.LspAdapter;
 import software.amazon.smithy.model.Model;
@@ -36,19 +41,29 @@ import software.amazon.smithy.utils.IoUtils;
 /**
  * A Smithy project open on the client. It keeps track of its Smithy files and
  * dependencies, and the currently loaded model.
+ *
+ * <p>The Smithy files and model are published together as an immutable
+ * {@link Snapshot}, which is replaced all at once when the project is
+ * updated. Readers don't need to lock, and see either the state before
+ * an update or after it, never a mix of both.
  */
 public final class Project {
     private static final Logger LOGGER = Logger.getLogger(Project.class.getName());
+    private static final CancelChecker NOT_CANCELLABLE = () -> {
+    };
 
     private final Path root;
     private final ProjectConfig config;
     private final BuildFiles buildFiles;
-    private final Map<String, SmithyFile> smithyFiles;
     private final Supplier<ModelAssembler> assemblerFactory;
     private final Type type;
-    private volatile ValidatedResult<Model> modelResult;
-    private volatile RebuildIndex rebuildIndex;
+    // Serializes updates, so each one builds on the snapshot the previous one published
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
     private volatile List<ValidationEvent> configEvents;
+    // The hashes of the build files' text when this project's config was loaded.
+    // Guarded by this.
+    private Map<String, Long> buildFileHashes;
 
     Project(
             Path root,
@@ -60,16 +75,37 @@ public final class Project {
             ValidatedResult<Model> modelResult,
             RebuildIndex rebuildIndex,
             List<ValidationEvent> configEvents
+    ) {
+        this(root, config, buildFiles, smithyFiles, assemblerFactory, type, modelResult, rebuildIndex, configEvents,
+                Map.of());
+    }
+
+    /**
+     * @param assembledHashes The {@link ContentHash} of the text each Smithy
+     *  file was assembled with, by path. Files without a hash are assumed to
+     *  have changed since the model was assembled.
+     */
+    Project(
+            Path root,
+            ProjectConfig config,
+            BuildFiles buildFiles,
+            Map<String, SmithyFile> smithyFiles,
+            Supplier<ModelAssembler> assemblerFactory,
+            Type type,
+            ValidatedResult<Model> modelResult,
+            RebuildIndex rebuildIndex,
+            List<ValidationEvent> configEvents,
+            Map<String, Long> assembledHashes
     ) {
         this.root = root;
         this.config = config;
         this.buildFiles = buildFiles;
-        this.smithyFiles = smithyFiles;
         this.assemblerFactory = assemblerFactory;
         this.type = type;
-        this.modelResult = modelResult;
-        this.rebuildIndex = rebuildIndex;
+        this.snapshot = new Snapshot(
+                modelResult, Map.copyOf(smithyFiles), rebuildIndex, Map.copyOf(assembledHashes), true);
         this.configEvents = configEvents;
+        this.buildFileHashes = ContentHash.of(buildFiles);
     }
 
     /**
@@ -102,6 +138,98 @@ public final class Project {
         EMPTY;
     }
 
+    /**
+     * An immutable view of a project's Smithy files and model at a point in time.
+     *
+     * <p>Handlers that read the project more than once while computing a
+     * response should take a single snapshot and read from it, so they see
+     * a consistent model and set of files even if the project is rebuilt
+     * in the meantime.
+     */
+    public static final class Snapshot {
+        private final ValidatedResult<Model> modelResult;
+        private final Map<String, SmithyFile> smithyFiles;
+        private final RebuildIndex rebuildIndex;
+        // The hash of the text each file was assembled with, to skip
+        // updates that wouldn't change anything
+        private final Map<String, Long> assembledHashes;
+        private final boolean validated;
+        private final Map<Class<?>, Object> derived = new ConcurrentHashMap<>();
+
+        private Snapshot(
+                ValidatedResult<Model> modelResult,
+                Map<String, SmithyFile> smithyFiles,
+                RebuildIndex rebuildIndex,
+                Map<String, Long> assembledHashes,
+                boolean validated
+        ) {
+            this.modelResult = modelResult;
+            this.smithyFiles = smithyFiles;
+            this.rebuildIndex = rebuildIndex;
+            this.assembledHashes = assembledHashes;
+            this.validated = validated;
+        }
+
+        /**
+         * @return The result of loading the project's model
+         */
+        public ValidatedResult<Model> modelResult() {
+            return modelResult;
+        }
+
+        /**
+         * @return The paths of all Smithy files loaded in the project
+         */
+        public Set<String> getAllSmithyFilePaths() {
+            return smithyFiles.keySet();
+        }
+
+        /**
+         * @return All the Smithy files loaded in the project
+         */
+        public Collection<SmithyFile> getAllSmithyFiles() {
+            return smithyFiles.values();
+        }
+
+        /**
+         * @param path The path of the Smithy file to get
+         * @return The Smithy file at {@code path}, or {@code null} if it
+         *  isn't in the project
+         */
+        public SmithyFile getSmithyFile(String path) {
+            return smithyFiles.get(path);
+        }
+
+        /**
+         * @param shape The shape to get the definition file of
+         * @return The file the shape is defined in, or {@code null} if the file
+         *  isn't in the project
+         */
+        public SmithyFile getDefinitionFile(Shape shape) {
+            return smithyFiles.get(shape.getSourceLocation().getFilename());
+        }
+
+        /**
+         * Gets a value derived from this snapshot, like an index of its model,
+         * computing it the first time it's requested.
+         *
+         * <p>Derived values are dropped along with the snapshot, so they are
+         * computed at most once per version of the project.
+         *
+         * @param type The type of the value, which identifies it
+         * @param compute The function to compute the value from this snapshot
+         * @param <T> The type of the value
+         * @return The derived value
+         */
+        public <T> T computeIfAbsent(Class<T> type, Function<Snapshot, ? extends T> compute) {
+            return type.cast(derived.computeIfAbsent(type, k -> compute.apply(this)));
+        }
+
+        RebuildIndex rebuildIndex() {
+            return rebuildIndex;
+        }
+    }
+
     /**
      * Create an empty project with no Smithy files, dependencies, or loaded model.
      *
@@ -159,11 +287,18 @@ public final class Project {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * @return The current snapshot of this project's Smithy files and model
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
     /**
      * @return The paths of all Smithy files loaded in the project.
      */
     public Set<String> getAllSmithyFilePaths() {
-        return this.smithyFiles.keySet();
+        return snapshot.getAllSmithyFilePaths();
     }
 
     public Set<String> getAllBuildFilePaths() {
@@ -174,7 +309,7 @@ public final class Project {
      * @return All the Smithy files loaded in the project.
      */
     public Collection<SmithyFile> getAllSmithyFiles() {
-        return this.smithyFiles.values();
+        return snapshot.getAllSmithyFiles();
     }
 
     public Type type() {
@@ -185,7 +320,7 @@ public final class Project {
      * @return The latest result of loading this project
      */
     public ValidatedResult<Model> modelResult() {
-        return modelResult;
+        return snapshot.modelResult();
     }
 
     /**
@@ -195,7 +330,7 @@ public final class Project {
      */
     public ProjectFile getProjectFile(String uri) {
         String path = LspAdapter.toPath(uri);
-        SmithyFile smithyFile = smithyFiles.get(path);
+        SmithyFile smithyFile = snapshot.getSmithyFile(path);
         if (smithyFile != null) {
             return smithyFile;
         }
@@ -209,20 +344,53 @@ public final class Project {
      *  isn't in this project
      */
     public SmithyFile getDefinitionFile(Shape shape) {
-        return smithyFiles.get(shape.getSourceLocation().getFilename());
+        return snapshot.getDefinitionFile(shape);
     }
 
     public synchronized void validateConfig() {
         this.configEvents = ProjectConfigLoader.validateBuildFiles(buildFiles);
     }
 
+    /**
+     * Updates this project after its build files changed, if that can be
+     * done without reloading it.
+     *
+     * <p>That's the case if the build files' text is the same as when this
+     * project was loaded, like when a file is saved without being edited, or
+     * if only settings that don't affect how the project is loaded changed,
+     * like projections or plugins. Then only the build files are validated
+     * again, without resolving dependencies or reassembling the model.
+     *
+     * @return Whether this project is up to date with its build files, or
+     *  {@code false} if it has to be reloaded
+     */
+    public synchronized boolean updateBuildFiles() {
+        if (type != Type.NORMAL) {
+            return false;
+        }
+
+        Map<String, Long> currentHashes = ContentHash.of(buildFiles);
+        if (currentHashes.equals(buildFileHashes)) {
+            return true;
+        }
+
+        ProjectConfigLoader.Settings settings = ProjectConfigLoader.loadSettings(buildFiles);
+        if (settings == null || !config.isLoadedFrom(settings)) {
+            return false;
+        }
+
+        buildFileHashes = currentHashes;
+        validateConfig();
+        return true;
+    }
+
     /**
      * Update this project's model without running validation.
      *
      * @param uri The URI of the Smithy file to update
      */
     public void updateModelWithoutValidating(String uri) {
-        updateFiles(Collections.emptySet(), Collections.emptySet(), Collections.singleton(uri), false);
+        updateFiles(Collections.emptySet(), Collections.emptySet(), Collections.singleton(uri), false, NOT_CANCELLABLE);
     }
 
     /**
@@ -231,7 +399,35 @@ public final class Project {
      * @param uri The URI of the Smithy file to update
      */
     public void updateAndValidateModel(String uri) {
-        updateFiles(Collections.emptySet(), Collections.emptySet(), Collections.singleton(uri), true);
+        updateFiles(Collections.emptySet(), Collections.emptySet(), Collections.singleton(uri), true, NOT_CANCELLABLE);
+    }
+
+    /**
+     * Update this project's model with changes to multiple files at once.
+     * Can optionally run validation.
+     *
+     * @param uris The URIs of the Smithy files to update
+     * @param validate Whether to run model validation
+     */
+    public void updateChangedFiles(Set<String> uris, boolean validate) {
+        updateChangedFiles(uris, validate, NOT_CANCELLABLE);
+    }
+
+    /**
+     * Update this project's model with changes to multiple files at once,
+     * unless the update is cancelled first. Can optionally run validation.
+     *
+     * <p>{@code cc} is checked between files, right before and after the model
+     * is assembled, and right before the update is published. If it has been
+     * cancelled, the update stops by throwing a {@link CancellationException},
+     * and this project is left as it was before the update.
+     *
+     * @param uris The URIs of the Smithy files to update
+     * @param validate Whether to run model validation
+     * @param cc Checked for cancellation while updating
+     */
+    public void updateChangedFiles(Set<String> uris, boolean validate, CancelChecker cc) {
+        updateFiles(Collections.emptySet(), Collections.emptySet(), uris, validate, cc);
     }
 
     /**
@@ -243,7 +439,7 @@ public final class Project {
      * @param removeUris URIs of files to remove
      */
     public void updateFiles(Set<String> addUris, Set<String> removeUris) {
-        updateFiles(addUris, removeUris, Collections.emptySet(), true);
+        updateFiles(addUris, removeUris, Collections.emptySet(), true, NOT_CANCELLABLE);
         // Config has to be re-validated because it may be reporting missing files
         validateConfig();
     }
@@ -257,24 +453,64 @@ public final class Project {
      * @param removeUris URIs of files to remove
      * @param changeUris URIs of files that changed
      * @param validate Whether to run model validation.
+     * @param cc Checked for cancellation while updating.
      */
-    private void updateFiles(Set<String> addUris, Set<String> removeUris, Set<String> changeUris, boolean validate) {
+    private void updateFiles(
+            Set<String> addUris,
+            Set<String> removeUris,
+            Set<String> changeUris,
+            boolean validate,
+            CancelChecker cc
+    ) {
+        updateLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Snapshot next = update(current, addUris, removeUris, changeUris, validate, cc);
+            // The last safe point, so a cancelled update never publishes its results
+            cc.checkCanceled();
+            if (next != null) {
+                snapshot = next;
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    // Builds the snapshot that follows current, or returns null if there's nothing to update.
+    private Snapshot update(
+            Snapshot current,
+            Set<String> addUris,
+            Set<String> removeUris,
+            Set<String> changeUris,
+            boolean validate,
+            CancelChecker cc
+    ) {
+        cc.checkCanceled();
+        ValidatedResult<Model> modelResult = current.modelResult();
         if (modelResult.getResult().isEmpty()) {
             // TODO: If there's no model, we didn't collect the smithy files (so no document), so I'm thinking
             //  maybe we do nothing here. But we could also still update the document, and
             //  just compute the shapes later?
             LOGGER.severe("Attempted to update files in project with no model: "
                           + addUris + " " + removeUris + " " + changeUris);
-            return;
+            return null;
         }
 
         if (addUris.isEmpty() && removeUris.isEmpty() && changeUris.isEmpty()) {
             LOGGER.info("No files provided to update");
-            return;
+            return null;
+        }
+
+        if (addUris.isEmpty() && removeUris.isEmpty() && isUpToDate(current, changeUris, validate)) {
+            LOGGER.finest("Files haven't changed since they were last assembled: " + changeUris);
+            return null;
         }
 
         Model currentModel = modelResult.getResult().get(); // unwrap would throw if the model is broken
         ModelAssembler assembler = assemblerFactory.get();
+        RebuildIndex rebuildIndex = current.rebuildIndex();
+        Map<String, SmithyFile> smithyFiles = new HashMap<>(current.smithyFiles);
+        Map<String, Long> assembledHashes = new HashMap<>(current.assembledHashes);
 
         // So we don't have to recompute the paths later
         Set<String> removedPaths = new HashSet<>(removeUris.size());
@@ -285,26 +521,29 @@ public final class Project {
             Model.Builder builder = prepBuilderForReload(currentModel);
 
             for (String uri : removeUris) {
+                cc.checkCanceled();
                 String path = LspAdapter.toPath(uri);
                 removedPaths.add(path);
 
-                removeFileForReload(assembler, builder, path, visited);
-                removeDependentsForReload(assembler, builder, path, visited);
+                removeFileForReload(rebuildIndex, assembler, builder, path, visited);
+                removeDependentsForReload(rebuildIndex, assembler, builder, path, visited);
 
                 // Note: no need to remove anything from sources/imports, since they're
                 //  based on what's in the build files.
                 smithyFiles.remove(path);
+                assembledHashes.remove(path);
             }
 
             for (String uri : changeUris) {
+                cc.checkCanceled();
                 String path = LspAdapter.toPath(uri);
 
-                removeFileForReload(assembler, builder, path, visited);
-                removeDependentsForReload(assembler, builder, path, visited);
+                removeFileForReload(rebuildIndex, assembler, builder, path, visited);
+                removeDependentsForReload(rebuildIndex, assembler, builder, path, visited);
             }
 
             // visited will be a superset of removePaths
-            addRemainingMetadataForReload(builder, visited);
+            addRemainingMetadataForReload(rebuildIndex, builder, visited);
 
             assembler.addModel(builder.build());
 
@@ -312,7 +551,9 @@ public final class Project {
                 // Only add back stuff we aren't trying to remove.
                 // Only removed paths will have had their SmithyFile removed.
                 if (!removedPaths.contains(visitedPath)) {
-                    assembler.addUnparsedModel(visitedPath, smithyFiles.get(visitedPath).document().copyText());
+                    String text = smithyFiles.get(visitedPath).document().copyText();
+                    assembler.addUnparsedModel(visitedPath, text);
+                    assembledHashes.put(visitedPath, ContentHash.of(text));
                 }
             }
         } else {
@@ -320,23 +561,55 @@ public final class Project {
         }
 
         for (String uri : addUris) {
+            cc.checkCanceled();
             String path = LspAdapter.toPath(uri);
             String text = IoUtils.readUtf8File(path);
 
             // TODO: Inefficient ?
             Document document = Document.of(text);
             SmithyFile smithyFile = SmithyFile.create(path, document);
-            this.smithyFiles.put(path, smithyFile);
+            smithyFiles.put(path, smithyFile);
 
             assembler.addUnparsedModel(path, text);
+            assembledHashes.put(path, ContentHash.of(text));
         }
 
         if (!validate) {
             assembler.disableValidation();
         }
 
-        this.modelResult = assembler.assemble();
-        this.rebuildIndex = this.rebuildIndex.recompute(this.modelResult);
+        // Assembly can't be interrupted, so a cancellation that arrives while
+        // it runs is only seen once it's done.
+        cc.checkCanceled();
+        ValidatedResult<Model> newModelResult = assembler.assemble();
+        cc.checkCanceled();
+        return new Snapshot(
+                newModelResult,
+                Collections.unmodifiableMap(smithyFiles),
+                rebuildIndex.recompute(newModelResult),
+                Collections.unmodifiableMap(assembledHashes),
+                validate);
+    }
+
+    // Whether the model was already assembled from the current text of each
+    // of the given files, and validated if it needs to be, in which case
+    // updating it again wouldn't change anything.
+    private static boolean isUpToDate(Snapshot current, Set<String> uris, boolean validate) {
+        if (validate && !current.validated) {
+            return false;
+        }
+
+        for (String uri : uris) {
+            String path = LspAdapter.toPath(uri);
+            SmithyFile smithyFile = current.smithyFiles.get(path);
+            Long assembledHash = current.assembledHashes.get(path);
+            if (smithyFile == null
+                    || assembledHash == null
+                    || assembledHash != ContentHash.of(smithyFile.document().borrowText())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     // This mainly exists to explain why we remove the metadata
@@ -349,6 +622,7 @@ public final class Project {
     }
 
     private void removeFileForReload(
+            RebuildIndex rebuildIndex,
             ModelAssembler assembler,
             Model.Builder builder,
             String path,
@@ -360,7 +634,7 @@ public final class Project {
 
         visited.add(path);
 
-        for (ToShapeId toShapeId : this.rebuildIndex.getDefinedShapes(path)) {
+        for (ToShapeId toShapeId : rebuildIndex.getDefinedShapes(path)) {
             builder.removeShape(toShapeId.toShapeId());
 
             // This shape may have traits applied to it in other files,
@@ -368,19 +642,20 @@ public final class Project {
             // those traits.
 
             // This shape's dependencies files will be removed and re-loaded
-            for (String depPath : this.rebuildIndex.getDependenciesFiles(toShapeId)) {
-                removeFileForReload(assembler, builder, depPath, visited);
+            for (String depPath : rebuildIndex.getDependenciesFiles(toShapeId)) {
+                removeFileForReload(rebuildIndex, assembler, builder, depPath, visited);
             }
 
             // Traits applied in other files are re-added to the assembler so if/when the shape
             // is reloaded, it will have those traits
-            for (Trait trait : this.rebuildIndex.getTraitsAppliedInOtherFiles(toShapeId)) {
+            for (Trait trait : rebuildIndex.getTraitsAppliedInOtherFiles(toShapeId)) {
                 assembler.addTrait(toShapeId.toShapeId(), trait);
             }
         }
     }
 
     private void removeDependentsForReload(
+            RebuildIndex rebuildIndex,
             ModelAssembler assembler,
             Model.Builder builder,
             String path,
@@ -390,9 +665,9 @@ public final class Project {
         // the file would be fine because it would ignore the duplicated trait application coming from the same
         // source location. But if the apply statement is changed/removed, the old trait isn't removed, so we
         // could get a duplicate application, or a merged array application.
-        this.rebuildIndex.getDependentFiles(path).forEach((depPath) ->
-                removeFileForReload(assembler, builder, depPath, visited));
-        this.rebuildIndex.getAppliedTraitsInFile(path).forEach((shapeId, traits) -> {
+        rebuildIndex.getDependentFiles(path).forEach((depPath) ->
+                removeFileForReload(rebuildIndex, assembler, builder, depPath, visited));
+        rebuildIndex.getAppliedTraitsInFile(path).forEach((shapeId, traits) -> {
             Shape shape = builder.getCurrentShapes().get(shapeId);
             if (shape != null) {
                 builder.removeShape(shapeId);
@@ -405,8 +680,12 @@ public final class Project {
         });
     }
 
-    private void addRemainingMetadataForReload(Model.Builder builder, Set<String> filesToSkip) {
-        for (Map.Entry<String, Map<String, Node>> e : this.rebuildIndex.filesToMetadata().entrySet()) {
+    private void addRemainingMetadataForReload(
+            RebuildIndex rebuildIndex,
+            Model.Builder builder,
+            Set<String> filesToSkip
+    ) {
+        for (Map.Entry<String, Map<String, Node>> e : rebuildIndex.filesToMetadata().entrySet()) {
             if (!filesToSkip.contains(e.getKey())) {
                 e.getValue().forEach(builder::putMetadataProperty);
             }
@@ -79,4 +79,17 @@ final class ProjectConfig {
     List<URL> resolvedDependencies() {
         return resolvedDependencies;
     }
+
+    /**
+     * @param settings The settings loaded from a project's build files
+     * @return Whether this config was loaded from the same settings, so
+     *  loading it from {@code settings} again would load the same project
+     */
+    boolean isLoadedFrom(ProjectConfigLoader.Settings settings) {
+        MavenConfig settingsMaven = settings.maven() == null ? DEFAULT_MAVEN : settings.maven();
+        return sources.equals(settings.sources())
+                && imports.equals(settings.imports())
+                && projectDependencies.equals(settings.projectDependencies())
+                && maven.equals(settingsMaven);
+    }
 }
@@ -97,10 +97,11 @@ final class ProjectConfigLoader {
      *
      * @param root The root of the project whose config is being loaded
      * @param buildFiles The build files to load config from
+     * @param resolutionCache The cache of previously resolved Maven dependencies
      * @return The result of loading the config
      */
-    static Result load(Path root, BuildFiles buildFiles) {
-        return load(root, buildFiles, Resolver.DEFAULT_RESOLVER_FACTORY);
+    static Result load(Path root, BuildFiles buildFiles, MavenResolutionCache resolutionCache) {
+        return load(root, buildFiles, Resolver.DEFAULT_RESOLVER_FACTORY, resolutionCache);
     }
 
     /**
@@ -114,11 +115,80 @@ final class ProjectConfigLoader {
      * @return The result of loading the config
      */
     static Result load(Path root, BuildFiles buildFiles, Supplier<DependencyResolver> dependencyResolverFactory) {
+        return load(root, buildFiles, dependencyResolverFactory, MavenResolutionCache.NONE);
+    }
+
+    /**
+     * Loads a project's config from the given {@link BuildFiles}, resolving
+     * dependencies using the given factory, and reusing previous resolutions
+     * from the given cache.
+     *
+     * @param root The root of the project whose config is being loaded
+     * @param buildFiles The build files to load config from
+     * @param dependencyResolverFactory A factory to get the Maven dependency
+     *                                  resolver to use
+     * @param resolutionCache The cache of previously resolved Maven dependencies
+     * @return The result of loading the config
+     */
+    static Result load(
+            Path root,
+            BuildFiles buildFiles,
+            Supplier<DependencyResolver> dependencyResolverFactory,
+            MavenResolutionCache resolutionCache
+    ) {
         var loader = new ProjectConfigLoader(buildFiles);
-        SmithyBuildConfig smithyBuildConfig = loader.loadSmithyBuild();
-        SmithyBuildExtensions.Builder extBuilder = loader.loadExts();
-        SmithyBuildConfig merged = loader.mergeSmithyBuildConfig(smithyBuildConfig, extBuilder);
-        SmithyProjectJson smithyProjectJson = loader.loadSmithyProject();
+        Settings settings = loader.loadSettings();
+
+        var resolver = new Resolver(
+                root, loader.events, loader.smithyNodes, dependencyResolverFactory, resolutionCache);
+        ProjectConfig resolved = resolver.resolve(
+                settings.sources(), settings.imports(), settings.maven(), settings.projectDependencies());
+
+        return new Result(resolved, resolver.events());
+    }
+
+    /**
+     * Loads the settings from the given {@link BuildFiles} that determine how
+     * a project is loaded, without resolving dependencies or finding model
+     * files.
+     *
+     * @param buildFiles The build files to load settings from
+     * @return The loaded settings, or {@code null} if any of the build files
+     *  couldn't be loaded
+     */
+    static Settings loadSettings(BuildFiles buildFiles) {
+        var loader = new ProjectConfigLoader(buildFiles);
+        Settings settings = loader.loadSettings();
+        for (ValidationEvent event : loader.events) {
+            if (event.getSeverity() == Severity.ERROR) {
+                return null;
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * The settings of a project, merged from all its build files, that
+     * determine how it's loaded.
+     *
+     * @param sources The sources of the project
+     * @param imports The imports of the project
+     * @param maven The Maven config of the project, or {@code null} if none is
+     *              configured
+     * @param projectDependencies The dependencies in smithy-project.json
+     */
+    record Settings(
+            List<String> sources,
+            List<String> imports,
+            MavenConfig maven,
+            List<SmithyProjectJson.ProjectDependency> projectDependencies
+    ) {}
+
+    private Settings loadSettings() {
+        SmithyBuildConfig smithyBuildConfig = loadSmithyBuild();
+        SmithyBuildExtensions.Builder extBuilder = loadExts();
+        SmithyBuildConfig merged = mergeSmithyBuildConfig(smithyBuildConfig, extBuilder);
+        SmithyProjectJson smithyProjectJson = loadSmithyProject();
 
         List<String> sources = new ArrayList<>();
         List<String> imports = new ArrayList<>();
@@ -140,10 +210,7 @@ final class ProjectConfigLoader {
             projectDependencies.addAll(smithyProjectJson.dependencies());
         }
 
-        var resolver = new Resolver(root, loader.events, loader.smithyNodes, dependencyResolverFactory);
-        ProjectConfig resolved = resolver.resolve(sources, imports, mavenConfig, projectDependencies);
-
-        return new Result(resolved, resolver.events());
+        return new Settings(sources, imports, mavenConfig, projectDependencies);
     }
 
     private SmithyBuildConfig loadSmithyBuild() {
@@ -305,12 +372,14 @@ final class ProjectConfigLoader {
      *                    used to map errors to a specific location
      * @param dependencyResolverFactory Provides the Maven dependency resolver
      *                                  implementation to use
+     * @param resolutionCache The cache of previously resolved Maven dependencies
      */
     private record Resolver(
             Path root,
             List<ValidationEvent> events,
             Map<BuildFileType, Node> smithyNodes,
-            Supplier<DependencyResolver> dependencyResolverFactory
+            Supplier<DependencyResolver> dependencyResolverFactory,
+            MavenResolutionCache resolutionCache
     ) {
         // Taken from smithy-cli ConfigurationUtils
         private static final Supplier<MavenRepository> CENTRAL = () -> MavenRepository.builder()
@@ -358,10 +427,19 @@ final class ProjectConfigLoader {
                 return Set.of();
             }
 
+            Set<MavenRepository> repositories = getConfiguredMavenRepos(maven);
+
+            // Resolving requires reading poms, and possibly going over the network, so
+            // reuse the previous resolution if nothing changed.
+            String cacheKey = MavenResolutionCache.key(repositories, maven.getDependencies());
+            Set<Path> cachedPaths = resolutionCache.get(cacheKey);
+            if (cachedPaths != null) {
+                return cachedPaths;
+            }
+
             List<DependencyResolverException> exceptions = new ArrayList<>();
             DependencyResolver resolver = dependencyResolverFactory.get();
 
-            Set<MavenRepository> repositories = getConfiguredMavenRepos(maven);
             for (MavenRepository repo : repositories) {
                 try {
                     resolver.addRepository(repo);
@@ -399,6 +477,11 @@ final class ProjectConfigLoader {
                 dependencyPaths.add(path);
             }
 
+            // Don't cache partial resolutions, so they're retried next time
+            if (exceptions.isEmpty()) {
+                resolutionCache.put(cacheKey, dependencyPaths);
+            }
+
             return dependencyPaths;
         }
 
@@ -13,6 +13,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 import software.amazon.smithy.lsp.ManagedFiles;
 import software.amazon.smithy.lsp.document.Document;
@@ -20,13 +26,16 @@ import software.amazon.smithy.lsp.protocol.LspAdapter;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.ModelAssembler;
 import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.utils.IoUtils;
-import software.amazon.smithy.utils.TriConsumer;
 
 /**
  * Loads {@link Project}s.
  */
 public final class ProjectLoader {
+    // Reads files one at a time, on the thread loading the project
+    private static final Executor CALLING_THREAD = Runnable::run;
+
     private ProjectLoader() {
     }
 
@@ -52,7 +61,9 @@ public final class ProjectLoader {
 
         Path path = Paths.get(LspAdapter.toPath(uri));
         ProjectConfig config = ProjectConfig.detachedConfig(path);
-        LoadModelResult result = doLoad(managedFiles, config);
+        BuildFiles buildFiles = BuildFiles.of(List.of());
+        LoadModelResult result = doLoad(
+                path, managedFiles, config, buildFiles, CALLING_THREAD, ValidationEventCache.NONE);
 
         return new Project(
                 path,
@@ -63,7 +74,8 @@ public final class ProjectLoader {
                 Project.Type.DETACHED,
                 result.modelResult(),
                 result.rebuildIndex(),
-                List.of()
+                List.of(),
+                result.assembledHashes()
         );
     }
 
@@ -83,7 +95,8 @@ public final class ProjectLoader {
         ProjectConfig config = ProjectConfig.empty();
 
         // We aren't loading any smithy files in this project, so use a no-op ManagedFiles.
-        LoadModelResult result = doLoad((fileUri) -> null, config);
+        LoadModelResult result = doLoad(
+                path, (fileUri) -> null, config, buildFiles, CALLING_THREAD, ValidationEventCache.NONE);
 
         return new Project(
                 path,
@@ -94,7 +107,8 @@ public final class ProjectLoader {
                 Project.Type.UNRESOLVED,
                 result.modelResult(),
                 result.rebuildIndex(),
-                List.of()
+                List.of(),
+                result.assembledHashes()
         );
     }
 
@@ -115,13 +129,43 @@ public final class ProjectLoader {
      * @return Result of loading the project
      */
     public static Project load(Path root, ManagedFiles managedFiles) throws Exception {
+        return load(root, managedFiles, CALLING_THREAD, MavenResolutionCache.NONE, ValidationEventCache.NONE);
+    }
+
+    /**
+     * Loads a {@link Project} at the given root path, like
+     * {@link #load(Path, ManagedFiles)}, reading the project's files in parallel
+     * on {@code executor}, reusing previous resolutions of the project's Maven
+     * dependencies from {@code resolutionCache}, and skipping validation of the
+     * model if {@code validationEventCache} has the events of a model loaded
+     * from exactly the same files and dependencies.
+     *
+     * <p>The thread calling this method also reads files, so it may be one of
+     * {@code executor}'s own threads.
+     *
+     * @param root Path of the project root
+     * @param managedFiles Files managed by the server
+     * @param executor The executor to read the project's files on
+     * @param resolutionCache The cache of previously resolved Maven dependencies
+     * @param validationEventCache The cache to get and store the model's
+     *  validation events in
+     * @return Result of loading the project
+     */
+    public static Project load(
+            Path root,
+            ManagedFiles managedFiles,
+            Executor executor,
+            MavenResolutionCache resolutionCache,
+            ValidationEventCache validationEventCache
+    ) throws Exception {
         var buildFiles = BuildFiles.load(root, managedFiles);
         if (buildFiles.isEmpty()) {
             return Project.empty(root);
         }
 
-        ProjectConfigLoader.Result configResult = ProjectConfigLoader.load(root, buildFiles);
-        LoadModelResult result = doLoad(managedFiles, configResult.config());
+        ProjectConfigLoader.Result configResult = ProjectConfigLoader.load(root, buildFiles, resolutionCache);
+        LoadModelResult result = doLoad(
+                root, managedFiles, configResult.config(), buildFiles, executor, validationEventCache);
 
         return new Project(
                 root,
@@ -132,7 +176,8 @@ public final class ProjectLoader {
                 Project.Type.NORMAL,
                 result.modelResult(),
                 result.rebuildIndex(),
-                configResult.events()
+                configResult.events(),
+                result.assembledHashes()
         );
     }
 
@@ -140,81 +185,193 @@ public final class ProjectLoader {
             Supplier<ModelAssembler> assemblerFactory,
             ValidatedResult<Model> modelResult,
             Map<String, SmithyFile> smithyFiles,
-            Project.RebuildIndex rebuildIndex
+            Project.RebuildIndex rebuildIndex,
+            Map<String, Long> assembledHashes
     ) {
     }
 
-    private static LoadModelResult doLoad(ManagedFiles managedFiles, ProjectConfig config) {
+    private static LoadModelResult doLoad(
+            Path root,
+            ManagedFiles managedFiles,
+            ProjectConfig config,
+            BuildFiles buildFiles,
+            Executor executor,
+            ValidationEventCache validationEventCache
+    ) {
         // The model assembler factory is used to get assemblers that already have the correct
         // dependencies resolved for future loads
         Supplier<ModelAssembler> assemblerFactory = createModelAssemblerFactory(config.resolvedDependencies());
 
         Map<String, SmithyFile> smithyFiles = new HashMap<>(config.modelPaths().size());
 
+        // Reading and parsing files is independent, so it is done in parallel. The
+        // files are still added to the assembler in order, so loading is deterministic.
+        List<String> modelPaths = config.modelPaths().stream().map(Path::toString).toList();
+        List<LoadedFile> loadedFiles = readFiles(managedFiles, modelPaths, executor);
+
+        Map<String, Long> assembledHashes = new HashMap<>(loadedFiles.size());
         ModelAssembler assembler = assemblerFactory.get();
-        ValidatedResult<Model> modelResult = loadModel(managedFiles, config.modelPaths(), assembler, smithyFiles);
+        for (LoadedFile loadedFile : loadedFiles) {
+            assembler.addUnparsedModel(loadedFile.path(), loadedFile.text());
+            smithyFiles.put(loadedFile.path(), loadedFile.smithyFile());
+            assembledHashes.put(loadedFile.path(), ContentHash.of(loadedFile.text()));
+        }
+
+        ValidatedResult<Model> modelResult;
+        if (validationEventCache.isEnabled()) {
+            String cacheKey = validationCacheKey(root, loadedFiles, buildFiles, config.resolvedDependencies());
+            modelResult = assembleWithCache(assembler, validationEventCache, cacheKey);
+        } else {
+            modelResult = assembler.assemble();
+        }
 
         Project.RebuildIndex rebuildIndex = Project.RebuildIndex.create(modelResult);
-        addDependencySmithyFiles(managedFiles, rebuildIndex.filesToDefinedShapes().keySet(), smithyFiles);
+        addDependencySmithyFiles(managedFiles, rebuildIndex.filesToDefinedShapes().keySet(), smithyFiles, executor);
 
         return new LoadModelResult(
                 assemblerFactory,
                 modelResult,
                 smithyFiles,
-                rebuildIndex
+                rebuildIndex,
+                assembledHashes
         );
     }
 
-    private static ValidatedResult<Model> loadModel(
-            ManagedFiles managedFiles,
-            List<Path> allSmithyFilePaths,
-            ModelAssembler assembler,
-            Map<String, SmithyFile> smithyFiles
+    private static String validationCacheKey(
+            Path root,
+            List<LoadedFile> loadedFiles,
+            BuildFiles buildFiles,
+            List<URL> dependencies
     ) {
-        TriConsumer<String, CharSequence, Document> consumer = (filePath, text, document) -> {
-            assembler.addUnparsedModel(filePath, text.toString());
-            smithyFiles.put(filePath, SmithyFile.create(filePath, document));
-        };
+        Map<String, String> files = new HashMap<>();
+        for (LoadedFile loadedFile : loadedFiles) {
+            files.put(loadedFile.path(), loadedFile.text());
+        }
+        for (BuildFile buildFile : buildFiles) {
+            files.put(buildFile.path(), buildFile.document().copyText());
+        }
+        return ValidationEventCache.key(root, files, dependencies);
+    }
 
-        for (Path path : allSmithyFilePaths) {
-            String pathString = path.toString();
-            findOrReadDocument(managedFiles, pathString, consumer);
+    private static ValidatedResult<Model> assembleWithCache(
+            ModelAssembler assembler,
+            ValidationEventCache validationEventCache,
+            String cacheKey
+    ) {
+        List<ValidationEvent> cachedEvents = validationEventCache.get(cacheKey);
+        if (cachedEvents != null) {
+            // The model is exactly the same as the one the events were cached
+            // for, so validating it again would find the same events.
+            ValidatedResult<Model> modelResult = assembler.disableValidation().assemble();
+            if (modelResult.getResult().isPresent()) {
+                return new ValidatedResult<>(modelResult.getResult().get(), cachedEvents);
+            }
+            return modelResult;
         }
 
-        return assembler.assemble();
+        ValidatedResult<Model> modelResult = assembler.assemble();
+        // A broken model will be loaded again anyway, once it's fixed
+        if (modelResult.getResult().isPresent()) {
+            validationEventCache.put(cacheKey, modelResult.getValidationEvents());
+        }
+        return modelResult;
     }
 
     // Smithy files in jars were loaded by the model assembler via model discovery, so we need to collect those.
     private static void addDependencySmithyFiles(
             ManagedFiles managedFiles,
             Set<String> loadedSmithyFilePaths,
-            Map<String, SmithyFile> smithyFiles
+            Map<String, SmithyFile> smithyFiles,
+            Executor executor
     ) {
-        TriConsumer<String, CharSequence, Document> consumer = (filePath, text, document) -> {
-            SmithyFile smithyFile = SmithyFile.create(filePath, document);
-            smithyFiles.put(filePath, smithyFile);
-        };
+        List<String> pathsToRead = loadedSmithyFilePaths.stream()
+                .filter(loadedPath -> !smithyFiles.containsKey(loadedPath))
+                .filter(loadedPath -> !isJarFile(loadedPath))
+                .toList();
+        List<LoadedFile> loadedFiles = readFiles(managedFiles, pathsToRead, executor);
+
+        for (LoadedFile loadedFile : loadedFiles) {
+            smithyFiles.put(loadedFile.path(), loadedFile.smithyFile());
+        }
 
+        // Files in jars are rarely opened, so they aren't read or parsed until they're used,
+        // unless they're already open.
         for (String loadedPath : loadedSmithyFilePaths) {
-            if (!smithyFiles.containsKey(loadedPath)) {
-                findOrReadDocument(managedFiles, loadedPath, consumer);
+            if (!smithyFiles.containsKey(loadedPath) && isJarFile(loadedPath)) {
+                Document managed = managedFiles.getManagedDocument(LspAdapter.toUri(loadedPath));
+                if (managed != null) {
+                    smithyFiles.put(loadedPath, SmithyFile.create(loadedPath, managed));
+                } else {
+                    smithyFiles.put(loadedPath, SmithyFile.createLazy(loadedPath, () -> readJarFile(loadedPath)));
+                }
             }
         }
     }
 
-    private static void findOrReadDocument(
-            ManagedFiles managedFiles,
-            String filePath,
-            TriConsumer<String, CharSequence, Document> consumer
-    ) {
+    private static boolean isJarFile(String filePath) {
         // NOTE: isSmithyJarFile and isJarFile typically take in a URI (filePath is a path), but
         // the model stores jar paths as URIs
-        if (LspAdapter.isSmithyJarFile(filePath) || LspAdapter.isJarFile(filePath)) {
-            // Technically this can throw
-            String text = IoUtils.readUtf8Url(LspAdapter.jarModelFilenameToReadableUrl(filePath));
+        return LspAdapter.isSmithyJarFile(filePath) || LspAdapter.isJarFile(filePath);
+    }
+
+    private static String readJarFile(String filePath) {
+        // Technically this can throw
+        return IoUtils.readUtf8Url(LspAdapter.jarModelFilenameToReadableUrl(filePath));
+    }
+
+    private record LoadedFile(String path, String text, SmithyFile smithyFile) {
+    }
+
+    // Reads the files at filePaths, returning them in the same order. Files are
+    // read on executor, and on the calling thread, which takes the next unread
+    // file until there are none left. The calling thread may be one of
+    // executor's own threads, so it never waits for a task that hasn't started,
+    // only for files that other threads are in the middle of reading.
+    private static List<LoadedFile> readFiles(ManagedFiles managedFiles, List<String> filePaths, Executor executor) {
+        LoadedFile[] loadedFiles = new LoadedFile[filePaths.size()];
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(loadedFiles.length);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Runnable reader = () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < loadedFiles.length) {
+                try {
+                    loadedFiles[i] = findOrReadFile(managedFiles, filePaths.get(i));
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+
+        int helpers = Math.min(loadedFiles.length - 1, Runtime.getRuntime().availableProcessors());
+        try {
+            for (int i = 0; i < helpers; i++) {
+                executor.execute(reader);
+            }
+        } catch (RejectedExecutionException e) {
+            // The calling thread reads whatever is left
+        }
+        reader.run();
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while reading project files");
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return List.of(loadedFiles);
+    }
+
+    private static LoadedFile findOrReadFile(ManagedFiles managedFiles, String filePath) {
+        if (isJarFile(filePath)) {
+            String text = readJarFile(filePath);
             Document document = Document.of(text);
-            consumer.accept(filePath, text, document);
-            return;
+            return new LoadedFile(filePath, text, SmithyFile.create(filePath, document));
         }
 
         // TODO: We recompute uri from path and vice-versa very frequently,
@@ -222,15 +379,14 @@ public final class ProjectLoader {
         String uri = LspAdapter.toUri(filePath);
         Document managed = managedFiles.getManagedDocument(uri);
         if (managed != null) {
-            CharSequence text = managed.borrowText();
-            consumer.accept(filePath, text, managed);
-            return;
+            String text = managed.snapshot().toString();
+            return new LoadedFile(filePath, text, SmithyFile.create(filePath, managed));
         }
 
         // There may be a more efficient way of reading this
         String text = IoUtils.readUtf8File(filePath);
         Document document = Document.of(text);
-        consumer.accept(filePath, text, document);
+        return new LoadedFile(filePath, text, SmithyFile.create(filePath, document));
     }
 
     private static Supplier<ModelAssembler> createModelAssemblerFactory(List<URL> dependencies) {
@@ -5,19 +5,42 @@
 
 package software.amazon.smithy.lsp.project;
 
+import java.lang.ref.SoftReference;
+import java.util.function.Supplier;
 import software.amazon.smithy.lsp.document.Document;
 import software.amazon.smithy.lsp.syntax.Syntax;
 
 /**
  * The language server's representation of a Smithy file.
+ *
+ * <p>Files that are rarely used, like those in dependency jars, can be created
+ * {@link #createLazy lazily}. Their document is only loaded when it is first
+ * used, and may be dropped again by the garbage collector when memory is low,
+ * in which case it is loaded again the next time it is used. While a lazy
+ * file is open in the client, it is {@link #pin pinned} so its document, and
+ * any edits to it, are kept.
  */
 public sealed class SmithyFile implements ProjectFile permits IdlFile {
     private final String path;
     private final Document document;
+    // Loads the text of a lazy file, or null if this file isn't lazy
+    private final Supplier<String> loader;
+    // Guarded by this. Only used for lazy files.
+    private SoftReference<Document> loadedDocument;
+    // Guarded by this. Keeps the document of a lazy file loaded while it's pinned.
+    private Document pinnedDocument;
 
     SmithyFile(String path, Document document) {
         this.path = path;
         this.document = document;
+        this.loader = null;
+    }
+
+    SmithyFile(String path, Supplier<String> loader) {
+        this.path = path;
+        this.document = null;
+        this.loader = loader;
+        this.loadedDocument = new SoftReference<>(null);
     }
 
     static SmithyFile create(String path, Document document) {
@@ -30,6 +53,22 @@ public sealed class SmithyFile implements ProjectFile permits IdlFile {
         }
     }
 
+    /**
+     * Creates a file that doesn't load its document, or parse it, until it
+     * is used.
+     *
+     * @param path The path of the file
+     * @param loader Loads the text of the file. May be called more than once.
+     * @return The lazy file
+     */
+    static SmithyFile createLazy(String path, Supplier<String> loader) {
+        if (path.endsWith(".smithy")) {
+            return new IdlFile(path, loader);
+        } else {
+            return new SmithyFile(path, loader);
+        }
+    }
+
     @Override
     public String path() {
         return path;
@@ -37,7 +76,18 @@ public sealed class SmithyFile implements ProjectFile permits IdlFile {
 
     @Override
     public Document document() {
-        return document;
+        if (loader == null) {
+            return document;
+        }
+
+        synchronized (this) {
+            Document loaded = loadedDocument.get();
+            if (loaded == null) {
+                loaded = Document.of(loader.get());
+                loadedDocument = new SoftReference<>(loaded);
+            }
+            return loaded;
+        }
     }
 
     /**
@@ -46,4 +96,42 @@ public sealed class SmithyFile implements ProjectFile permits IdlFile {
     public void reparse() {
         // Don't parse JSON files, at least for now
     }
+
+    /**
+     * Keeps this file's document loaded until {@link #unpin()} is called,
+     * loading it if needed. Does nothing if this file isn't lazy.
+     */
+    public final synchronized void pin() {
+        if (loader != null) {
+            pinnedDocument = document();
+        }
+    }
+
+    /**
+     * Allows this file's document to be dropped again, if this file is lazy.
+     */
+    public synchronized void unpin() {
+        pinnedDocument = null;
+    }
+
+    /**
+     * @return Whether this file's document is kept loaded
+     */
+    final synchronized boolean isPinned() {
+        return pinnedDocument != null;
+    }
+
+    /**
+     * @return Whether this file's document is loaded on demand
+     */
+    final boolean isLazy() {
+        return loader != null;
+    }
+
+    /**
+     * @return Whether this file's document is currently loaded
+     */
+    final synchronized boolean isLoaded() {
+        return loader == null || loadedDocument.get() != null;
+    }
 }
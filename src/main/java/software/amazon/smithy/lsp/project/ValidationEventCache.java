@@ -0,0 +1,276 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.project;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * A persistent cache of the validation events of project models, so a
+ * project whose files haven't changed since it was last loaded can skip
+ * validating its model.
+ *
+ * <p>Each entry is stored in its own file, named by a hash of everything
+ * that goes into loading the model: the text of every source and build file,
+ * the contents of every dependency, and the version of Smithy. So an entry is
+ * only ever used to load exactly the same model it was created from. Names
+ * are prefixed by a hash of the project's root, and only the most recently
+ * used {@link #MAX_ENTRIES_PER_PROJECT} entries of each project are kept.
+ *
+ * <p>Only validation events are stored, not the model itself. The model's
+ * serialized form doesn't keep the source locations of shapes and traits,
+ * which most language features depend on, so it has to be parsed from the
+ * project's files either way.
+ */
+public final class ValidationEventCache {
+    /**
+     * A cache that doesn't store anything.
+     */
+    public static final ValidationEventCache NONE = new ValidationEventCache(null);
+
+    private static final Logger LOGGER = Logger.getLogger(ValidationEventCache.class.getName());
+    // Changed whenever the key or entry format changes, to invalidate existing entries
+    private static final int FORMAT_VERSION = 2;
+    private static final String SMITHY_VERSION = smithyVersion();
+    static final int MAX_ENTRIES_PER_PROJECT = 5;
+
+    private final Path directory;
+
+    /**
+     * @param directory The directory to store entries in, or {@code null} to
+     *                  not store anything
+     */
+    ValidationEventCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return The cache stored in the user's home directory
+     */
+    public static ValidationEventCache createDefault() {
+        return new ValidationEventCache(Path.of(System.getProperty("user.home"), ".smithy", "lsp", "validation"));
+    }
+
+    /**
+     * @return Whether this cache stores anything
+     */
+    boolean isEnabled() {
+        return directory != null;
+    }
+
+    // Smithy's version comes from the manifest of its jar, which is missing
+    // if it was repackaged, like into the language server's own jar. The
+    // language server's version is fixed when it's built, along with the
+    // version of Smithy it's built with.
+    private static String smithyVersion() {
+        String version = Model.class.getPackage().getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = ValidationEventCache.class.getClassLoader().getResourceAsStream("version.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Failed to read smithy-language-server version for validation cache key: " + e);
+        }
+        return "smithy-language-server " + properties.getProperty("version", "unknown");
+    }
+
+    /**
+     * @param root The root of the project the model is loaded for
+     * @param files The text of each source and build file, by path
+     * @param dependencies The dependencies the model is loaded with
+     * @return The key of the cache entry for the model loaded from
+     *  {@code files} and {@code dependencies}
+     */
+    static String key(Path root, Map<String, String> files, List<URL> dependencies) {
+        MessageDigest digest = sha256();
+        update(digest, root.toString());
+        // Short, since it only has to tell apart the projects of a single user
+        String rootHash = HexFormat.of().formatHex(digest.digest(), 0, 8);
+
+        update(digest, "format:" + FORMAT_VERSION);
+        update(digest, "smithy:" + SMITHY_VERSION);
+        // Sorted so the key doesn't depend on the order files were read in
+        for (Map.Entry<String, String> entry : new TreeMap<>(files).entrySet()) {
+            update(digest, "file:" + entry.getKey());
+            update(digest, entry.getValue());
+        }
+        for (URL dependency : dependencies) {
+            update(digest, "dependency:" + dependency);
+            updateWithContents(digest, dependency);
+        }
+
+        return rootHash + "-" + HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // Prefixed by length so adjacent values can't run together
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    private static void updateWithContents(MessageDigest digest, URL dependency) {
+        try (InputStream in = Files.newInputStream(Path.of(dependency.toURI()))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            // The dependency can't be read, so there's nothing to key on but
+            // its URL. Loading the model will fail the same way if it really
+            // can't be read.
+            LOGGER.warning("Failed to read dependency " + dependency + " for validation cache key: " + e);
+        }
+    }
+
+    /**
+     * @param key The key of the entry to get
+     * @return The cached validation events, or {@code null} if there's no
+     *  entry for {@code key}, or it couldn't be read
+     */
+    List<ValidationEvent> get(String key) {
+        if (directory == null) {
+            return null;
+        }
+
+        Path entry = directory.resolve(key);
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+
+        try {
+            ArrayNode nodes = Node.parse(Files.readString(entry, StandardCharsets.UTF_8)).expectArrayNode();
+            List<ValidationEvent> events = new ArrayList<>(nodes.size());
+            for (Node node : nodes) {
+                events.add(ValidationEvent.fromNode(node));
+            }
+            markUsed(entry);
+            return events;
+        } catch (IOException | RuntimeException e) {
+            // Includes entries that aren't valid, which are just overwritten
+            LOGGER.warning("Failed to read validation cache entry " + entry + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the validation events for {@code key}, replacing any existing
+     * entry, and removes the least recently used entries of the same project
+     * past {@link #MAX_ENTRIES_PER_PROJECT}. Failing to write the entry isn't
+     * an error, it just means the model will be validated again next time.
+     *
+     * @param key The key of the entry to store
+     * @param events The validation events of the model
+     */
+    void put(String key, List<ValidationEvent> events) {
+        if (directory == null) {
+            return;
+        }
+
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            ArrayNode nodes = events.stream().collect(ArrayNode.collect());
+            // Write to a separate file first, so concurrent readers never see a partial entry
+            temp = Files.createTempFile(directory, key, ".tmp");
+            Files.writeString(temp, Node.printJson(nodes), StandardCharsets.UTF_8);
+            Files.move(temp, directory.resolve(key),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warning("Failed to write validation cache entry " + key + ": " + e);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Nothing else to do
+                }
+            }
+            return;
+        }
+
+        prune(key);
+    }
+
+    // Marks the entry as recently used, so it isn't pruned
+    private static void markUsed(Path entry) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            LOGGER.warning("Failed to mark validation cache entry " + entry + " as used: " + e);
+        }
+    }
+
+    private void prune(String key) {
+        String projectPrefix = key.substring(0, key.indexOf('-') + 1);
+        try {
+            Map<Path, FileTime> entries = new HashMap<>();
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    String name = file.getFileName().toString();
+                    // The entry that was just written is always kept, even if
+                    // others have the same modified time. Temp files of
+                    // concurrent writes are left alone.
+                    if (name.startsWith(projectPrefix) && !name.equals(key) && !name.endsWith(".tmp")) {
+                        entries.put(file, Files.getLastModifiedTime(file));
+                    }
+                }
+            }
+            int keep = MAX_ENTRIES_PER_PROJECT - 1;
+            if (entries.size() <= keep) {
+                return;
+            }
+
+            List<Path> oldestFirst = new ArrayList<>(entries.keySet());
+            oldestFirst.sort(Comparator.comparing(entries::get));
+            for (Path stale : oldestFirst.subList(0, oldestFirst.size() - keep)) {
+                Files.deleteIfExists(stale);
+            }
+        } catch (IOException e) {
+            // Another load may be pruning at the same time, which is fine
+            LOGGER.warning("Failed to prune validation cache entries of " + projectPrefix + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.syntax;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.lsp.document.DocumentParser;
+
+/**
+ * Reparses only the part of an IDL document affected by a change, reusing
+ * the rest of the previous parse.
+ *
+ * <p>The parser doesn't carry any state from one top-level statement to the
+ * next, so a top-level statement that starts at the same place and is
+ * followed by the same text will always parse to the same statements. That
+ * means statements before the change can be reused as long as they don't
+ * read any text within the change, and statements after the change can be
+ * reused (copied with their positions shifted) once the parser gets back to
+ * the start of a top-level statement from the previous parse.
+ *
+ * <p>Top-level statements are statements that can be produced by starting to
+ * parse a top-level statement at their start position. These are tracked via
+ * {@link Syntax.Statement#errorsBefore}, which is used to partition errors in
+ * the same way statements are.
+ */
+final class IdlReparser {
+    private final Document document;
+    private final Syntax.IdlParseResult previous;
+    private final Document.Change change;
+    private final List<Syntax.Statement> oldStatements;
+    private int resyncIndex = -1;
+
+    private IdlReparser(Document document, Syntax.IdlParseResult previous, Document.Change change) {
+        this.document = document;
+        this.previous = previous;
+        this.change = change;
+        this.oldStatements = previous.statements();
+    }
+
+    static Syntax.IdlParseResult reparse(Document document, Syntax.IdlParseResult previous, Document.Change change) {
+        if (change.start() == change.oldEnd() && change.oldEnd() == change.newEnd()) {
+            return previous;
+        }
+        return new IdlReparser(document, previous, change).reparse();
+    }
+
+    private Syntax.IdlParseResult reparse() {
+        // Statements before the change are reused if they end before the start
+        // of the top-level statement closest to the change. The parser may peek
+        // at the first char of the next statement, so it has to start strictly
+        // before the change. An unclosed text block reads to the end of the
+        // document and then rewinds to its last char, so statements starting
+        // there can't be restarted from either.
+        int oldLength = document.length() - change.delta();
+        int prefixIndex = lastTopLevelStatementBefore(Math.min(change.start(), oldLength - 1));
+        int start = 0;
+        int prefixErrors = 0;
+        if (prefixIndex >= 0) {
+            Syntax.Statement restartAt = oldStatements.get(prefixIndex);
+            start = restartAt.start;
+            prefixErrors = restartAt.errorsBefore;
+        } else {
+            prefixIndex = 0;
+        }
+
+        Parser parser = Parser.forIdl(document);
+        parser.statements.addAll(oldStatements.subList(0, prefixIndex));
+        parser.errors.addAll(previous.errors().subList(0, prefixErrors));
+
+        int resyncPos = parser.parseIdlFrom(start, change.newEnd(), this::canResync);
+        if (resyncPos >= 0) {
+            reuseSuffix(parser);
+        }
+
+        List<Syntax.Statement> statements = parser.statements;
+        DocumentParser documentParser = DocumentParser.forStatements(document, statements);
+        return new Syntax.IdlParseResult(
+                statements,
+                parser.errors,
+                documentParser.documentVersion(),
+                documentParser.documentNamespace(),
+                documentParser.documentImports());
+    }
+
+    // Parser callback, checking if there's an old top-level statement after
+    // the change that starts at the (new) position the parser is at.
+    private boolean canResync(int pos) {
+        int oldPos = pos - change.delta();
+        // Also don't resync at the very start, see Copier::shiftPos
+        if (oldPos < change.oldEnd() || oldPos == 0) {
+            return false;
+        }
+
+        int idx = firstStatementStartingAtOrAfter(oldPos);
+        while (idx < oldStatements.size() && oldStatements.get(idx).start == oldPos) {
+            if (isTopLevel(oldStatements.get(idx))) {
+                resyncIndex = idx;
+                return true;
+            }
+            idx++;
+        }
+        return false;
+    }
+
+    private void reuseSuffix(Parser parser) {
+        Syntax.Statement resyncAt = oldStatements.get(resyncIndex);
+        int statementDelta = parser.statements.size() - resyncIndex;
+        int errorsFrom = resyncAt.errorsBefore;
+        int errorDelta = parser.errors.size() - errorsFrom;
+
+        Copier copier = new Copier(change.delta(), change.lineDelta());
+        for (int i = resyncIndex; i < oldStatements.size(); i++) {
+            Syntax.Statement copy = copier.copy(oldStatements.get(i));
+            copy.errorsBefore += errorDelta;
+            if (copy instanceof Syntax.Statement.Block block) {
+                block.statementIndex += statementDelta;
+                block.lastStatementIndex += statementDelta;
+            }
+            parser.statements.add(copy);
+        }
+
+        List<Syntax.Err> oldErrors = previous.errors();
+        for (int i = errorsFrom; i < oldErrors.size(); i++) {
+            parser.errors.add(copier.copyError(oldErrors.get(i)));
+        }
+    }
+
+    private int lastTopLevelStatementBefore(int pos) {
+        int idx = firstStatementStartingAtOrAfter(pos) - 1;
+        while (idx >= 0) {
+            Syntax.Statement statement = oldStatements.get(idx);
+            if (statement.start < pos && isTopLevel(statement)) {
+                return idx;
+            }
+            idx--;
+        }
+        return -1;
+    }
+
+    private int firstStatementStartingAtOrAfter(int pos) {
+        int low = 0;
+        int up = oldStatements.size();
+        while (low < up) {
+            int mid = (low + up) >>> 1;
+            if (oldStatements.get(mid).start < pos) {
+                low = mid + 1;
+            } else {
+                up = mid;
+            }
+        }
+        return low;
+    }
+
+    // Whether starting to parse a top-level statement at the start of the
+    // given statement would produce the statement.
+    private static boolean isTopLevel(Syntax.Statement statement) {
+        return switch (statement) {
+            case Syntax.Statement.Incomplete ignored -> true;
+            case Syntax.Statement.Control ignored -> true;
+            case Syntax.Statement.Metadata ignored -> true;
+            case Syntax.Statement.Namespace ignored -> true;
+            case Syntax.Statement.Use ignored -> true;
+            case Syntax.Statement.Apply ignored -> true;
+            case Syntax.Statement.ShapeDef ignored -> true;
+            // Trait applications outside of blocks are either top-level, or
+            // part of an apply statement which parses them the same way.
+            case Syntax.Statement.TraitApplication traitApplication -> traitApplication.parent() == null;
+            default -> false;
+        };
+    }
+
+    /**
+     * Copies statements, and everything within them, with their positions
+     * shifted. The previous parse may still be in use by other threads, so
+     * its statements are never modified.
+     */
+    private static final class Copier {
+        private final int delta;
+        private final int lineDelta;
+        // Items that have already been copied, so items referenced from more
+        // than one place, like blocks and node errors that were also reported
+        // as errors, are only copied once.
+        private final Map<Syntax.Item, Syntax.Item> copies = new IdentityHashMap<>();
+
+        private Copier(int delta, int lineDelta) {
+            this.delta = delta;
+            this.lineDelta = lineDelta;
+        }
+
+        private Syntax.Statement copy(Syntax.Statement statement) {
+            Syntax.Statement copy = switch (statement) {
+                case Syntax.Statement.Incomplete s -> new Syntax.Statement.Incomplete(copyIdent(s.ident));
+                case Syntax.Statement.Control s -> {
+                    var c = new Syntax.Statement.Control(copyIdent(s.key));
+                    c.value = copyNode(s.value);
+                    yield c;
+                }
+                case Syntax.Statement.Metadata s -> {
+                    var c = new Syntax.Statement.Metadata(copyIdent(s.key));
+                    c.value = copyNode(s.value);
+                    yield c;
+                }
+                case Syntax.Statement.Namespace s -> new Syntax.Statement.Namespace(copyIdent(s.namespace));
+                case Syntax.Statement.Use s -> new Syntax.Statement.Use(copyIdent(s.use));
+                case Syntax.Statement.Apply s -> new Syntax.Statement.Apply(copyIdent(s.id));
+                case Syntax.Statement.ShapeDef s ->
+                        new Syntax.Statement.ShapeDef(copyIdent(s.shapeType), copyIdent(s.shapeName));
+                case Syntax.Statement.ForResource s -> new Syntax.Statement.ForResource(copyIdent(s.resource));
+                case Syntax.Statement.Mixins s -> {
+                    var c = new Syntax.Statement.Mixins();
+                    s.mixins.forEach(mixin -> c.mixins.add(copyIdent(mixin)));
+                    yield c;
+                }
+                case Syntax.Statement.TraitApplication s -> {
+                    var c = new Syntax.Statement.TraitApplication(parentOf(s), copyIdent(s.id));
+                    c.value = copyNode(s.value);
+                    yield c;
+                }
+                case Syntax.Statement.MemberDef s -> {
+                    var c = new Syntax.Statement.MemberDef(parentOf(s), copyIdent(s.name));
+                    c.colonPos = shiftPos(s.colonPos);
+                    c.target = copyIdent(s.target);
+                    yield c;
+                }
+                case Syntax.Statement.EnumMemberDef s -> {
+                    var c = new Syntax.Statement.EnumMemberDef(parentOf(s), copyIdent(s.name));
+                    c.value = copyNode(s.value);
+                    yield c;
+                }
+                case Syntax.Statement.ElidedMemberDef s ->
+                        new Syntax.Statement.ElidedMemberDef(parentOf(s), copyIdent(s.name));
+                case Syntax.Statement.InlineMemberDef s ->
+                        new Syntax.Statement.InlineMemberDef(parentOf(s), copyIdent(s.name));
+                case Syntax.Statement.NodeMemberDef s -> {
+                    var c = new Syntax.Statement.NodeMemberDef(parentOf(s), copyIdent(s.name));
+                    c.colonPos = shiftPos(s.colonPos);
+                    c.value = copyNode(s.value);
+                    yield c;
+                }
+                case Syntax.Statement.Block s -> {
+                    var c = new Syntax.Statement.Block(parentOf(s), s.lastStatementIndex);
+                    c.statementIndex = s.statementIndex;
+                    yield c;
+                }
+                case Syntax.Statement.Err s -> new Syntax.Statement.Err(s.message);
+            };
+            copy.errorsBefore = statement.errorsBefore;
+            return copied(statement, copy);
+        }
+
+        private Syntax.Err copyError(Syntax.Err err) {
+            Syntax.Item copy = copies.get((Syntax.Item) err);
+            if (copy != null) {
+                return (Syntax.Err) copy;
+            }
+            return switch (err) {
+                case Syntax.Statement.Err statementErr -> (Syntax.Err) copy(statementErr);
+                case Syntax.Node.Err nodeErr -> (Syntax.Err) copyNode(nodeErr);
+            };
+        }
+
+        // Members of blocks that were copied have to point to the copies.
+        // Blocks before the reused statements are reused as-is.
+        private Syntax.Statement.Block parentOf(Syntax.Statement.MemberStatement statement) {
+            Syntax.Statement.Block parent = statement.parent;
+            Syntax.Item copy = parent == null ? null : copies.get(parent);
+            return copy == null ? parent : (Syntax.Statement.Block) copy;
+        }
+
+        private Syntax.Ident copyIdent(Syntax.Ident ident) {
+            return (Syntax.Ident) copyNode(ident);
+        }
+
+        private Syntax.Node copyNode(Syntax.Node node) {
+            // EMPTY is shared, and doesn't have a real position anyway
+            if (node == null || node == Syntax.Ident.EMPTY) {
+                return node;
+            }
+            Syntax.Node copy = switch (node) {
+                case Syntax.Node.Kvps n -> copyKvps(n, new Syntax.Node.Kvps());
+                case Syntax.Node.Kvp n -> {
+                    var c = new Syntax.Node.Kvp((Syntax.Node.Str) copyNode(n.key));
+                    c.colonPos = shiftPos(n.colonPos);
+                    c.value = copyNode(n.value);
+                    yield c;
+                }
+                case Syntax.Node.Obj n -> {
+                    var c = new Syntax.Node.Obj();
+                    copyKvps(n.kvps, c.kvps);
+                    yield c;
+                }
+                case Syntax.Node.Arr n -> {
+                    var c = new Syntax.Node.Arr();
+                    n.elements.forEach(element -> c.elements.add(copyNode(element)));
+                    yield c;
+                }
+                case Syntax.Ident n -> new Syntax.Ident(shiftLine(n.lineNumber), n.start, n.end, n.value);
+                case Syntax.Node.Str n -> new Syntax.Node.Str(shiftLine(n.lineNumber), n.start, n.end, n.value);
+                case Syntax.Node.Num n -> new Syntax.Node.Num(n.value);
+                case Syntax.Node.Err n -> new Syntax.Node.Err(n.message);
+            };
+            return copied(node, copy);
+        }
+
+        private Syntax.Node.Kvps copyKvps(Syntax.Node.Kvps kvps, Syntax.Node.Kvps into) {
+            kvps.kvps().forEach(kvp -> into.add((Syntax.Node.Kvp) copyNode(kvp)));
+            return copied(kvps, into);
+        }
+
+        private <T extends Syntax.Item> T copied(Syntax.Item original, T copy) {
+            copy.start = shiftPos(original.start);
+            copy.end = shiftPos(original.end);
+            copies.put(original, copy);
+            return copy;
+        }
+
+        private int shiftLine(int lineNumber) {
+            // Text blocks that end at the end of the document get a line of
+            // -1, and will still end there after shifting
+            return lineNumber < 0 ? lineNumber : lineNumber + lineDelta;
+        }
+
+        private int shiftPos(int pos) {
+            // Some items don't have their start or end set on error paths, so
+            // they're left at 0. Real positions are always > 0 since we never
+            // resync at the start of the document.
+            return pos <= 0 ? pos : pos + delta;
+        }
+    }
+}
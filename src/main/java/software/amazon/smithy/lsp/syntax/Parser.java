@@ -8,6 +8,7 @@ package software.amazon.smithy.lsp.syntax;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntPredicate;
 import software.amazon.smithy.lsp.document.Document;
 import software.amazon.smithy.utils.SimpleParser;
 
@@ -25,7 +26,7 @@ final class Parser extends SimpleParser {
     private final boolean isJson;
 
     private Parser(Document document, boolean isJson) {
-        super(document.borrowText());
+        super(document.snapshot());
         this.document = document;
         this.isJson = isJson;
     }
@@ -69,7 +70,7 @@ final class Parser extends SimpleParser {
         try {
             ws();
             while (!eof()) {
-                statement();
+                topLevelStatement();
                 ws();
             }
         } catch (Parser.Eof e) {
@@ -82,12 +83,46 @@ final class Parser extends SimpleParser {
         }
     }
 
+    /**
+     * Parses top-level statements starting at {@code start}, stopping at the
+     * first statement that starts at or after {@code resyncAfter} and is
+     * accepted by {@code canResync}.
+     *
+     * @param start The index to start parsing at, which must be the start of
+     *              a top-level statement
+     * @param resyncAfter The index to start trying to resync at
+     * @param canResync Whether a statement starting at the given index would
+     *                  parse to the same statements it did in a previous parse
+     * @return The index parsing stopped at, or {@code -1} if parsing reached
+     *  the end of the document
+     */
+    int parseIdlFrom(int start, int resyncAfter, IntPredicate canResync) {
+        try {
+            rewindTo(start);
+            ws();
+            while (!eof()) {
+                int pos = position();
+                if (pos >= resyncAfter && canResync.test(pos)) {
+                    return pos;
+                }
+                topLevelStatement();
+                ws();
+            }
+        } catch (Parser.Eof e) {
+            Syntax.Statement.Err err = new Syntax.Statement.Err(e.message);
+            err.start = position();
+            err.end = position();
+            addError(err);
+        }
+        return -1;
+    }
+
     void parseIdlBetween(int start, int end) {
         try {
             rewindTo(start);
             ws();
             while (!eof() && position() < end) {
-                statement();
+                topLevelStatement();
                 ws();
             }
         } catch (Parser.Eof e) {
@@ -482,6 +517,19 @@ final class Parser extends SimpleParser {
         }
     }
 
+    private void topLevelStatement() {
+        int statementCount = statements.size();
+        int errorCount = errors.size();
+        try {
+            statement();
+        } finally {
+            // Eof may have been thrown, but the statement may still be there
+            if (statements.size() > statementCount) {
+                statements.get(statementCount).errorsBefore = errorCount;
+            }
+        }
+    }
+
     private void statement() {
         if (is('@')) {
             traitApplication(null);
@@ -855,6 +903,8 @@ final class Parser extends SimpleParser {
         } else {
             addErr(position(), position(),
                     "unexpected token " + peekSingleCharForMessage() + " expected trait or member");
+            // recoverToMemberStart stops at '$', which isn't valid here
+            skip();
             recoverToMemberStart();
         }
     }
@@ -925,10 +975,12 @@ final class Parser extends SimpleParser {
 
     private void traitApplication(Syntax.Statement.Block parent) {
         int startPos = position();
+        int errorCount = errors.size();
         skip(); // '@'
         Syntax.Ident id = ident();
         var application = new Syntax.Statement.TraitApplication(parent, id);
         application.start = startPos;
+        application.errorsBefore = errorCount;
         addStatement(application);
 
         if (is('(')) {
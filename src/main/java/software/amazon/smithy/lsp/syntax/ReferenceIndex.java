@@ -0,0 +1,169 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.syntax;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the statements in an {@link Syntax.IdlParseResult} that may
+ * reference a shape, by the name of the shape.
+ *
+ * <p>The index is purely syntactic. A statement is indexed under a name if any
+ * identifier or string within it could be a reference to a shape with that
+ * name, with or without a namespace or member. Whether it actually references
+ * a specific shape depends on the model, so each candidate still needs to be
+ * checked. But it means only those candidates need to be checked, rather than
+ * every statement in the file.
+ */
+public final class ReferenceIndex {
+    private final Syntax.IdlParseResult parseResult;
+    private final Map<String, List<Syntax.Statement>> statementsByName;
+
+    private ReferenceIndex(Syntax.IdlParseResult parseResult, Map<String, List<Syntax.Statement>> statementsByName) {
+        this.parseResult = parseResult;
+        this.statementsByName = statementsByName;
+    }
+
+    /**
+     * @param parseResult The parse result to index
+     * @return The index of {@code parseResult}
+     */
+    public static ReferenceIndex of(Syntax.IdlParseResult parseResult) {
+        Builder builder = new Builder();
+        for (Syntax.Statement statement : parseResult.statements()) {
+            builder.index(statement);
+        }
+        return new ReferenceIndex(parseResult, builder.statementsByName);
+    }
+
+    /**
+     * @return The parse result this index was computed from
+     */
+    public Syntax.IdlParseResult parseResult() {
+        return parseResult;
+    }
+
+    /**
+     * @param shapeName The name of the shape, without a namespace or member
+     * @return The statements that may reference a shape named {@code shapeName},
+     *  in the order they appear in the file
+     */
+    public List<Syntax.Statement> candidates(String shapeName) {
+        return statementsByName.getOrDefault(shapeName, List.of());
+    }
+
+    /**
+     * @param reference The text of a shape reference, which may be an absolute
+     *                  shape id, and may have a member
+     * @return The name of the shape being referenced, or {@code null} if
+     *  {@code reference} can't be a shape reference
+     */
+    static String shapeName(String reference) {
+        if (reference.isEmpty() || !isIdentifierStart(reference.charAt(0))) {
+            return null;
+        }
+
+        int nameStart = 0;
+        int nameEnd = reference.length();
+        for (int i = 1; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c == '#' && nameStart == 0) {
+                nameStart = i + 1;
+            } else if (c == '$' && nameEnd == reference.length()) {
+                nameEnd = i;
+            } else if (!isIdentifierPart(c) && c != '.') {
+                return null;
+            }
+        }
+
+        if (nameStart >= nameEnd) {
+            return null;
+        }
+        return reference.substring(nameStart, nameEnd);
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return isIdentifierStart(c) || (c >= '0' && c <= '9');
+    }
+
+    private static final class Builder {
+        private final Map<String, List<Syntax.Statement>> statementsByName = new HashMap<>();
+
+        private void index(Syntax.Statement statement) {
+            switch (statement) {
+                case Syntax.Statement.Use use -> add(statement, use.use());
+
+                case Syntax.Statement.Mixins mixins -> {
+                    for (var mixin : mixins.mixins()) {
+                        add(statement, mixin);
+                    }
+                }
+
+                case Syntax.Statement.ForResource forResource -> add(statement, forResource.resource());
+
+                case Syntax.Statement.MemberDef memberDef -> add(statement, memberDef.target());
+
+                case Syntax.Statement.TraitApplication traitApplication -> {
+                    add(statement, traitApplication.id());
+                    index(statement, traitApplication.value());
+                }
+
+                case Syntax.Statement.NodeMemberDef nodeMemberDef -> index(statement, nodeMemberDef.value());
+
+                default -> {
+                }
+            }
+        }
+
+        private void index(Syntax.Statement statement, Syntax.Node node) {
+            switch (node) {
+                case Syntax.Node.Obj obj -> index(statement, obj.kvps());
+
+                case Syntax.Node.Kvps kvps -> {
+                    for (var kvp : kvps.kvps()) {
+                        add(statement, kvp.key());
+                        index(statement, kvp.value());
+                    }
+                }
+
+                case Syntax.Node.Arr arr -> {
+                    for (var element : arr.elements()) {
+                        index(statement, element);
+                    }
+                }
+
+                case Syntax.Node.Str str -> add(statement, str);
+
+                case null, default -> {
+                }
+            }
+        }
+
+        private void add(Syntax.Statement statement, Syntax.Node.Str token) {
+            if (token == null) {
+                return;
+            }
+
+            String name = shapeName(token.stringValue());
+            if (name == null) {
+                return;
+            }
+
+            List<Syntax.Statement> statements = statementsByName.computeIfAbsent(name, k -> new ArrayList<>());
+            // A statement may reference the same name more than once
+            if (statements.isEmpty() || statements.getLast() != statement) {
+                statements.add(statement);
+            }
+        }
+    }
+}
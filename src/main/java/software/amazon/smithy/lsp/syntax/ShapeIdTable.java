@@ -0,0 +1,124 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.syntax;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.smithy.lsp.document.DocumentImports;
+import software.amazon.smithy.lsp.document.DocumentNamespace;
+import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeIdSyntaxException;
+
+/**
+ * Resolves the names used in an IDL document to the shape ids they could
+ * refer to, based on the document's namespace and imports.
+ *
+ * <p>Resolutions are memoized, so each name is only parsed into shape ids
+ * once per parse. Whether a shape with one of those ids exists depends on
+ * the model, so this table can be used across model rebuilds.
+ */
+public final class ShapeIdTable {
+    private final String namespace;
+    private final Map<String, String> importsByName;
+    private final Map<String, List<ShapeId>> candidates = new ConcurrentHashMap<>();
+
+    private ShapeIdTable(String namespace, Map<String, String> importsByName) {
+        this.namespace = namespace;
+        this.importsByName = importsByName;
+    }
+
+    /**
+     * @param namespace The namespace of the document
+     * @param imports The imports of the document
+     * @return The table for a document with the given namespace and imports
+     */
+    public static ShapeIdTable of(DocumentNamespace namespace, DocumentImports imports) {
+        Map<String, String> importsByName = new HashMap<>(imports.imports().size());
+        for (String fileImport : imports.imports()) {
+            int hashIdx = fileImport.indexOf('#');
+            if (hashIdx >= 0) {
+                importsByName.putIfAbsent(fileImport.substring(hashIdx + 1), fileImport);
+            }
+        }
+        return new ShapeIdTable(namespace.namespace(), importsByName);
+    }
+
+    /**
+     * @param name The name of the shape, without a namespace or member
+     * @return The import of a shape with the given name, or {@code null} if
+     *  there isn't one
+     */
+    public String importedId(String name) {
+        return importsByName.get(name);
+    }
+
+    /**
+     * Gets the shape ids that {@code nameOrId} could refer to, in the order
+     * they should be searched for.
+     *
+     * <p>When {@code nameOrId} contains a '#', it is assumed to be an absolute
+     * shape id. Otherwise, it could refer to an imported shape, a shape in the
+     * document's namespace, or a shape in the prelude, in that order.
+     *
+     * @param nameOrId The name or shape id to resolve
+     * @return The shape ids {@code nameOrId} could refer to, which are empty
+     *  if it isn't a valid shape id
+     */
+    public List<ShapeId> candidates(String nameOrId) {
+        return candidates.computeIfAbsent(nameOrId, this::computeCandidates);
+    }
+
+    private List<ShapeId> computeCandidates(String nameOrId) {
+        if (nameOrId.isEmpty()) {
+            return List.of();
+        }
+
+        if (nameOrId.contains("#")) {
+            ShapeId id = tryFrom(nameOrId);
+            return id == null ? List.of() : List.of(id);
+        }
+
+        List<ShapeId> result = new ArrayList<>(3);
+
+        int memberIdx = nameOrId.indexOf('$');
+        String rootName = memberIdx >= 0 ? nameOrId.substring(0, memberIdx) : nameOrId;
+        String importedId = importsByName.get(rootName);
+        if (importedId != null) {
+            String absoluteId = memberIdx >= 0 ? importedId + nameOrId.substring(memberIdx) : importedId;
+            addIfValid(result, tryFrom(absoluteId));
+        }
+
+        addIfValid(result, tryFromRelative(namespace, nameOrId));
+        addIfValid(result, tryFromRelative(Prelude.NAMESPACE, nameOrId));
+        return List.copyOf(result);
+    }
+
+    private static void addIfValid(List<ShapeId> result, ShapeId id) {
+        if (id != null && !result.contains(id)) {
+            result.add(id);
+        }
+    }
+
+    private static ShapeId tryFrom(String id) {
+        try {
+            return ShapeId.from(id);
+        } catch (ShapeIdSyntaxException e) {
+            return null;
+        }
+    }
+
+    private static ShapeId tryFromRelative(String namespace, String name) {
+        try {
+            return ShapeId.fromRelative(namespace, name);
+        } catch (ShapeIdSyntaxException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.syntax;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Maps positions in an IDL document to the innermost statement they're
+ * within.
+ *
+ * <p>Statements within {@link Syntax.Statement.Block}s overlap the block,
+ * so the statements are flattened into non-overlapping intervals, each
+ * mapped to the innermost statement covering it. Finding the statement at
+ * a position is then a single binary search.
+ */
+public final class StatementIntervals {
+    private static final StatementIntervals EMPTY = new StatementIntervals(new int[0], new int[0]);
+
+    // The interval i covers [starts[i], starts[i + 1]), and is within the
+    // statement at statementIndices[i], or none if that's -1.
+    private final int[] starts;
+    private final int[] statementIndices;
+
+    private StatementIntervals(int[] starts, int[] statementIndices) {
+        this.starts = starts;
+        this.statementIndices = statementIndices;
+    }
+
+    /**
+     * @param statements The statements to create intervals for, in the order
+     *  they appear in the document
+     * @return The intervals of the given statements
+     */
+    public static StatementIntervals of(List<Syntax.Statement> statements) {
+        if (statements.isEmpty()) {
+            return EMPTY;
+        }
+
+        Builder builder = new Builder(statements.size());
+        // The statements that are open at the current position, innermost first
+        Deque<Integer> open = new ArrayDeque<>();
+        for (int i = 0; i < statements.size(); i++) {
+            Syntax.Statement statement = statements.get(i);
+            if (statement.end() <= statement.start()) {
+                // Doesn't contain any positions
+                continue;
+            }
+
+            closeBefore(statements, open, statement.start(), builder);
+            builder.add(statement.start(), i);
+            open.push(i);
+        }
+        closeBefore(statements, open, Integer.MAX_VALUE, builder);
+
+        return builder.build();
+    }
+
+    // Closes the open statements that end at or before the given position,
+    // starting intervals for the statements they were nested in.
+    private static void closeBefore(
+            List<Syntax.Statement> statements,
+            Deque<Integer> open,
+            int position,
+            Builder builder
+    ) {
+        while (!open.isEmpty() && statements.get(open.peek()).end() <= position) {
+            int end = statements.get(open.pop()).end();
+            // Outer statements should end after the statements nested in
+            // them, but if they don't, they're closed along with them
+            while (!open.isEmpty() && statements.get(open.peek()).end() <= end) {
+                open.pop();
+            }
+            builder.add(end, open.isEmpty() ? -1 : open.peek());
+        }
+    }
+
+    /**
+     * @param documentIndex The index within the underlying document
+     * @return The index of the innermost statement the given index is within,
+     *  or {@code -1} if it isn't within a statement
+     */
+    public int statementIndexAt(int documentIndex) {
+        int interval = Arrays.binarySearch(starts, documentIndex);
+        if (interval < 0) {
+            // The insertion point is the first interval starting after
+            // documentIndex, so the one before it contains documentIndex
+            interval = -interval - 2;
+            if (interval < 0) {
+                return -1;
+            }
+        }
+        return statementIndices[interval];
+    }
+
+    /**
+     * Finds where to start iterating over the statements that are in a range
+     * of the document, so statements before the range can be skipped.
+     *
+     * <p>{@link Syntax.Statement.Block}s that start before the index are
+     * ignored, even if they contain it, since blocks contain the statements
+     * after them.
+     *
+     * @param statements The statements to search, in the order they appear
+     *  in the document
+     * @param documentIndex The index within the underlying document
+     * @return The index of the first statement that ends at or after the
+     *  given index, or the number of statements if there isn't one
+     */
+    public static int firstStatementIndexFrom(List<Syntax.Statement> statements, int documentIndex) {
+        // Statements are in order of their start, so binary search for the
+        // first one that starts at or after documentIndex
+        int low = 0;
+        int high = statements.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (statements.get(mid).start() < documentIndex) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        // Other than blocks, statements don't overlap, so only the statements
+        // up to the previous non-block statement may end after documentIndex
+        int first = low;
+        for (int i = low - 1; i >= 0; i--) {
+            Syntax.Statement statement = statements.get(i);
+            if (statement instanceof Syntax.Statement.Block) {
+                continue;
+            }
+            if (statement.end() < documentIndex) {
+                break;
+            }
+            first = i;
+        }
+        return first;
+    }
+
+    private static final class Builder {
+        private int[] starts;
+        private int[] statementIndices;
+        private int size;
+
+        private Builder(int statementCount) {
+            this.starts = new int[statementCount * 2];
+            this.statementIndices = new int[statementCount * 2];
+        }
+
+        private void add(int start, int statementIndex) {
+            if (size > 0) {
+                if (starts[size - 1] >= start) {
+                    // The previous interval is empty, so this one replaces it
+                    size--;
+                }
+                if (size > 0 && statementIndices[size - 1] == statementIndex) {
+                    // Same statement as the previous interval, so just
+                    // extend that one
+                    return;
+                }
+            }
+
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                statementIndices = Arrays.copyOf(statementIndices, size * 2);
+            }
+            starts[size] = start;
+            statementIndices[size] = statementIndex;
+            size++;
+        }
+
+        private StatementIntervals build() {
+            return new StatementIntervals(Arrays.copyOf(starts, size), Arrays.copyOf(statementIndices, size));
+        }
+    }
+}
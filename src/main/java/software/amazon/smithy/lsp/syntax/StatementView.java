@@ -6,7 +6,6 @@
 package software.amazon.smithy.lsp.syntax;
 
 import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -52,7 +51,7 @@ public record StatementView(Syntax.IdlParseResult parseResult, int statementInde
             return Optional.empty();
         }
 
-        int statementIndex = statementIndex(parseResult.statements(), documentIndex);
+        int statementIndex = parseResult.intervals().statementIndexAt(documentIndex);
         if (statementIndex < 0) {
             return Optional.empty();
         }
@@ -60,63 +59,6 @@ public record StatementView(Syntax.IdlParseResult parseResult, int statementInde
         return Optional.of(new StatementView(parseResult, statementIndex, documentIndex));
     }
 
-    private static int statementIndex(List<Syntax.Statement> statements, int position) {
-        int low = 0;
-        int up = statements.size() - 1;
-
-        while (low <= up) {
-            int mid = (low + up) / 2;
-            Syntax.Statement statement = statements.get(mid);
-            if (statement.isIn(position)) {
-                if (statement instanceof Syntax.Statement.Block) {
-                    return statementIndexBetween(statements, mid, up, position);
-                } else {
-                    return mid;
-                }
-            } else if (statement.start() > position) {
-                up = mid - 1;
-            } else if (statement.end() < position) {
-                low = mid + 1;
-            } else {
-                return -1;
-            }
-        }
-
-        Syntax.Statement last = statements.get(up);
-        if (last instanceof Syntax.Statement.MemberStatement memberStatement) {
-            // Note: parent() can be null for TraitApplication.
-            if (memberStatement.parent() != null && memberStatement.parent().isIn(position)) {
-                return memberStatement.parent().statementIndex();
-            }
-        }
-
-        return -1;
-    }
-
-    private static int statementIndexBetween(List<Syntax.Statement> statements, int lower, int upper, int position) {
-        int ogLower = lower;
-        lower += 1;
-        while (lower <= upper) {
-            int mid = (lower + upper) / 2;
-            Syntax.Statement statement = statements.get(mid);
-            if (statement.isIn(position)) {
-                // Could have nested blocks, like in an inline structure definition
-                if (statement instanceof Syntax.Statement.Block) {
-                    return statementIndexBetween(statements, mid, upper, position);
-                }
-                return mid;
-            } else if (statement.start() > position) {
-                upper = mid - 1;
-            } else if (statement.end() < position) {
-                lower = mid + 1;
-            } else {
-                return ogLower;
-            }
-        }
-
-        return ogLower;
-    }
-
     /**
      * @return The non-nullable statement that {@link #documentIndex()} is within
      */
@@ -129,7 +71,7 @@ public record StatementView(Syntax.IdlParseResult parseResult, int statementInde
      * @return The optional statement the given index is within
      */
     public Optional<Syntax.Statement> getStatementAt(int documentIndex) {
-        int statementIndex = statementIndex(parseResult.statements(), documentIndex);
+        int statementIndex = parseResult.intervals().statementIndexAt(documentIndex);
         if (statementIndex < 0) {
             return Optional.empty();
         }
@@ -86,19 +86,96 @@ public final class Syntax {
      * The result of parsing an IDL document, containing some extra computed
      * info that is used often.
      *
-     * @param statements The parsed statements.
-     * @param errors The errors that occurred during parsing.
-     * @param version The IDL version that was parsed.
-     * @param namespace The namespace that was parsed
-     * @param imports The imports that were parsed.
+     * <p>The extra info is computed from the statements the first time it's
+     * used, so a reparse doesn't pay for indexing the whole document unless
+     * something needs it.
      */
-    public record IdlParseResult(
-            List<Statement> statements,
-            List<Err> errors,
-            DocumentVersion version,
-            DocumentNamespace namespace,
-            DocumentImports imports
-    ) {}
+    public static final class IdlParseResult {
+        private final List<Statement> statements;
+        private final List<Err> errors;
+        private final DocumentVersion version;
+        private final DocumentNamespace namespace;
+        private final DocumentImports imports;
+        private volatile ShapeIdTable shapeIds;
+        private volatile StatementIntervals intervals;
+
+        IdlParseResult(
+                List<Statement> statements,
+                List<Err> errors,
+                DocumentVersion version,
+                DocumentNamespace namespace,
+                DocumentImports imports
+        ) {
+            this.statements = statements;
+            this.errors = errors;
+            this.version = version;
+            this.namespace = namespace;
+            this.imports = imports;
+        }
+
+        /**
+         * @return The parsed statements.
+         */
+        public List<Statement> statements() {
+            return statements;
+        }
+
+        /**
+         * @return The errors that occurred during parsing.
+         */
+        public List<Err> errors() {
+            return errors;
+        }
+
+        /**
+         * @return The IDL version that was parsed.
+         */
+        public DocumentVersion version() {
+            return version;
+        }
+
+        /**
+         * @return The namespace that was parsed.
+         */
+        public DocumentNamespace namespace() {
+            return namespace;
+        }
+
+        /**
+         * @return The imports that were parsed.
+         */
+        public DocumentImports imports() {
+            return imports;
+        }
+
+        /**
+         * @return The table used to resolve names in the parsed document.
+         */
+        public ShapeIdTable shapeIds() {
+            ShapeIdTable table = shapeIds;
+            if (table == null) {
+                // May be computed more than once if there are concurrent
+                // requests, but the result is the same
+                table = ShapeIdTable.of(namespace, imports);
+                shapeIds = table;
+            }
+            return table;
+        }
+
+        /**
+         * @return The index of which statement each position is within.
+         */
+        public StatementIntervals intervals() {
+            StatementIntervals index = intervals;
+            if (index == null) {
+                // May be computed more than once if there are concurrent
+                // requests, but the result is the same
+                index = StatementIntervals.of(statements);
+                intervals = index;
+            }
+            return index;
+        }
+    }
 
     /**
      * @param document The document to parse.
@@ -117,6 +194,23 @@ public final class Syntax {
                 documentParser.documentImports());
     }
 
+    /**
+     * Incrementally reparses {@code document}, reusing the statements from
+     * {@code previous} that weren't affected by {@code change}.
+     *
+     * <p>Statements before the change are reused as-is, and statements after
+     * it are copied with their positions shifted, so {@code previous} is left
+     * unchanged and can still be used.
+     *
+     * @param document The document to parse.
+     * @param previous The result of parsing an earlier version of {@code document}.
+     * @param change The change made to the text since {@code previous} was parsed.
+     * @return The IDL parse result.
+     */
+    public static IdlParseResult parseIdl(Document document, IdlParseResult previous, Document.Change change) {
+        return IdlReparser.reparse(document, previous, change);
+    }
+
     /**
      * The result of parsing a Node document.
      *
@@ -348,6 +442,11 @@ public final class Syntax {
      * Common type of all IDL syntax productions.
      */
     public abstract static sealed class Statement extends Item {
+        // The number of errors that occurred before this statement, only
+        // set for statements that start a top-level statement. Used to
+        // figure out which errors can be reused when reparsing.
+        int errorsBefore;
+
         /**
          * @return The type of the statement.
          */
@@ -688,6 +787,10 @@ public final class Syntax {
             public Ident name() {
                 return name;
             }
+
+            public Node value() {
+                return value;
+            }
         }
 
         /**
@@ -761,7 +864,7 @@ public final class Syntax {
          * Used to indicate the start of a block, i.e. {}.
          */
         public static final class Block extends MemberStatement {
-            final int statementIndex;
+            int statementIndex;
             int lastStatementIndex;
 
             Block(Block parent, int lastStatementIndex) {
@@ -0,0 +1,105 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.lsp.protocol.LspAdapter;
+
+public class DiagnosticsPublisherTest {
+    private static final String URI = "file:///main.smithy";
+
+    @Test
+    public void coalescesDiagnosticsPublishedBeforeSending() throws Exception {
+        List<PublishDiagnosticsParams> sent = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+        DiagnosticsPublisher publisher = new DiagnosticsPublisher(sent::add, tasks::add, 0);
+
+        CompletableFuture<Void> first = publisher.publish(URI, List.of(diagnostic("a")));
+        CompletableFuture<Void> second = publisher.publish(URI, List.of(diagnostic("b")));
+        assertThat(sent, hasSize(0));
+
+        tasks.forEach(Runnable::run);
+        CompletableFuture.allOf(first, second).get();
+
+        assertThat(sent, hasSize(1));
+        assertThat(sent.getFirst().getDiagnostics(), equalTo(List.of(diagnostic("b"))));
+        assertThat(publisher.stats(), equalTo(new DiagnosticsPublisher.Stats(0, 2, 1, 1, 0)));
+    }
+
+    @Test
+    public void skipsUnchangedDiagnostics() throws Exception {
+        List<PublishDiagnosticsParams> sent = new ArrayList<>();
+        DiagnosticsPublisher publisher = new DiagnosticsPublisher(sent::add, ForkJoinPool.commonPool(), 0);
+
+        publisher.publish(URI, List.of(diagnostic("a"))).get();
+        publisher.publish(URI, List.of(diagnostic("a"))).get();
+        assertThat(sent, hasSize(1));
+
+        publisher.forget(URI);
+        publisher.publish(URI, List.of(diagnostic("a"))).get();
+        publisher.publish(URI, List.of()).get();
+
+        assertThat(sent, hasSize(3));
+        assertThat(publisher.stats(), equalTo(new DiagnosticsPublisher.Stats(0, 4, 0, 3, 1)));
+    }
+
+    @Test
+    public void sendsDiagnosticsForAFileInOrder() throws Exception {
+        List<PublishDiagnosticsParams> sent = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+        CountDownLatch sendingFirst = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        DiagnosticsPublisher publisher = new DiagnosticsPublisher(params -> {
+            if (params.getDiagnostics().equals(List.of(diagnostic("a")))) {
+                sendingFirst.countDown();
+                try {
+                    releaseFirst.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            synchronized (sent) {
+                sent.add(params);
+            }
+        }, tasks::add, 0);
+
+        publisher.publish(URI, List.of(diagnostic("a")));
+        Thread first = new Thread(tasks.removeFirst());
+        first.start();
+        sendingFirst.await();
+
+        publisher.publish(URI, List.of(diagnostic("b")));
+        Thread second = new Thread(tasks.removeFirst());
+        second.start();
+        // Sending the newer diagnostics waits for the older ones to be sent
+        while (second.getState() != Thread.State.BLOCKED && second.getState() != Thread.State.TERMINATED) {
+            Thread.onSpinWait();
+        }
+
+        releaseFirst.countDown();
+        first.join();
+        second.join();
+
+        assertThat(sent, hasSize(2));
+        assertThat(sent.get(0).getDiagnostics(), equalTo(List.of(diagnostic("a"))));
+        assertThat(sent.get(1).getDiagnostics(), equalTo(List.of(diagnostic("b"))));
+    }
+
+    private static Diagnostic diagnostic(String message) {
+        return new Diagnostic(LspAdapter.origin(), message);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.lsp.ext.LatencySummary;
+
+public class LatencyHistogramTest {
+    @Test
+    public void emptyHistogramHasEmptySummary() {
+        LatencySummary summary = new LatencyHistogram().summary();
+
+        assertThat(summary, equalTo(new LatencySummary(0, 0, 0, 0, 0, 0)));
+    }
+
+    @Test
+    public void summarizesRecordedLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        LatencySummary summary = histogram.summary();
+
+        assertThat(summary.count(), equalTo(100L));
+        assertThat(summary.meanMillis(), closeTo(50.5, 0.001));
+        assertThat(summary.maxMillis(), closeTo(100, 0.001));
+        // Percentiles are bucketed, so they're at most an eighth too high
+        assertWithinBucket(summary.p50Millis(), 50);
+        assertWithinBucket(summary.p90Millis(), 90);
+        assertWithinBucket(summary.p99Millis(), 99);
+    }
+
+    @Test
+    public void percentilesDontExceedMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(9));
+
+        LatencySummary summary = histogram.summary();
+
+        assertThat(summary.p50Millis(), closeTo(9, 0.001));
+        assertThat(summary.p99Millis(), closeTo(9, 0.001));
+    }
+
+    @Test
+    public void countsVeryLargeLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-1);
+
+        LatencySummary summary = histogram.summary();
+
+        assertThat(summary.count(), equalTo(2L));
+        assertThat(summary.maxMillis(), equalTo(TimeUnit.NANOSECONDS.toMicros(Long.MAX_VALUE) / 1000.0));
+    }
+
+    private static void assertWithinBucket(double actual, double expected) {
+        assertThat(actual, greaterThanOrEqualTo(expected));
+        assertThat(actual, lessThanOrEqualTo(expected * 1.125));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.lsp.ext.MethodMetrics;
+
+public class MessageMetricsTest {
+    @Test
+    public void tracksRequestsUntilTheirResponse() {
+        MessageMetrics metrics = new MessageMetrics();
+        List<Message> consumed = new ArrayList<>();
+        MessageConsumer incoming = metrics.wrapIncoming(consumed::add);
+        MessageConsumer outgoing = metrics.wrapOutgoing(consumed::add);
+
+        incoming.consume(request("1", "textDocument/hover"));
+        incoming.consume(request("2", "textDocument/hover"));
+        MethodMetrics inFlight = metrics.snapshot().get(0);
+
+        assertThat(inFlight.inFlight(), equalTo(2));
+        assertThat(inFlight.latency().count(), equalTo(0L));
+
+        outgoing.consume(response("1", null));
+        outgoing.consume(response("2", new ResponseError(ResponseErrorCode.RequestCancelled, "cancelled", null)));
+        MethodMetrics done = metrics.snapshot().get(0);
+
+        assertThat(done.method(), equalTo("textDocument/hover"));
+        assertThat(done.inFlight(), equalTo(0));
+        assertThat(done.cancelled(), equalTo(1L));
+        assertThat(done.failed(), equalTo(0L));
+        assertThat(done.latency().count(), equalTo(2L));
+        assertThat(consumed, hasSize(4));
+    }
+
+    @Test
+    public void countsFailedRequests() {
+        MessageMetrics metrics = new MessageMetrics();
+        MessageConsumer incoming = metrics.wrapIncoming(message -> {});
+        MessageConsumer outgoing = metrics.wrapOutgoing(message -> {});
+
+        incoming.consume(request("1", "textDocument/definition"));
+        outgoing.consume(response("1", new ResponseError(ResponseErrorCode.InternalError, "failed", null)));
+        // Responses to requests the server sent aren't counted
+        outgoing.consume(response("2", null));
+        MethodMetrics metric = metrics.snapshot().get(0);
+
+        assertThat(metric.failed(), equalTo(1L));
+        assertThat(metric.cancelled(), equalTo(0L));
+        assertThat(metric.latency().count(), equalTo(1L));
+    }
+
+    @Test
+    public void timesNotificationsWhileTheyAreHandled() {
+        MessageMetrics metrics = new MessageMetrics();
+        MessageConsumer incoming = metrics.wrapIncoming(message -> {});
+
+        incoming.consume(notification("textDocument/didChange"));
+        incoming.consume(notification("textDocument/didChange"));
+        incoming.consume(notification("textDocument/didOpen"));
+
+        assertThat(metrics.snapshot().stream().map(MethodMetrics::method).toList(),
+                contains("textDocument/didChange", "textDocument/didOpen"));
+        assertThat(metrics.snapshot().get(0).latency().count(), equalTo(2L));
+        assertThat(metrics.snapshot().get(0).inFlight(), equalTo(0));
+    }
+
+    private static RequestMessage request(String id, String method) {
+        RequestMessage message = new RequestMessage();
+        message.setId(id);
+        message.setMethod(method);
+        return message;
+    }
+
+    private static ResponseMessage response(String id, ResponseError error) {
+        ResponseMessage message = new ResponseMessage();
+        message.setId(id);
+        message.setError(error);
+        return message;
+    }
+
+    private static NotificationMessage notification(String method) {
+        NotificationMessage message = new NotificationMessage();
+        message.setMethod(method);
+        return message;
+    }
+}
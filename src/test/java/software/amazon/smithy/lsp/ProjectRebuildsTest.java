@@ -0,0 +1,105 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.lsp.project.Project;
+import software.amazon.smithy.lsp.project.ProjectTest;
+import software.amazon.smithy.lsp.protocol.LspAdapter;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+public class ProjectRebuildsTest {
+    @Test
+    public void mergesChangesWithinDebounceWindow() throws Exception {
+        TestWorkspace workspace = TestWorkspace.multipleModels(
+                """
+                $version: "2"
+                namespace com.foo
+                structure Foo {}
+                """,
+                """
+                $version: "2"
+                namespace com.foo
+                structure Bar {}
+                """);
+        Project project = ProjectTest.load(workspace.getRoot());
+        String uri0 = workspace.getUri("model-0.smithy");
+        String uri1 = workspace.getUri("model-1.smithy");
+        appendText(project, uri0, "structure Baz {}\n");
+        appendText(project, uri1, "structure Qux {}\n");
+
+        ProjectRebuilds rebuilds = new ProjectRebuilds(ForkJoinPool.commonPool(), 200);
+        CompletableFuture<Void> first = rebuilds.schedule(project, uri0, false);
+        CompletableFuture<Void> second = rebuilds.schedule(project, uri1, false);
+        CompletableFuture<Void> third = rebuilds.schedule(project, uri0, true);
+        CompletableFuture.allOf(first, second, third).get();
+
+        Model model = project.modelResult().unwrap();
+        assertThat(model.getShape(ShapeId.from("com.foo#Baz")).isPresent(), is(true));
+        assertThat(model.getShape(ShapeId.from("com.foo#Qux")).isPresent(), is(true));
+        assertThat(rebuilds.stats(), equalTo(new ProjectRebuilds.Stats(0, 3, 2, 1, 0, 0)));
+    }
+
+    @Test
+    public void cancelDropsPendingRebuild() {
+        TestWorkspace workspace = TestWorkspace.singleModel("""
+                $version: "2"
+                namespace com.foo
+                structure Foo {}
+                """);
+        Project project = ProjectTest.load(workspace.getRoot());
+        String uri = workspace.getUri("main.smithy");
+
+        ProjectRebuilds rebuilds = new ProjectRebuilds(ForkJoinPool.commonPool(), 60_000);
+        CompletableFuture<Void> future = rebuilds.schedule(project, uri, false);
+        assertThat(rebuilds.stats().pendingFiles(), equalTo(1));
+
+        rebuilds.cancel(project);
+
+        assertThat(future.isCompletedExceptionally(), is(true));
+        assertThat(rebuilds.stats(), equalTo(new ProjectRebuilds.Stats(0, 1, 0, 0, 1, 0)));
+    }
+
+    @Test
+    public void continuousChangesStillPublish() throws Exception {
+        TestWorkspace workspace = TestWorkspace.singleModel("""
+                $version: "2"
+                namespace com.foo
+                structure Foo {}
+                """);
+        Project project = ProjectTest.load(workspace.getRoot());
+        String uri = workspace.getUri("main.smithy");
+        appendText(project, uri, "structure Bar {}\n");
+
+        ProjectRebuilds rebuilds = new ProjectRebuilds(ForkJoinPool.commonPool(), 0, 50);
+        CompletableFuture<Void> first = rebuilds.schedule(project, uri, true);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!first.isDone() && System.nanoTime() < deadline) {
+            // Keeps superseding the running rebuild until its change is too stale
+            rebuilds.schedule(project, uri, true);
+            Thread.sleep(1);
+        }
+
+        assertThat(first.isDone(), is(true));
+        first.get();
+        Model model = project.modelResult().unwrap();
+        assertThat(model.getShape(ShapeId.from("com.foo#Bar")).isPresent(), is(true));
+    }
+
+    private static void appendText(Project project, String uri, String text) {
+        Document document = project.getProjectFile(uri).document();
+        document.applyEdit(LspAdapter.point(document.end()), text);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class ServerExecutorsTest {
+    @Test
+    public void buildsDoNotBlockRequests() throws Exception {
+        ServerExecutors executors = ServerExecutors.create(ServerOptions.builder()
+                .setBuildThreads(1)
+                .build());
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Void> build = CompletableFuture.runAsync(() -> await(release), executors.builds());
+
+            String result = CompletableFuture.supplyAsync(() -> "hover", executors.requests()).get(5, TimeUnit.SECONDS);
+            assertThat(result, equalTo("hover"));
+
+            release.countDown();
+            build.get(5, TimeUnit.SECONDS);
+        } finally {
+            executors.shutdown();
+        }
+    }
+
+    @Test
+    public void tracksQueuedTasks() throws Exception {
+        ServerExecutors executors = ServerExecutors.create(ServerOptions.builder()
+                .setDiagnosticsThreads(1)
+                .build());
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+                started.countDown();
+                await(release);
+            }, executors.diagnostics());
+            CompletableFuture<Void> second = CompletableFuture.runAsync(() -> { }, executors.diagnostics());
+            started.await(5, TimeUnit.SECONDS);
+
+            assertThat(executors.stats(), contains(
+                    new ServerExecutors.PoolStats("request", 0, 0, 0),
+                    new ServerExecutors.PoolStats("build", 0, 0, 0),
+                    new ServerExecutors.PoolStats("diagnostics", 1, 1, 0),
+                    new ServerExecutors.PoolStats("load", 0, 0, 0)));
+
+            release.countDown();
+            CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        } finally {
+            executors.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
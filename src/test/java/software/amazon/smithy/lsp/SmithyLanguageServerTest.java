@@ -50,10 +50,19 @@ import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.ProgressParams;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.ReferenceParams;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
+import org.eclipse.lsp4j.SemanticTokensParams;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.WorkDoneProgressBegin;
+import org.eclipse.lsp4j.WorkDoneProgressEnd;
+import org.eclipse.lsp4j.WorkDoneProgressReport;
+import org.eclipse.lsp4j.WorkspaceFolder;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.build.model.MavenConfig;
@@ -197,7 +206,7 @@ public class SmithyLanguageServerTest {
                 .uri(uri)
                 .position(rangeBuilder.shiftRight().build().getStart())
                 .buildCompletion();
-        List<CompletionItem> completions = server.completion(completionParams).get().getLeft();
+        List<CompletionItem> completions = server.completion(completionParams).get().getRight().getItems();
 
         assertThat(completions, hasItem(hasLabel("GetFooInput")));
     }
@@ -370,6 +379,7 @@ public class SmithyLanguageServerTest {
                 .initializationOptions(opts)
                 .build())
                 .get();
+        server.workspaceLoads().get();
 
         String uri = workspace.getUri("main.smithy");
 
@@ -437,6 +447,44 @@ public class SmithyLanguageServerTest {
         assertThat(content, containsString("document default"));
     }
 
+    @Test
+    public void semanticTokensDeltaFromPreviousResult() throws Exception {
+        String model = safeString("""
+                $version: "2"
+                namespace com.foo
+                string Foo
+                """);
+        TestWorkspace workspace = TestWorkspace.singleModel(model);
+        SmithyLanguageServer server = initFromWorkspace(workspace);
+        String uri = workspace.getUri("main.smithy");
+        server.didOpen(RequestBuilders.didOpen()
+                .uri(uri)
+                .text(model)
+                .build());
+
+        SemanticTokens full = server.semanticTokensFull(
+                new SemanticTokensParams(new TextDocumentIdentifier(uri))).get();
+
+        server.didChange(RequestBuilders.didChange()
+                .uri(uri)
+                .range(LspAdapter.point(3, 0))
+                .text(safeString("string Bar\n"))
+                .build());
+        server.getState().lifecycleTasks().waitForAllTasks();
+        var delta = server.semanticTokensFullDelta(
+                new SemanticTokensDeltaParams(new TextDocumentIdentifier(uri), full.getResultId())).get();
+
+        assertThat(delta.isRight(), is(true));
+        assertThat(delta.getRight().getEdits(), hasSize(1));
+        // Only the tokens of the new shape
+        assertThat(delta.getRight().getEdits().get(0).getData(), hasSize(2 * 5));
+
+        var unknownPrevious = server.semanticTokensFullDelta(
+                new SemanticTokensDeltaParams(new TextDocumentIdentifier(uri), "unknown")).get();
+
+        assertThat(unknownPrevious.isLeft(), is(true));
+    }
+
     @Test
     public void addingWatchedFile() throws Exception {
         TestWorkspace workspace = TestWorkspace.emptyWithDirSource();
@@ -1569,6 +1617,140 @@ public class SmithyLanguageServerTest {
         assertThat(server.getState().workspacePaths(), contains(root));
     }
 
+    @Test
+    public void reportsProgressForEachLoadedRoot() throws Exception {
+        Path root = Files.createTempDirectory("test");
+        root.toFile().deleteOnExit();
+
+        List<TestWorkspace> workspaces = new ArrayList<>();
+        for (String name : List.of("foo", "bar", "baz")) {
+            workspaces.add(TestWorkspace.builder()
+                    .withRoot(root)
+                    .withPath(name)
+                    .withSourceFile(name + ".smithy", """
+                            $version: "2"
+                            namespace com.%s
+                            structure Shape {}
+                            """.formatted(name))
+                    .build());
+        }
+
+        StubClient client = new StubClient();
+        SmithyLanguageServer server = new SmithyLanguageServer();
+        server.connect(client);
+        InitializeParams params = RequestBuilders.initialize()
+                .workspaceFolder(root.toUri().toString(), "test")
+                .build();
+        params.setWorkDoneToken("init");
+        server.initialize(params).get();
+        server.workspaceLoads().get();
+
+        List<Integer> percentages = client.progress.stream()
+                .map(progress -> progress.getValue().getLeft())
+                .filter(notification -> notification instanceof WorkDoneProgressReport)
+                .map(notification -> ((WorkDoneProgressReport) notification).getPercentage())
+                .toList();
+        assertThat(percentages, containsInAnyOrder(33, 66, 100));
+        for (TestWorkspace workspace : workspaces) {
+            assertThat(server.getState().findProjectByRoot(workspace.getName()), notNullValue());
+        }
+    }
+
+    @Test
+    public void shutsDownExecutorsOnShutdown() throws Exception {
+        TestWorkspace workspace = TestWorkspace.emptyWithDirSource();
+        SmithyLanguageServer server = initFromWorkspace(workspace);
+        ServerExecutors executors = server.getExecutors();
+
+        assertThat(executors.isShutdown(), is(false));
+
+        server.shutdown().get();
+
+        assertThat(executors.isShutdown(), is(true));
+    }
+
+    @Test
+    public void keepsFilesOpenedBeforeTheirProjectIsLoaded() {
+        TestWorkspace workspace = TestWorkspace.singleModel("""
+                $version: "2"
+                namespace com.foo
+                structure Foo {}
+                """);
+        String uri = workspace.getUri("main.smithy");
+        String openedText = """
+                $version: "2"
+                namespace com.foo
+                structure Foo {}
+                structure Bar {}
+                """;
+
+        ServerState state = new ServerState();
+        List<Runnable> loads = new ArrayList<>();
+        CompletableFuture<Void> loaded = state.loadWorkspace(
+                new WorkspaceFolder(workspace.getRoot().toUri().toString(), workspace.getName()),
+                loads::add,
+                (root, loadedCount, total) -> {});
+
+        state.open(uri, openedText);
+        assertThat(state.findProjectAndFile(uri).project().type(), equalTo(Project.Type.DETACHED));
+
+        loads.forEach(Runnable::run);
+
+        assertThat(loaded.isDone(), is(true));
+        ProjectAndFile projectAndFile = state.findProjectAndFile(uri);
+        assertThat(projectAndFile.project().type(), equalTo(Project.Type.NORMAL));
+        assertThat(projectAndFile.file().document().copyText(), equalTo(openedText));
+    }
+
+    @Test
+    public void streamsReferencesAsPartialResults() throws Exception {
+        TestWorkspace workspace = TestWorkspace.multipleModels(
+                safeString("""
+                        $version: "2"
+                        namespace com.foo
+                        structure Foo {}
+                        structure Bar {
+                            foo: Foo
+                        }
+                        """),
+                safeString("""
+                        $version: "2"
+                        namespace com.foo
+                        structure Baz {
+                            foo: Foo
+                        }
+                        """));
+        StubClient client = new StubClient();
+        SmithyLanguageServer server = initFromWorkspace(workspace, client);
+        String uri = workspace.getUri("model-1.smithy");
+
+        ReferenceParams params = RequestBuilders.positionRequest()
+                .uri(uri)
+                .line(3)
+                .character(10)
+                .buildReference();
+        params.setPartialResultToken("refs");
+        params.setWorkDoneToken("work");
+        List<? extends Location> result = server.references(params).get();
+
+        List<Location> streamed = new ArrayList<>();
+        List<Object> workDone = new ArrayList<>();
+        for (ProgressParams progress : client.progress) {
+            if (progress.getToken().getLeft().equals("refs")) {
+                for (Object location : (List<?>) progress.getValue().getRight()) {
+                    streamed.add((Location) location);
+                }
+            } else if (progress.getToken().getLeft().equals("work")) {
+                workDone.add(progress.getValue().getLeft());
+            }
+        }
+
+        assertThat(result, empty());
+        assertThat(streamed, hasSize(3));
+        assertThat(workDone.getFirst(), instanceOf(WorkDoneProgressBegin.class));
+        assertThat(workDone.getLast(), instanceOf(WorkDoneProgressEnd.class));
+    }
+
     @Test
     public void addingRootsToWorkspace() throws Exception {
         Path root = Files.createTempDirectory("test");
@@ -1913,6 +2095,14 @@ public class SmithyLanguageServerTest {
         JsonObject opts = new JsonObject();
         opts.add("diagnostics.minimumSeverity", new JsonPrimitive("ERROR"));
         opts.add("onlyReloadOnSave", new JsonPrimitive(true));
+        opts.add("rebuild.debounceMillis", new JsonPrimitive(25));
+        opts.add("diagnostics.debounceMillis", new JsonPrimitive(10));
+        opts.add("executors.requestThreads", new JsonPrimitive(8));
+        opts.add("executors.buildThreads", new JsonPrimitive(0));
+        opts.add("executors.virtualThreads", new JsonPrimitive(true));
+        opts.add("executors.loadThreads", new JsonPrimitive(16));
+        opts.add("metrics.logIntervalSeconds", new JsonPrimitive(60));
+        opts.add("cache.validationEvents", new JsonPrimitive(true));
 
         // Create InitializeParams with the options
         InitializeParams params = new InitializeParams();
@@ -1923,6 +2113,14 @@ public class SmithyLanguageServerTest {
 
         assertThat(options.getMinimumSeverity(), equalTo(Severity.ERROR));
         assertThat(options.getOnlyReloadOnSave(), equalTo(true));
+        assertThat(options.getRebuildDebounceMillis(), equalTo(25L));
+        assertThat(options.getDiagnosticsDebounceMillis(), equalTo(10L));
+        assertThat(options.getRequestThreads(), equalTo(8));
+        assertThat(options.getBuildThreads(), equalTo(2)); // Invalid, so the default is used
+        assertThat(options.getLoadThreads(), equalTo(16));
+        assertThat(options.getUseVirtualThreads(), equalTo(true));
+        assertThat(options.getMetricsLogIntervalSeconds(), equalTo(60L));
+        assertThat(options.getCacheValidationEvents(), equalTo(true));
     }
 
     @Test
@@ -2258,6 +2456,7 @@ public class SmithyLanguageServerTest {
                     .workspaceFolder(workspace.getRoot().toUri().toString(), workspace.getName())
                     .build())
                     .get();
+            server.workspaceLoads().get();
 
             return server;
         } catch (Exception e) {
@@ -2277,6 +2476,7 @@ public class SmithyLanguageServerTest {
 
         try {
             server.initialize(initialize.build()).get();
+            server.workspaceLoads().get();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -2294,6 +2494,7 @@ public class SmithyLanguageServerTest {
                     .workspaceFolder(root.toUri().toString(), "test")
                     .build())
                     .get();
+            server.workspaceLoads().get();
 
             return server;
         } catch (Exception e) {
@@ -17,6 +17,7 @@ public final class StubClient implements LanguageClient {
     public final List<PublishDiagnosticsParams> diagnostics = new ArrayList<>();
     public List<MessageParams> shown = new ArrayList<>();
     public List<MessageParams> logged = new ArrayList<>();
+    public final List<ProgressParams> progress = new ArrayList<>();
 
     public StubClient() {
     }
@@ -72,5 +73,9 @@ public final class StubClient implements LanguageClient {
     }
 
     @Override
-    public void notifyProgress(ProgressParams params) {}
+    public void notifyProgress(ProgressParams params) {
+        synchronized (this.progress) {
+            this.progress.add(params);
+        }
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.diagnostics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+public class ValidationEventIndexTest {
+    @Test
+    public void indexesEventsByFileMostSevereFirst() {
+        ValidationEvent warning = event("a.smithy", Severity.WARNING, "warning");
+        ValidationEvent error = event("a.smithy", Severity.ERROR, "error");
+        ValidationEvent note = event("a.smithy", Severity.NOTE, "note");
+        ValidationEvent danger = event("a.smithy", Severity.DANGER, "danger");
+        ValidationEvent other = event("b.smithy", Severity.ERROR, "other");
+        ValidationEventIndex index = ValidationEventIndex.create(List.of(warning, error, other, note, danger));
+
+        assertThat(index.getEvents("a.smithy", Severity.NOTE), contains(error, danger, warning, note));
+        assertThat(index.getEvents("a.smithy", Severity.WARNING), contains(error, danger, warning));
+        assertThat(index.getEvents("b.smithy", Severity.WARNING), contains(other));
+        assertThat(index.getEvents("c.smithy", Severity.NOTE), empty());
+    }
+
+    @Test
+    public void keepsOrderOfEventsWithSameSeverity() {
+        ValidationEvent first = event("a.smithy", Severity.ERROR, "first");
+        ValidationEvent note = event("a.smithy", Severity.NOTE, "note");
+        ValidationEvent second = event("a.smithy", Severity.ERROR, "second");
+        ValidationEventIndex index = ValidationEventIndex.create(List.of(first, note, second));
+
+        assertThat(index.getEvents("a.smithy", Severity.ERROR), contains(first, second));
+    }
+
+    private static ValidationEvent event(String filename, Severity severity, String message) {
+        return ValidationEvent.builder()
+                .id("Test")
+                .severity(severity)
+                .message(message)
+                .sourceLocation(new SourceLocation(filename))
+                .build();
+    }
+}
@@ -10,6 +10,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.util.Random;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.hamcrest.CustomTypeSafeMatcher;
@@ -17,6 +18,7 @@ import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.lsp.TextWithPositions;
+import software.amazon.smithy.lsp.protocol.LspAdapter;
 import software.amazon.smithy.lsp.protocol.RangeBuilder;
 
 public class DocumentTest {
@@ -198,6 +200,52 @@ public class DocumentTest {
         assertThat(document.indexOfLine(1), equalTo(safeIndex(3, 1)));
     }
 
+    @Test
+    public void keepsLineIndicesInSyncAcrossManyEdits() {
+        String[] insertions = {"", "a", "\n", "\r\n", "bc\nd", "\n\n", "ef gh"};
+        Random random = new Random(0);
+        String expected = safeString("abc\ndef\n\nghi\n");
+        Document document = Document.of(expected);
+
+        for (int i = 0; i < 1000; i++) {
+            int start = random.nextInt(expected.length() + 1);
+            int end = start + random.nextInt(Math.min(5, expected.length() - start) + 1);
+            String text = insertions[random.nextInt(insertions.length)];
+
+            Document reference = Document.of(expected);
+            Range editRange = reference.rangeBetween(start, end);
+            if (editRange == null) {
+                // Editing at the very end of the document
+                editRange = LspAdapter.point(reference.end());
+            }
+
+            document.applyEdit(editRange, text);
+            expected = expected.substring(0, start) + text + expected.substring(end);
+
+            Document fresh = Document.of(expected);
+            assertThat(document.copyText(), equalTo(expected));
+            assertThat(document.lastLine(), equalTo(fresh.lastLine()));
+            for (int line = 0; line <= fresh.lastLine(); line++) {
+                assertThat(document.indexOfLine(line), equalTo(fresh.indexOfLine(line)));
+            }
+        }
+    }
+
+    @Test
+    public void mergesEditsIntoChangeSince() {
+        Document document = Document.of("abc\ndef\nghi");
+        int version = document.version();
+
+        document.applyEdit(document.rangeBetween(5, 6), "xyz\n");
+        document.applyEdit(document.rangeBetween(1, 2), "");
+        document.applyEdit(document.rangeBetween(8, 11), "");
+
+        assertThat(document.copyText(), equalTo("ac\ndxyz\nhi"));
+        assertThat(document.changeSince(version), equalTo(new Document.Change(1, 9, 8, 0)));
+        assertThat(document.changeSince(document.version()), equalTo(new Document.Change(0, 0, 0, 0)));
+        assertThat(document.changeSince(version + 100), nullValue());
+    }
+
     @Test
     public void getsIndexOfLine() {
         String s = """
@@ -0,0 +1,85 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.document;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class RopeTest {
+    @Test
+    public void toStringOfCreatedRopeIsOriginalString() {
+        String text = "a".repeat(Rope.MAX_LEAF * 3 + 5);
+        Rope rope = Rope.of(text);
+
+        assertThat(rope.toString(), sameInstance(text));
+        assertThat(rope.length(), equalTo(text.length()));
+    }
+
+    @Test
+    public void replaceDoesNotModifyOriginal() {
+        Rope rope = Rope.of("abcdef");
+        Rope edited = rope.replace(1, 3, "xyz");
+
+        assertThat(rope.toString(), equalTo("abcdef"));
+        assertThat(edited.toString(), equalTo("axyzdef"));
+    }
+
+    @Test
+    public void matchesStringBuilderAcrossRandomEdits() {
+        Random random = new Random(0);
+        StringBuilder expected = new StringBuilder(randomText(random, Rope.MAX_LEAF * 8));
+        Rope rope = Rope.of(expected.toString());
+
+        for (int i = 0; i < 2000; i++) {
+            int start = random.nextInt(expected.length() + 1);
+            int end = start + random.nextInt(Math.min(Rope.MAX_LEAF * 2, expected.length() - start) + 1);
+            String text = randomText(random, i % 50 == 0 ? Rope.MAX_LEAF * 3 : 3);
+
+            rope = rope.replace(start, end, text);
+            expected.replace(start, end, text);
+
+            assertThat(rope.length(), equalTo(expected.length()));
+            int from = random.nextInt(expected.length() + 1);
+            assertThat(rope.indexOf("ab", from), equalTo(expected.indexOf("ab", from)));
+            assertThat(rope.lastIndexOf("ab", from), equalTo(expected.lastIndexOf("ab", from)));
+            int subStart = random.nextInt(expected.length() + 1);
+            int subEnd = subStart + random.nextInt(expected.length() - subStart + 1);
+            assertThat(rope.subSequence(subStart, subEnd).toString(), equalTo(expected.substring(subStart, subEnd)));
+        }
+
+        String actual = rope.toString();
+        assertThat(actual, equalTo(expected.toString()));
+        for (int i = 0; i < expected.length(); i++) {
+            assertThat(rope.charAt(i), equalTo(expected.charAt(i)));
+        }
+    }
+
+    @Test
+    public void staysBalancedWhenEditingOneSpot() {
+        Rope rope = Rope.of("a".repeat(Rope.MAX_LEAF * 64));
+        for (int i = 0; i < 10_000; i++) {
+            rope = rope.replace(Rope.MAX_LEAF * 32, Rope.MAX_LEAF * 32, "b".repeat(i % 7));
+        }
+
+        int leaves = rope.length() / (Rope.MAX_LEAF / 16);
+        int maxHeight = 2 * (32 - Integer.numberOfLeadingZeros(leaves));
+        assertThat(rope.height(), lessThanOrEqualTo(maxHeight));
+    }
+
+    private static String randomText(Random random, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append("abc\n".charAt(random.nextInt(4)));
+        }
+        return builder.toString();
+    }
+}
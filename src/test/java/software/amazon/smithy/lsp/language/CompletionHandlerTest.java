@@ -13,6 +13,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
@@ -20,6 +21,7 @@ import static org.hamcrest.Matchers.startsWith;
 import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.lsp4j.CompletionItem;
+import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.CompletionParams;
 import org.eclipse.lsp4j.Position;
 import org.junit.jupiter.api.Test;
@@ -1109,6 +1111,33 @@ public class CompletionHandlerTest {
         assertThat(comps, hasItems("myId", "String"));
     }
 
+    @Test
+    public void capsShapeCompletions() {
+        StringBuilder model = new StringBuilder("""
+                $version: "2"
+                namespace com.foo
+                structure Foo {
+                    foo: Gen%
+                }
+                """);
+        for (int i = 0; i <= ShapeCompleter.MAX_SHAPE_COMPLETIONS; i++) {
+            model.append("string Generated").append(i).append(System.lineSeparator());
+        }
+        TextWithPositions text = TextWithPositions.from(model.toString());
+
+        CompletionList all = getCompList(text);
+        assertThat(all.isIncomplete(), is(true));
+        assertThat(all.getItems(), hasSize(ShapeCompleter.MAX_SHAPE_COMPLETIONS));
+        assertThat(all.getItems().getFirst().getLabel(), equalTo("Generated0"));
+
+        TextWithPositions narrowed = TextWithPositions.from(model.toString().replace("Gen%", "Generated99%"));
+        CompletionList some = getCompList(narrowed);
+        assertThat(some.isIncomplete(), is(false));
+        assertThat(some.getItems().stream().map(CompletionItem::getLabel).toList(), contains(
+                "Generated99", "Generated990", "Generated991", "Generated992", "Generated993",
+                "Generated994", "Generated995", "Generated996", "Generated997", "Generated998", "Generated999"));
+    }
+
     private static List<String> getCompLabels(TextWithPositions textWithPositions) {
         return getCompLabels(textWithPositions.text(), textWithPositions.positions());
     }
@@ -1117,6 +1146,19 @@ public class CompletionHandlerTest {
         return getCompItems(text, positions).stream().map(CompletionItem::getLabel).toList();
     }
 
+    private static CompletionList getCompList(TextWithPositions textWithPositions) {
+        TestWorkspace workspace = TestWorkspace.singleModel(textWithPositions.text());
+        Project project = ProjectTest.load(workspace.getRoot());
+        String uri = workspace.getUri("main.smithy");
+        IdlFile smithyFile = (IdlFile) (SmithyFile) project.getProjectFile(uri);
+
+        CompletionParams params = RequestBuilders.positionRequest()
+                .uri(uri)
+                .position(textWithPositions.positions()[0])
+                .buildCompletion();
+        return new CompletionHandler(project, smithyFile).handle(params, () -> {});
+    }
+
     private static List<CompletionItem> getCompItems(String text, Position... positions) {
         TestWorkspace workspace = TestWorkspace.singleModel(text);
         Project project = ProjectTest.load(workspace.getRoot());
@@ -1130,7 +1172,7 @@ public class CompletionHandlerTest {
                     .uri(uri)
                     .position(position)
                     .buildCompletion();
-            completionItems.addAll(handler.handle(params, () -> {}));
+            completionItems.addAll(handler.handle(params, () -> {}).getItems());
         }
 
         return completionItems;
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import software.amazon.smithy.lsp.ServerState;
 import software.amazon.smithy.lsp.TestWorkspace;
 import software.amazon.smithy.lsp.TextWithPositions;
+import software.amazon.smithy.lsp.protocol.LspAdapter;
 import software.amazon.smithy.lsp.project.IdlFile;
 import software.amazon.smithy.lsp.project.Project;
 import software.amazon.smithy.lsp.project.ProjectLoader;
@@ -15,6 +16,7 @@ import software.amazon.smithy.lsp.project.ProjectTest;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static software.amazon.smithy.lsp.document.DocumentTest.safeString;
@@ -437,6 +439,33 @@ public class FoldingRangeHandlerTest {
         assertThat(ranges, hasSize(3));
     }
 
+    @Test
+    public void foldingRangesAreComputedOncePerParse() {
+        TestWorkspace workspace = TestWorkspace.singleModel("""
+                $version: "2"
+                namespace com.foo
+
+                structure Foo {
+                    bar: String
+                }
+                """);
+        Project project = ProjectTest.load(workspace.getRoot());
+        IdlFile idlFile = (IdlFile) project.getProjectFile(workspace.getUri("main.smithy"));
+
+        var ranges = FoldingRangeHandler.handle(idlFile);
+
+        assertThat(FoldingRangeHandler.handle(idlFile), sameInstance(ranges));
+
+        idlFile.document().applyEdit(LspAdapter.point(idlFile.document().end()), """
+                structure Bar {
+                    baz: String
+                }
+                """);
+        idlFile.reparse();
+
+        assertThat(FoldingRangeHandler.handle(idlFile), hasSize(2));
+    }
+
     private static List<int[]> getFoldingRanges(String text) {
         TestWorkspace workspace = TestWorkspace.singleModel(text);
         Project project = ProjectTest.load(workspace.getRoot());
@@ -9,6 +9,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
 import static software.amazon.smithy.lsp.document.DocumentTest.safeString;
 
 import java.util.ArrayList;
@@ -23,6 +24,7 @@ import software.amazon.smithy.lsp.project.IdlFile;
 import software.amazon.smithy.lsp.project.Project;
 import software.amazon.smithy.lsp.project.ProjectTest;
 import software.amazon.smithy.lsp.project.SmithyFile;
+import software.amazon.smithy.lsp.protocol.LspAdapter;
 
 public class HoverHandlerTest {
     @Test
@@ -360,6 +362,40 @@ public class HoverHandlerTest {
         ));
     }
 
+    @Test
+    public void hoverReflectsLatestModel() {
+        TextWithPositions text = TextWithPositions.from("""
+                $version: "2"
+                namespace com.foo
+
+                structure Foo {
+                    bar: %Bar
+                }
+
+                string Bar
+                """);
+        TestWorkspace workspace = TestWorkspace.singleModel(text.text());
+        Project project = ProjectTest.load(workspace.getRoot());
+        String uri = workspace.getUri("main.smithy");
+        IdlFile idlFile = (IdlFile) project.getProjectFile(uri);
+        HoverHandler handler = new HoverHandler(project, idlFile);
+        HoverParams params = RequestBuilders.positionRequest()
+                .uri(uri)
+                .position(text.positions()[0])
+                .buildHover();
+
+        String hover = handler.handle(params).getContents().getRight().getValue();
+
+        assertThat(handler.handle(params).getContents().getRight().getValue(), equalTo(hover));
+
+        idlFile.document().applyEdit(LspAdapter.point(idlFile.document().end()), """
+                apply Bar @length(min: 1)
+                """);
+        project.updateAndValidateModel(uri);
+
+        assertThat(handler.handle(params).getContents().getRight().getValue(), containsString("@length"));
+    }
+
     private static List<String> getHovers(TextWithPositions text) {
         return getHovers(text.text(), text.positions());
     }
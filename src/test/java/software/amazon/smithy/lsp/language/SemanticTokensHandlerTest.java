@@ -0,0 +1,265 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.language;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.lsp.syntax.Syntax;
+
+public class SemanticTokensHandlerTest {
+    @Test
+    public void tokensOfStatements() {
+        String text = """
+                $version: "2"
+                namespace com.foo
+                use com.bar#Baz
+                metadata foo = [1, true]
+
+                @tags(["a"])
+                structure Foo with [Baz] {
+                    @required
+                    bar: String
+                    $baz
+                }
+
+                enum Qux {
+                    A = "a"
+                }
+
+                operation Op {
+                    input := for Foo {
+                        id: String
+                    }
+                    errors: [Err]
+                }
+
+                apply Foo$bar @length(min: 1)
+                """;
+
+        assertThat(tokens(text), contains(
+                "$version keyword",
+                "\"2\" string",
+                "namespace keyword",
+                "com.foo namespace",
+                "use keyword",
+                "com.bar#Baz type",
+                "metadata keyword",
+                "foo property",
+                "1 number",
+                "true keyword",
+                "@tags decorator",
+                "\"a\" string",
+                "structure keyword",
+                "Foo type declaration",
+                "with keyword",
+                "Baz type",
+                "@required decorator",
+                "bar property declaration",
+                "String type",
+                "$baz property declaration",
+                "enum keyword",
+                "Qux type declaration",
+                "A enumMember declaration",
+                "\"a\" string",
+                "operation keyword",
+                "Op type declaration",
+                "input property declaration",
+                "for keyword",
+                "Foo type",
+                "id property declaration",
+                "String type",
+                "errors property",
+                "Err type",
+                "apply keyword",
+                "Foo$bar type",
+                "@length decorator",
+                "min property",
+                "1 number"));
+    }
+
+    @Test
+    public void splitsMultilineTokensByLine() {
+        String text = """
+                @documentation(\"""
+                    Foo
+                    \""")
+                string Foo
+                """;
+
+        assertThat(tokens(text), contains(
+                "@documentation decorator",
+                "\"\"\" string",
+                "    Foo string",
+                "    \"\"\" string",
+                "string keyword",
+                "Foo type declaration"));
+    }
+
+    @Test
+    public void excludesParenthesesFromTraitValues() {
+        String text = """
+                @since( "1.0" )
+                @idRef(failWhenMissing: true)
+                string Foo
+                """;
+
+        assertThat(tokens(text), contains(
+                "@since decorator",
+                "\"1.0\" string",
+                "@idRef decorator",
+                "failWhenMissing property",
+                "true keyword",
+                "string keyword",
+                "Foo type declaration"));
+    }
+
+    @Test
+    public void deltaOnlyContainsChangedTokens() {
+        String before = """
+                structure Foo {
+                    bar: String
+                }
+
+                structure Bar {
+                    baz: String
+                }
+                """;
+        String after = """
+                structure Foo {
+                    bar: String
+                    qux: Integer
+                }
+
+                structure Bar {
+                    baz: String
+                }
+                """;
+        var previous = new SemanticTokensHandler.Encoded("1", encode(before));
+        var current = new SemanticTokensHandler.Encoded("2", encode(after));
+
+        SemanticTokensDelta delta = SemanticTokensHandler.delta(previous, current);
+
+        assertThat(delta.getResultId(), equalTo("2"));
+        assertThat(delta.getEdits(), hasSize(1));
+        SemanticTokensEdit edit = delta.getEdits().get(0);
+        // Tokens are relative to the one before them, so only the tokens of
+        // the new member are inserted
+        assertThat(edit.getStart(), equalTo(4 * 5));
+        assertThat(edit.getDeleteCount(), equalTo(0));
+        assertThat(edit.getData(), hasSize(2 * 5));
+        assertThat(apply(previous.data(), edit), equalTo(toList(current.data())));
+    }
+
+    @Test
+    public void deltaOfSameTokensIsEmpty() {
+        int[] data = encode("""
+                string Foo
+                """);
+
+        SemanticTokensDelta delta = SemanticTokensHandler.delta(
+                new SemanticTokensHandler.Encoded("1", data),
+                new SemanticTokensHandler.Encoded("2", data));
+
+        assertThat(delta.getEdits(), empty());
+    }
+
+    @Test
+    public void findsEitherOfTheLastTwoSentResults() {
+        var first = new SemanticTokensHandler.Encoded("1", new int[0]);
+        var second = new SemanticTokensHandler.Encoded("2", new int[0]);
+        var third = new SemanticTokensHandler.Encoded("3", new int[0]);
+
+        var sent = new SemanticTokensHandler.Sent(first).with(second);
+        assertThat(sent.find("1"), sameInstance(first));
+        assertThat(sent.find("2"), sameInstance(second));
+
+        sent = sent.with(third).with(third);
+        assertThat(sent.find("1"), nullValue());
+        assertThat(sent.find("2"), sameInstance(second));
+        assertThat(sent.find("3"), sameInstance(third));
+    }
+
+    @Test
+    public void rangeOnlyIncludesStatementsInRange() {
+        String text = """
+                string Foo
+
+                structure Bar {
+                    baz: String
+                }
+
+                string Qux
+                """;
+        Document document = Document.of(text);
+        var handler = new SemanticTokensHandler(document, Syntax.parseIdl(document).statements());
+        int start = text.indexOf("baz");
+        int end = text.indexOf("String", start);
+
+        assertThat(decode(document, handler.encode(start, end)), contains(
+                "baz property declaration",
+                "String type"));
+    }
+
+    private static List<String> tokens(String text) {
+        Document document = Document.of(text);
+        return decode(document, encode(text));
+    }
+
+    private static int[] encode(String text) {
+        Document document = Document.of(text);
+        var handler = new SemanticTokensHandler(document, Syntax.parseIdl(document).statements());
+        return handler.encode(0, Integer.MAX_VALUE);
+    }
+
+    // Decodes each token into its text and type, and modifier if it has one
+    private static List<String> decode(Document document, int[] data) {
+        List<String> tokens = new ArrayList<>();
+        int line = 0;
+        int character = 0;
+        for (int i = 0; i < data.length; i += 5) {
+            if (data[i] > 0) {
+                line += data[i];
+                character = 0;
+            }
+            character += data[i + 1];
+            int start = document.indexOfLine(line) + character;
+            String token = document.copySpan(start, start + data[i + 2])
+                           + " " + SemanticTokensHandler.LEGEND.getTokenTypes().get(data[i + 3]);
+            if (data[i + 4] != 0) {
+                token += " " + SemanticTokensHandler.LEGEND.getTokenModifiers().get(0);
+            }
+            tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static List<Integer> apply(int[] data, SemanticTokensEdit edit) {
+        List<Integer> result = new ArrayList<>(toList(data));
+        result.subList(edit.getStart(), edit.getStart() + edit.getDeleteCount()).clear();
+        result.addAll(edit.getStart(), edit.getData());
+        return result;
+    }
+
+    private static List<Integer> toList(int[] data) {
+        List<Integer> list = new ArrayList<>();
+        for (int value : data) {
+            list.add(value);
+        }
+        return list;
+    }
+}
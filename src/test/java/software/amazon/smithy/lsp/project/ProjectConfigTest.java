@@ -10,6 +10,7 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
@@ -20,12 +21,15 @@ import static software.amazon.smithy.lsp.SmithyMatchers.eventWithSourceLocation;
 import static software.amazon.smithy.lsp.project.ProjectTest.toPath;
 import static software.amazon.smithy.lsp.protocol.LspAdapter.toSourceLocation;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.eclipse.lsp4j.Position;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import software.amazon.smithy.build.model.MavenRepository;
 import software.amazon.smithy.cli.dependencies.DependencyResolver;
 import software.amazon.smithy.cli.dependencies.DependencyResolverException;
@@ -263,6 +267,67 @@ public class ProjectConfigTest {
         ));
     }
 
+    @Test
+    public void reusesCachedMavenResolution(@TempDir Path tempDir) throws Exception {
+        Path cacheDir = tempDir.resolve("resolution-cache");
+        Path artifact = Files.createFile(tempDir.resolve("dependency.jar"));
+
+        AtomicInteger resolveCount = new AtomicInteger();
+        Supplier<DependencyResolver> resolverFactory = () -> new DependencyResolver() {
+            @Override
+            public void addRepository(MavenRepository mavenRepository) {
+            }
+
+            @Override
+            public void addDependency(String s) {
+            }
+
+            @Override
+            public List<ResolvedArtifact> resolve() {
+                resolveCount.incrementAndGet();
+                return List.of(ResolvedArtifact.fromCoordinates(artifact, "com.foo:bar:1.0.0"));
+            }
+        };
+        var root = Path.of("test");
+        var buildFiles = createBuildFiles(root, BuildFileType.SMITHY_BUILD, """
+                {
+                    "version": "1",
+                    "maven": {
+                        "dependencies": ["com.foo:bar:1.0.0"],
+                        "repositories": [
+                            {
+                                "url": "https://example.com/maven"
+                            }
+                        ]
+                    }
+                }
+                """);
+        var cache = new MavenResolutionCache(cacheDir);
+
+        var first = ProjectConfigLoader.load(root, buildFiles, resolverFactory, cache);
+        var second = ProjectConfigLoader.load(root, buildFiles, resolverFactory, cache);
+
+        assertThat(resolveCount.get(), equalTo(1));
+        assertThat(second.config().resolvedDependencies(), equalTo(first.config().resolvedDependencies()));
+
+        // Stale entries aren't used
+        Files.delete(artifact);
+        assertThat(cache.get(MavenResolutionCache.key(
+                first.config().maven().getRepositories(),
+                first.config().maven().getDependencies())), nullValue());
+    }
+
+    @Test
+    public void doesNotCacheUnfixedVersions() {
+        List<MavenRepository> repositories = List.of(MavenRepository.builder().url("https://example.com").build());
+
+        assertThat(MavenResolutionCache.key(repositories, List.of("com.foo:bar:1.0.0")), notNullValue());
+        assertThat(MavenResolutionCache.key(repositories, List.of("com.foo:bar:1.0.0-SNAPSHOT")), nullValue());
+        assertThat(MavenResolutionCache.key(repositories, List.of("com.foo:bar:[1.0,2.0)")), nullValue());
+        assertThat(MavenResolutionCache.key(repositories, List.of("com.foo:bar:1.0.0", "com.foo:baz:LATEST")),
+                nullValue());
+    }
+
     private record NoOpResolver() implements DependencyResolver {
         @Override
         public void addRepository(MavenRepository mavenRepository) {
@@ -17,6 +17,7 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
 import static software.amazon.smithy.lsp.SmithyMatchers.eventWithId;
 import static software.amazon.smithy.lsp.SmithyMatchers.eventWithMessage;
 import static software.amazon.smithy.lsp.SmithyMatchers.hasShapeWithId;
@@ -150,6 +151,58 @@ public class ProjectLoaderTest {
         assertThat(model.expectShape(ShapeId.from("ns.test#Weather")).hasTrait("smithy.test#test"), is(true));
     }
 
+    @Test
+    public void loadsJarFilesLazily() {
+        Path root = ProjectTest.toPath(getClass().getResource("external-jars"));
+        Project project = ProjectTest.load(root);
+
+        SmithyFile jarFile = project.getAllSmithyFiles().stream()
+                .filter(file -> file.path().contains("alloy-core.jar!/META-INF/smithy/uuid.smithy"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(jarFile, instanceOf(IdlFile.class));
+        assertThat(jarFile.isLoaded(), is(false));
+        assertThat(((IdlFile) jarFile).getParse().statements().isEmpty(), is(false));
+        assertThat(jarFile.isLoaded(), is(true));
+    }
+
+    @Test
+    public void keepsPinnedJarFilesLoaded() {
+        Path root = ProjectTest.toPath(getClass().getResource("external-jars"));
+        Project project = ProjectTest.load(root);
+        SmithyFile jarFile = findJarFile(project, "alloy-core.jar!/META-INF/smithy/uuid.smithy");
+
+        jarFile.pin();
+
+        assertThat(jarFile.isPinned(), is(true));
+        assertThat(jarFile.isLoaded(), is(true));
+
+        jarFile.unpin();
+
+        assertThat(jarFile.isPinned(), is(false));
+    }
+
+    @Test
+    public void memoizesValuesDerivedFromLazyParses() {
+        Path root = ProjectTest.toPath(getClass().getResource("external-jars"));
+        Project project = ProjectTest.load(root);
+        IdlFile jarFile = (IdlFile) findJarFile(project, "alloy-core.jar!/META-INF/smithy/uuid.smithy");
+        jarFile.pin();
+
+        Object first = jarFile.computeIfAbsent(Object.class, parse -> new Object());
+        Object second = jarFile.computeIfAbsent(Object.class, parse -> new Object());
+
+        assertThat(second, sameInstance(first));
+    }
+
+    private static SmithyFile findJarFile(Project project, String path) {
+        return project.getAllSmithyFiles().stream()
+                .filter(file -> file.path().contains(path))
+                .findFirst()
+                .orElseThrow();
+    }
+
     @Test
     public void loadsProjectWithInvalidSmithyBuildJson() {
         Path root = ProjectTest.toPath(getClass().getResource("broken/missing-version"));
@@ -10,6 +10,9 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static software.amazon.smithy.lsp.UtilMatchers.anOptionalOf;
 
 import java.net.URISyntaxException;
@@ -20,7 +23,12 @@ import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import software.amazon.smithy.lsp.ServerState;
 import software.amazon.smithy.lsp.SmithyMatchers;
 import software.amazon.smithy.lsp.TestWorkspace;
@@ -28,6 +36,7 @@ import software.amazon.smithy.lsp.document.Document;
 import software.amazon.smithy.lsp.protocol.LspAdapter;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StringShape;
@@ -485,6 +494,232 @@ public class ProjectTest {
         assertThat(project.modelResult().getValidationEvents(), empty());
     }
 
+    @Test
+    public void updatesPublishNewSnapshot() {
+        TestWorkspace workspace = TestWorkspace.singleModel("""
+                $version: "2"
+                namespace com.foo
+                string Foo
+                """);
+        Project project = load(workspace.getRoot());
+        Project.Snapshot before = project.snapshot();
+
+        String uri = workspace.getUri("main.smithy");
+        Document document = project.getProjectFile(uri).document();
+        document.applyEdit(LspAdapter.point(document.end()), "string Bar\n");
+        project.updateModelWithoutValidating(uri);
+
+        Project.Snapshot after = project.snapshot();
+        assertThat(before.modelResult().unwrap().getShape(ShapeId.from("com.foo#Bar")).isPresent(), is(false));
+        assertThat(after.modelResult().unwrap().getShape(ShapeId.from("com.foo#Bar")).isPresent(), is(true));
+        assertThat(after.getAllSmithyFilePaths(), equalTo(before.getAllSmithyFilePaths()));
+    }
+
+    @Test
+    public void cancelledUpdateKeepsPreviousSnapshot() {
+        TestWorkspace workspace = TestWorkspace.singleModel("""
+                $version: "2"
+                namespace com.foo
+                string Foo
+                """);
+        Project project = load(workspace.getRoot());
+        Project.Snapshot before = project.snapshot();
+
+        String uri = workspace.getUri("main.smithy");
+        Document document = project.getProjectFile(uri).document();
+        document.applyEdit(LspAdapter.point(document.end()), "string Bar\n");
+
+        assertThrows(CancellationException.class, () -> project.updateChangedFiles(Set.of(uri), false, () -> {
+            throw new CancellationException();
+        }));
+        assertThat(project.snapshot(), sameInstance(before));
+    }
+
+    @Test
+    public void updateCancelledAtAnySafePointKeepsPreviousSnapshot() {
+        TestWorkspace workspace = TestWorkspace.singleModel("""
+                $version: "2"
+                namespace com.foo
+                string Foo
+                """);
+        String uri = workspace.getUri("main.smithy");
+
+        // Count the safe points of an update that isn't cancelled
+        Project uncancelled = load(workspace.getRoot());
+        appendBar(uncancelled, uri);
+        AtomicInteger safePoints = new AtomicInteger();
+        uncancelled.updateChangedFiles(Set.of(uri), true, safePoints::incrementAndGet);
+
+        // Includes cancelling while the model is being assembled, which is
+        // seen at the safe point right after assembly
+        for (int cancelAt = 1; cancelAt <= safePoints.get(); cancelAt++) {
+            Project project = load(workspace.getRoot());
+            Project.Snapshot before = project.snapshot();
+            appendBar(project, uri);
+
+            int cancelledAt = cancelAt;
+            AtomicInteger checks = new AtomicInteger();
+            assertThrows(CancellationException.class, () -> project.updateChangedFiles(Set.of(uri), true, () -> {
+                if (checks.incrementAndGet() >= cancelledAt) {
+                    throw new CancellationException();
+                }
+            }));
+            assertThat(project.snapshot(), sameInstance(before));
+            assertThat(project.modelResult().unwrap().getShape(ShapeId.from("com.foo#Bar")).isPresent(), is(false));
+        }
+    }
+
+    private static void appendBar(Project project, String uri) {
+        Document document = project.getProjectFile(uri).document();
+        document.applyEdit(LspAdapter.point(document.end()), "string Bar\n");
+    }
+
+    @Test
+    public void skipsUpdatesOfUnchangedFiles() {
+        TestWorkspace workspace = TestWorkspace.singleModel("""
+                $version: "2"
+                namespace com.foo
+                string Foo
+                """);
+        Project project = load(workspace.getRoot());
+        Project.Snapshot loaded = project.snapshot();
+        String uri = workspace.getUri("main.smithy");
+
+        project.updateAndValidateModel(uri);
+
+        assertThat(project.snapshot(), sameInstance(loaded));
+
+        Document document = project.getProjectFile(uri).document();
+        document.applyEdit(LspAdapter.point(document.end()), "string Bar\n");
+        project.updateModelWithoutValidating(uri);
+        Project.Snapshot edited = project.snapshot();
+        project.updateModelWithoutValidating(uri);
+
+        assertThat(project.snapshot(), sameInstance(edited));
+
+        // The edit hasn't been validated yet
+        project.updateAndValidateModel(uri);
+
+        assertThat(project.snapshot(), not(sameInstance(edited)));
+    }
+
+    @Test
+    public void updatesBuildFilesWithoutReloadingIfSettingsAreUnchanged() {
+        TestWorkspace workspace = TestWorkspace.singleModel("""
+                $version: "2"
+                namespace com.foo
+                string Foo
+                """);
+        Project project = load(workspace.getRoot());
+        Document buildFile = project.getProjectFile(workspace.getUri("smithy-build.json")).document();
+
+        assertThat(project.updateBuildFiles(), is(true));
+
+        buildFile.applyEdit(null, """
+                {
+                    "version": "1.0",
+                    "sources": ["main.smithy"],
+                    "projections": {
+                        "foo": {}
+                    }
+                }
+                """);
+
+        assertThat(project.updateBuildFiles(), is(true));
+
+        buildFile.applyEdit(null, """
+                {
+                    "version": "1.0",
+                    "sources": ["main.smithy", "other.smithy"]
+                }
+                """);
+
+        assertThat(project.updateBuildFiles(), is(false));
+    }
+
+    @Test
+    public void reusesCachedValidationEvents(@TempDir Path cacheDir) throws Exception {
+        String model = """
+                $version: "2"
+                namespace com.foo
+                @length(min: 10, max: 1)
+                string Foo
+                """;
+        TestWorkspace workspace = TestWorkspace.singleModel(model);
+        ValidationEventCache cache = new ValidationEventCache(cacheDir);
+
+        Project first = loadWithCache(workspace.getRoot(), cache);
+        Project second = loadWithCache(workspace.getRoot(), cache);
+
+        assertThat(first.modelResult().getValidationEvents(), not(empty()));
+        assertThat(second.modelResult().getValidationEvents(), equalTo(first.modelResult().getValidationEvents()));
+
+        // Replace the cached events, so loading again shows if they're used
+        try (var entries = Files.list(cacheDir)) {
+            for (Path entry : entries.toList()) {
+                Files.writeString(entry, "[]");
+            }
+        }
+        Project cached = loadWithCache(workspace.getRoot(), cache);
+
+        assertThat(cached.modelResult().getValidationEvents(), empty());
+
+        // Any change to the project's files means it's validated again
+        workspace.addModel("main.smithy", model + "string Bar\n");
+        Project changed = loadWithCache(workspace.getRoot(), cache);
+
+        assertThat(changed.modelResult().getValidationEvents(), not(empty()));
+    }
+
+    @Test
+    public void prunesOldCachedValidationEventsOfEachProject(@TempDir Path cacheDir) throws Exception {
+        ValidationEventCache cache = new ValidationEventCache(cacheDir);
+        Path foo = Path.of("foo");
+        Path bar = Path.of("bar");
+        String barKey = ValidationEventCache.key(bar, Map.of("main.smithy", ""), List.of());
+        cache.put(barKey, List.of());
+
+        String latestKey = null;
+        for (int i = 0; i < ValidationEventCache.MAX_ENTRIES_PER_PROJECT + 2; i++) {
+            latestKey = ValidationEventCache.key(foo, Map.of("main.smithy", "string Foo" + i), List.of());
+            cache.put(latestKey, List.of());
+        }
+
+        try (var entries = Files.list(cacheDir)) {
+            assertThat(entries.count(), equalTo((long) ValidationEventCache.MAX_ENTRIES_PER_PROJECT + 1));
+        }
+        assertThat(cache.get(latestKey), empty());
+        assertThat(cache.get(barKey), empty());
+    }
+
+    @Test
+    public void assemblesFilesInTheSameOrderWhenReadInParallel() throws Exception {
+        String[] models = new String[8];
+        for (int i = 0; i < models.length; i++) {
+            models[i] = """
+                    $version: "2"
+                    metadata items = ["file%d"]
+                    """.formatted(i);
+        }
+        TestWorkspace workspace = TestWorkspace.multipleModels(models);
+
+        Project sequential = ProjectLoader.load(workspace.getRoot(), new ServerState());
+        List<Node> expected = sequential.modelResult().unwrap().getMetadata().get("items")
+                .expectArrayNode().getElements();
+        assertThat(expected.size(), equalTo(models.length));
+
+        Executor threadPerTask = runnable -> new Thread(runnable).start();
+        for (int i = 0; i < 5; i++) {
+            Project parallel = ProjectLoader.load(
+                    workspace.getRoot(), new ServerState(), threadPerTask, MavenResolutionCache.NONE,
+                    ValidationEventCache.NONE);
+            List<Node> actual = parallel.modelResult().unwrap().getMetadata().get("items")
+                    .expectArrayNode().getElements();
+
+            assertThat(actual, equalTo(expected));
+        }
+    }
+
     public static Project load(Path root) {
         try {
             return ProjectLoader.load(root, new ServerState());
@@ -493,6 +728,10 @@ public class ProjectTest {
         }
     }
 
+    private static Project loadWithCache(Path root, ValidationEventCache cache) throws Exception {
+        return ProjectLoader.load(root, new ServerState(), Runnable::run, MavenResolutionCache.NONE, cache);
+    }
+
     public static Path toPath(URL url) {
         try {
             return Paths.get(url.toURI());
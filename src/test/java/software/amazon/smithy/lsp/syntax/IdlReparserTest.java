@@ -0,0 +1,183 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.syntax;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.lsp.document.Document;
+
+public class IdlReparserTest {
+    private static final String[] FRAGMENTS = {
+            "$version: \"2\"\n",
+            "namespace com.foo\n",
+            "use com.bar#Baz\n",
+            "metadata foo = [1, 2]\n",
+            "structure Foo {\n    @required\n    bar: String\n    baz: Integer = 1\n}\n",
+            "enum E {\n    A = \"a\"\n    B\n}\n",
+            "service S {\n    version: \"1\"\n    operations: [Op]\n}\n",
+            "@documentation(\"\"\"\n  text block\n  \"\"\")\n",
+            "@trait(foo: \"bar\", baz: [1,2])\n",
+            "apply Foo @tags([\"a\"])\n",
+            "structure X for R with [Y] {}\n",
+            "resource R {\n    identifiers: { id: String }\n}\n",
+            "// comment\n",
+            "{", "}", "(", ")", "[", "]", "\"", "\"\"\"", ":", "=", "@", "\n", " ", "a", "$",
+    };
+
+    @Test
+    public void reusesStatementsOutsideOfChange() {
+        Document document = Document.of("""
+                namespace com.foo
+
+                string A
+
+                structure B {
+                    b: String
+                }
+
+                string C
+                """);
+        Syntax.IdlParseResult previous = Syntax.parseIdl(document);
+        Syntax.Statement first = previous.statements().getFirst();
+        Syntax.Statement last = previous.statements().getLast();
+        int version = document.version();
+
+        int index = document.copyText().indexOf("b: String");
+        document.applyEdit(document.rangeBetween(index, index + 1), "bar");
+        Syntax.IdlParseResult parse = Syntax.parseIdl(document, previous, document.changeSince(version));
+
+        assertThat(parse.statements().getFirst(), sameInstance(first));
+        // Statements after the change are copies, since their positions changed
+        assertThat(parse.statements().getLast(), not(sameInstance(last)));
+        assertThat(describe(parse), equalTo(describe(Syntax.parseIdl(Document.of(document.copyText())))));
+    }
+
+    @Test
+    public void doesNotModifyPreviousParse() {
+        Document document = Document.of("""
+                string A
+
+                structure B {
+                    @required
+                    b: String
+                }
+
+                @trait(foo: [1, 2])
+                string C
+                """);
+        Syntax.IdlParseResult previous = Syntax.parseIdl(document);
+        List<String> before = describe(previous);
+        int version = document.version();
+
+        document.applyEdit(document.rangeBetween(0, 0), "string Z\n");
+        Syntax.IdlParseResult parse = Syntax.parseIdl(document, previous, document.changeSince(version));
+
+        assertThat(describe(previous), equalTo(before));
+        assertThat(describe(parse), equalTo(describe(Syntax.parseIdl(Document.of(document.copyText())))));
+        for (Syntax.Statement statement : parse.statements()) {
+            if (statement instanceof Syntax.Statement.MemberDef memberDef) {
+                assertThat(parse.statements().get(memberDef.parent().statementIndex()),
+                        sameInstance(memberDef.parent()));
+            }
+        }
+    }
+
+    @Test
+    public void matchesFullParseAcrossRandomEdits() {
+        Random random = new Random(0);
+        for (int i = 0; i < 200; i++) {
+            StringBuilder builder = new StringBuilder();
+            int fragments = random.nextInt(12);
+            for (int j = 0; j < fragments; j++) {
+                builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            Document document = Document.of(builder.toString());
+            Syntax.IdlParseResult parse = Syntax.parseIdl(document);
+
+            for (int j = 0; j < 15; j++) {
+                int version = document.version();
+                int edits = 1 + random.nextInt(3);
+                for (int k = 0; k < edits; k++) {
+                    int length = document.length();
+                    int start = random.nextInt(length + 1);
+                    int end = Math.min(length, start + random.nextInt(8));
+                    String text = random.nextBoolean() ? "" : FRAGMENTS[random.nextInt(FRAGMENTS.length)];
+                    Range range = document.rangeBetween(start, end);
+                    if (range == null) {
+                        range = new Range(document.end(), document.end());
+                    }
+                    document.applyEdit(range, text);
+                }
+
+                List<String> previous = describe(parse);
+                Syntax.IdlParseResult reparsed = Syntax.parseIdl(document, parse, document.changeSince(version));
+                assertThat(describe(parse), equalTo(previous));
+                parse = reparsed;
+                Syntax.IdlParseResult full = Syntax.parseIdl(Document.of(document.copyText()));
+                assertThat(document.copyText(), describe(parse), equalTo(describe(full)));
+            }
+        }
+    }
+
+    private static List<String> describe(Syntax.IdlParseResult parse) {
+        List<String> result = new ArrayList<>();
+        for (Syntax.Statement statement : parse.statements()) {
+            StringBuilder builder = new StringBuilder();
+            builder.append(statement.type()).append(range(statement.start(), statement.end()));
+            switch (statement) {
+                case Syntax.Statement.Block block -> builder.append(' ')
+                        .append(block.statementIndex()).append('-').append(block.lastStatementIndex());
+                case Syntax.Statement.TraitApplication traitApplication -> {
+                    describe(builder, traitApplication.id());
+                    describe(builder, traitApplication.value());
+                }
+                case Syntax.Statement.ShapeDef shapeDef -> {
+                    describe(builder, shapeDef.shapeType());
+                    describe(builder, shapeDef.shapeName());
+                }
+                case Syntax.Statement.MemberDef memberDef -> {
+                    describe(builder, memberDef.name());
+                    describe(builder, memberDef.target());
+                }
+                case Syntax.Statement.NodeMemberDef nodeMemberDef -> {
+                    describe(builder, nodeMemberDef.name());
+                    describe(builder, nodeMemberDef.value());
+                }
+                default -> {
+                }
+            }
+            result.add(builder.toString());
+        }
+        for (Syntax.Err err : parse.errors()) {
+            result.add("error " + err.message() + range(err.start(), err.end()));
+        }
+        return result;
+    }
+
+    private static void describe(StringBuilder builder, Syntax.Node node) {
+        if (node == null) {
+            return;
+        }
+        node.consume(n -> {
+            builder.append(' ').append(n.type()).append(range(n.start(), n.end()));
+            if (n instanceof Syntax.Node.Str str) {
+                builder.append(" line ").append(str.lineNumber());
+            }
+        });
+    }
+
+    private static String range(int start, int end) {
+        return "[" + start + ", " + end + "]";
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.syntax;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.lsp.document.Document;
+
+public class ReferenceIndexTest {
+    @Test
+    public void indexesStatementsByReferencedName() {
+        Document document = Document.of("""
+                $version: "2"
+                namespace com.foo
+                use com.bar#Bar
+                structure Foo with [Mixin] {
+                    @idRef(failWhenMissing: true)
+                    bar: Bar
+                    baz: String
+                }
+                @tags(["Bar", "Bar$member"])
+                string Baz
+                """);
+        ReferenceIndex index = ReferenceIndex.of(Syntax.parseIdl(document));
+
+        assertThat(index.candidates("Bar"), contains(
+                instanceOf(Syntax.Statement.Use.class),
+                instanceOf(Syntax.Statement.MemberDef.class),
+                instanceOf(Syntax.Statement.TraitApplication.class)));
+        assertThat(index.candidates("Mixin"), contains(instanceOf(Syntax.Statement.Mixins.class)));
+        assertThat(index.candidates("idRef"), contains(instanceOf(Syntax.Statement.TraitApplication.class)));
+        assertThat(index.candidates("Baz"), empty());
+    }
+
+    @Test
+    public void getsShapeNameOfReference() {
+        assertThat(ReferenceIndex.shapeName("Foo"), equalTo("Foo"));
+        assertThat(ReferenceIndex.shapeName("com.foo#Foo"), equalTo("Foo"));
+        assertThat(ReferenceIndex.shapeName("com.foo#Foo$bar"), equalTo("Foo"));
+        assertThat(ReferenceIndex.shapeName("Foo$bar"), equalTo("Foo"));
+        assertThat(ReferenceIndex.shapeName("some documentation"), nullValue());
+        assertThat(ReferenceIndex.shapeName("com.foo#"), nullValue());
+        assertThat(ReferenceIndex.shapeName(""), nullValue());
+    }
+}
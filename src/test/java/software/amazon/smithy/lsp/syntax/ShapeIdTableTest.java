@@ -0,0 +1,82 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.syntax;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.lsp.document.Document;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+public class ShapeIdTableTest {
+    @Test
+    public void resolvesNamesInOrder() {
+        ShapeIdTable table = parse("""
+                $version: "2"
+                namespace com.foo
+                use com.bar#Bar
+                """);
+
+        assertThat(table.candidates("Bar"), contains(
+                ShapeId.from("com.bar#Bar"),
+                ShapeId.from("com.foo#Bar"),
+                ShapeId.from("smithy.api#Bar")));
+        assertThat(table.candidates("Bar$baz"), contains(
+                ShapeId.from("com.bar#Bar$baz"),
+                ShapeId.from("com.foo#Bar$baz"),
+                ShapeId.from("smithy.api#Bar$baz")));
+        assertThat(table.candidates("Foo"), contains(
+                ShapeId.from("com.foo#Foo"),
+                ShapeId.from("smithy.api#Foo")));
+        assertThat(table.candidates("com.baz#Baz"), contains(ShapeId.from("com.baz#Baz")));
+    }
+
+    @Test
+    public void ignoresInvalidNames() {
+        ShapeIdTable table = parse("""
+                $version: "2"
+                namespace com.foo
+                """);
+
+        assertThat(table.candidates(""), empty());
+        assertThat(table.candidates("com.foo#"), empty());
+        assertThat(table.candidates("Foo$"), empty());
+        assertThat(table.candidates("not a name"), empty());
+    }
+
+    @Test
+    public void getsImportedIds() {
+        ShapeIdTable table = parse("""
+                $version: "2"
+                namespace com.foo
+                use com.bar#Bar
+                use com.baz#Baz
+                """);
+
+        assertThat(table.importedId("Bar"), equalTo("com.bar#Bar"));
+        assertThat(table.importedId("Baz"), equalTo("com.baz#Baz"));
+        assertThat(table.importedId("Foo"), nullValue());
+    }
+
+    @Test
+    public void memoizesResolutions() {
+        ShapeIdTable table = parse("""
+                $version: "2"
+                namespace com.foo
+                """);
+
+        assertThat(table.candidates("Foo"), sameInstance(table.candidates("Foo")));
+    }
+
+    private static ShapeIdTable parse(String text) {
+        return Syntax.parseIdl(Document.of(text)).shapeIds();
+    }
+}
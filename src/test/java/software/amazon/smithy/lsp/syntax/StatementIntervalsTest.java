@@ -0,0 +1,130 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package software.amazon.smithy.lsp.syntax;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.lsp.document.Document;
+
+public class StatementIntervalsTest {
+    @Test
+    public void findsInnermostStatement() {
+        String text = """
+                $version: "2"
+                namespace com.foo
+
+                @tags(["a"])
+                structure Foo {
+                    @required
+                    bar: String
+
+                    baz: Baz
+                }
+
+                operation Op {
+                    input := {
+                        @documentation("nested")
+                        qux: String
+                    }
+                }
+
+                apply Foo$bar @length(min: 1)
+                """;
+        assertMatchesInnermostStatement(text);
+    }
+
+    @Test
+    public void findsInnermostStatementInIncompleteDocument() {
+        String text = """
+                $version: "2"
+                namespace com.foo
+                structure Foo {
+                    bar:
+                    @
+                structure Bar {
+                    baz
+                """;
+        assertMatchesInnermostStatement(text);
+    }
+
+    @Test
+    public void computedOncePerParse() {
+        Syntax.IdlParseResult parse = Syntax.parseIdl(Document.of("""
+                $version: "2"
+                namespace com.foo
+                string Foo
+                """));
+
+        assertThat(parse.intervals(), sameInstance(parse.intervals()));
+    }
+
+    @Test
+    public void emptyStatementsHaveNoIntervals() {
+        StatementIntervals intervals = StatementIntervals.of(List.of());
+
+        assertThat(intervals.statementIndexAt(0), equalTo(-1));
+    }
+
+    @Test
+    public void findsFirstStatementFromIndex() {
+        String text = """
+                $version: "2"
+                namespace com.foo
+
+                @tags(["a"])
+                structure Foo {
+                    @required
+                    bar: String
+                }
+
+                operation Op {
+                    input := {
+                        @documentation("nested")
+                        qux: String
+                    }
+                    output: Foo
+                }
+
+                apply Foo$bar @length(min: 1)
+                """;
+        Syntax.IdlParseResult parse = Syntax.parseIdl(Document.of(text));
+        List<Syntax.Statement> statements = parse.statements();
+        for (int pos = 0; pos < text.length() + 1; pos++) {
+            // The first statement ending at or after pos, other than blocks that start before it
+            int expected = statements.size();
+            for (int i = 0; i < statements.size(); i++) {
+                Syntax.Statement statement = statements.get(i);
+                boolean blockBefore = statement instanceof Syntax.Statement.Block && statement.start() < pos;
+                if (statement.end() >= pos && !blockBefore) {
+                    expected = i;
+                    break;
+                }
+            }
+            assertThat("position " + pos, StatementIntervals.firstStatementIndexFrom(statements, pos),
+                    equalTo(expected));
+        }
+    }
+
+    // Compares against the innermost, i.e. last, statement containing each position
+    private static void assertMatchesInnermostStatement(String text) {
+        Syntax.IdlParseResult parse = Syntax.parseIdl(Document.of(text));
+        List<Syntax.Statement> statements = parse.statements();
+        for (int pos = 0; pos < text.length() + 1; pos++) {
+            int expected = -1;
+            for (int i = statements.size() - 1; i >= 0; i--) {
+                if (statements.get(i).isIn(pos)) {
+                    expected = i;
+                    break;
+                }
+            }
+            assertThat("position " + pos, parse.intervals().statementIndexAt(pos), equalTo(expected));
+        }
+    }
+}